@@ -3,6 +3,9 @@ package com.bustrackr.config;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @Component
 @ConfigurationProperties(prefix = "bus.api")
 public class BusApiProperties {
@@ -10,6 +13,92 @@ public class BusApiProperties {
     private String baseUrl;
     private String serviceKey;
     private int timeout = 5000;
+    private long coalesceWindow = 1000;
+    private Concurrency concurrency = new Concurrency();
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private RateLimit rateLimit = new RateLimit();
+    
+    /**
+     * 엔드포인트별 동시 호출 상한
+     */
+    public static class Concurrency {
+        private int stations = 2;
+        private int locations = 32;
+        private int arrivals = 16;
+        
+        public int getStations() { return stations; }
+        public void setStations(int stations) { this.stations = stations; }
+        
+        public int getLocations() { return locations; }
+        public void setLocations(int locations) { this.locations = locations; }
+        
+        public int getArrivals() { return arrivals; }
+        public void setArrivals(int arrivals) { this.arrivals = arrivals; }
+    }
+    
+    /**
+     * 엔드포인트별 서킷 브레이커 설정 (시간 단위 ms, 비율 단위 %)
+     */
+    public static class CircuitBreaker {
+        private int windowSize = 50;
+        private int minimumCalls = 10;
+        private double failureRateThreshold = 50;
+        private long slowCallThreshold = 3000;
+        private double slowCallRateThreshold = 80;
+        private long openDuration = 30000;
+        private int halfOpenCalls = 3;
+        
+        public int getWindowSize() { return windowSize; }
+        public void setWindowSize(int windowSize) { this.windowSize = windowSize; }
+        
+        public int getMinimumCalls() { return minimumCalls; }
+        public void setMinimumCalls(int minimumCalls) { this.minimumCalls = minimumCalls; }
+        
+        public double getFailureRateThreshold() { return failureRateThreshold; }
+        public void setFailureRateThreshold(double failureRateThreshold) { this.failureRateThreshold = failureRateThreshold; }
+        
+        public long getSlowCallThreshold() { return slowCallThreshold; }
+        public void setSlowCallThreshold(long slowCallThreshold) { this.slowCallThreshold = slowCallThreshold; }
+        
+        public double getSlowCallRateThreshold() { return slowCallRateThreshold; }
+        public void setSlowCallRateThreshold(double slowCallRateThreshold) { this.slowCallRateThreshold = slowCallRateThreshold; }
+        
+        public long getOpenDuration() { return openDuration; }
+        public void setOpenDuration(long openDuration) { this.openDuration = openDuration; }
+        
+        public int getHalfOpenCalls() { return halfOpenCalls; }
+        public void setHalfOpenCalls(int halfOpenCalls) { this.halfOpenCalls = halfOpenCalls; }
+    }
+    
+    /**
+     * 서비스 키 호출 한도 (초당 토큰 버킷 + 일일 예산, quota-reserve는 %)
+     * priorities는 일일 예산을 나눌 작업별 가중치 (stations, locations, arrivals)
+     */
+    public static class RateLimit {
+        private double permitsPerSecond = 10;
+        private int burst = 10;
+        private long dailyQuota = 100000;
+        private int quotaReserve = 5;
+        private Map<String, Integer> priorities = new LinkedHashMap<>(Map.of(
+            "locations", 6,
+            "arrivals", 3,
+            "stations", 1));
+        
+        public double getPermitsPerSecond() { return permitsPerSecond; }
+        public void setPermitsPerSecond(double permitsPerSecond) { this.permitsPerSecond = permitsPerSecond; }
+        
+        public int getBurst() { return burst; }
+        public void setBurst(int burst) { this.burst = burst; }
+        
+        public long getDailyQuota() { return dailyQuota; }
+        public void setDailyQuota(long dailyQuota) { this.dailyQuota = dailyQuota; }
+        
+        public int getQuotaReserve() { return quotaReserve; }
+        public void setQuotaReserve(int quotaReserve) { this.quotaReserve = quotaReserve; }
+        
+        public Map<String, Integer> getPriorities() { return priorities; }
+        public void setPriorities(Map<String, Integer> priorities) { this.priorities = priorities; }
+    }
     
     // Getters and Setters
     public String getBaseUrl() {
@@ -35,4 +124,35 @@ public class BusApiProperties {
     public void setTimeout(int timeout) {
         this.timeout = timeout;
     }
+    
+    public long getCoalesceWindow() {
+        return coalesceWindow;
+    }
+    
+    public void setCoalesceWindow(long coalesceWindow) {
+        this.coalesceWindow = coalesceWindow;
+    }
+    
+    public Concurrency getConcurrency() {
+        return concurrency;
+    }
+    
+    public void setConcurrency(Concurrency concurrency) {
+        this.concurrency = concurrency;
+    }
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+    
+    public void setCircuitBreaker(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+    
+    public RateLimit getRateLimit() {
+        return rateLimit;
+    }
+    
+    public void setRateLimit(RateLimit rateLimit) {
+        this.rateLimit = rateLimit;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,105 @@
+package com.bustrackr.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "bus.cache")
+public class CacheProperties {
+    
+    public enum Store {
+        MEMORY, REDIS
+    }
+    
+    /**
+     * 노드 간 공유 스냅샷 저장소 (MEMORY는 프로세스 내 대체 구현, 단일 노드 개발/테스트용)
+     */
+    private Store store = Store.MEMORY;
+    
+    /**
+     * 공유 저장소 키 접두사
+     */
+    private String keyPrefix = "bustrackr";
+    
+    /**
+     * 노선 위치 스냅샷 TTL (ms, 위치 수집 주기와 동일)
+     */
+    private long locationTtl = 30000;
+    
+    /**
+     * 정류장 도착정보 스냅샷 TTL (ms, 도착정보 수집 주기와 동일)
+     */
+    private long arrivalTtl = 60000;
+    
+    /**
+     * 정적 데이터(정류장) 로컬 캐시 최대 항목 수 (넘으면 W-TinyLFU로 제거)
+     */
+    private long staticLocalMaxSize = 10000;
+    
+    /**
+     * 정적 데이터 로컬 캐시 TTL (ms, 무효화 메시지를 놓쳤을 때의 안전장치)
+     */
+    private long staticLocalTtl = 3600000;
+    
+    /**
+     * 정적 데이터 공유 캐시 TTL (ms)
+     */
+    private long staticSharedTtl = 3600000;
+    
+    // Getters and Setters
+    public Store getStore() {
+        return store;
+    }
+    
+    public void setStore(Store store) {
+        this.store = store;
+    }
+    
+    public String getKeyPrefix() {
+        return keyPrefix;
+    }
+    
+    public void setKeyPrefix(String keyPrefix) {
+        this.keyPrefix = keyPrefix;
+    }
+    
+    public long getLocationTtl() {
+        return locationTtl;
+    }
+    
+    public void setLocationTtl(long locationTtl) {
+        this.locationTtl = locationTtl;
+    }
+    
+    public long getArrivalTtl() {
+        return arrivalTtl;
+    }
+    
+    public void setArrivalTtl(long arrivalTtl) {
+        this.arrivalTtl = arrivalTtl;
+    }
+    
+    public long getStaticLocalMaxSize() {
+        return staticLocalMaxSize;
+    }
+    
+    public void setStaticLocalMaxSize(long staticLocalMaxSize) {
+        this.staticLocalMaxSize = staticLocalMaxSize;
+    }
+    
+    public long getStaticLocalTtl() {
+        return staticLocalTtl;
+    }
+    
+    public void setStaticLocalTtl(long staticLocalTtl) {
+        this.staticLocalTtl = staticLocalTtl;
+    }
+    
+    public long getStaticSharedTtl() {
+        return staticSharedTtl;
+    }
+    
+    public void setStaticSharedTtl(long staticSharedTtl) {
+        this.staticSharedTtl = staticSharedTtl;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,82 @@
+package com.bustrackr.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "bus.cluster")
+public class ClusterProperties {
+    
+    public enum Relay {
+        NONE, REDIS, STOMP
+    }
+    
+    /**
+     * 노드 간 브로드캐스트 중계 방식
+     * NONE: 단일 노드 (프로세스 내 simple broker, 수집 임대 없음)
+     * REDIS: 수집 노드가 Redis pub/sub으로 발행하고 모든 노드가 자기 구독자에게 전송 (bus.cache.store=redis 필요)
+     * STOMP: 외부 STOMP 브로커(RabbitMQ, ActiveMQ 등)로 중계 (수집 임대 공유에 bus.cache.store=redis 필요)
+     */
+    private Relay relay = Relay.NONE;
+    
+    /**
+     * 수집 임대에 쓰는 노드 식별자 (비어 있으면 시작할 때 생성)
+     */
+    private String nodeId = "";
+    
+    private Stomp stomp = new Stomp();
+    
+    /**
+     * 외부 STOMP 브로커 접속 설정 (relay=stomp)
+     */
+    public static class Stomp {
+        private String host = "localhost";
+        private int port = 61613;
+        private String login = "guest";
+        private String passcode = "guest";
+        
+        public String getHost() { return host; }
+        public void setHost(String host) { this.host = host; }
+        
+        public int getPort() { return port; }
+        public void setPort(int port) { this.port = port; }
+        
+        public String getLogin() { return login; }
+        public void setLogin(String login) { this.login = login; }
+        
+        public String getPasscode() { return passcode; }
+        public void setPasscode(String passcode) { this.passcode = passcode; }
+    }
+    
+    /**
+     * 여러 노드로 실행 중인지 (노선/정류장마다 한 노드만 수집)
+     */
+    public boolean isClustered() {
+        return relay != Relay.NONE;
+    }
+    
+    // Getters and Setters
+    public Relay getRelay() {
+        return relay;
+    }
+    
+    public void setRelay(Relay relay) {
+        this.relay = relay;
+    }
+    
+    public String getNodeId() {
+        return nodeId;
+    }
+    
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+    
+    public Stomp getStomp() {
+        return stomp;
+    }
+    
+    public void setStomp(Stomp stomp) {
+        this.stomp = stomp;
+    }
+}
\ No newline at end of file
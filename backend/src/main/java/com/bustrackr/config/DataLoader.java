@@ -23,6 +23,12 @@ public class DataLoader implements ApplicationRunner {
     
     @Autowired
     private BusArrivalRepository busArrivalRepository;
+    
+    @Autowired
+    private CurrentBusPositionRepository currentBusPositionRepository;
+    
+    @Autowired
+    private CurrentBusArrivalRepository currentBusArrivalRepository;
 
     @Override
     public void run(ApplicationArguments args) throws Exception {
@@ -84,6 +90,13 @@ public class DataLoader implements ApplicationRunner {
         busLocationRepository.save(location1);
         busLocationRepository.save(location2);
 
+        // 최신 위치 테이블
+        for (BusLocation location : new BusLocation[] {location1, location2}) {
+            CurrentBusPosition position = new CurrentBusPosition(location.getBusId());
+            position.updateFrom(location);
+            currentBusPositionRepository.save(position);
+        }
+        
         // 도착 예정 시간 데이터
         BusArrival arrival1 = new BusArrival("472", stop2, 3, 2);
         arrival1.setCongestion(BusArrival.CongestionLevel.MEDIUM);
@@ -101,6 +114,14 @@ public class DataLoader implements ApplicationRunner {
         busArrivalRepository.save(arrival2);
         busArrivalRepository.save(arrival3);
         
+        // 현재 도착정보 테이블 (샘플은 모두 노선별 첫 번째 버스)
+        for (BusArrival arrival : new BusArrival[] {arrival1, arrival2, arrival3}) {
+            CurrentBusArrival current = new CurrentBusArrival(
+                arrival.getBusStop().getStopId(), arrival.getRouteId(), 1);
+            current.updateFrom(arrival, arrival.getBusStop().getStopName(), 1L);
+            currentBusArrivalRepository.save(current);
+        }
+        
         System.out.println("샘플 데이터 로딩 완료!");
     }
 }
\ No newline at end of file
@@ -0,0 +1,90 @@
+package com.bustrackr.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "bus.ingest")
+public class IngestProperties {
+    
+    private int batchSize = 50;
+    private Compression compression = new Compression();
+    private WriteBehind writeBehind = new WriteBehind();
+    
+    /**
+     * 위치 이력 궤적 압축 설정
+     * 저장된 점만으로 선형 보간했을 때 오차가 tolerance-meters를 넘지 않는 점만 남긴다.
+     * max-gap-seconds가 지나면 움직임이 없어도 한 점은 남긴다.
+     */
+    public static class Compression {
+        private boolean enabled = false;
+        private double toleranceMeters = 20;
+        private long maxGapSeconds = 300;
+        private int maxWindow = 30;
+        
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        
+        public double getToleranceMeters() { return toleranceMeters; }
+        public void setToleranceMeters(double toleranceMeters) { this.toleranceMeters = toleranceMeters; }
+        
+        public long getMaxGapSeconds() { return maxGapSeconds; }
+        public void setMaxGapSeconds(long maxGapSeconds) { this.maxGapSeconds = maxGapSeconds; }
+        
+        public int getMaxWindow() { return maxWindow; }
+        public void setMaxWindow(int maxWindow) { this.maxWindow = maxWindow; }
+    }
+    
+    /**
+     * 위치 write-behind 큐 설정
+     * capacity는 저장 대기 스냅샷 수 상한, max-snapshots-per-route는 노선 하나에 쌓아 둘 스냅샷 수 상한 (넘으면 오래된 것부터 버림)
+     * linger는 한 묶음으로 모으기 위해 기다리는 시간(ms)
+     */
+    public static class WriteBehind {
+        private int capacity = 1000;
+        private int maxSnapshotsPerRoute = 10;
+        private int maxBatchRoutes = 100;
+        private long linger = 200;
+        private long offerTimeout = 2000;
+        
+        public int getCapacity() { return capacity; }
+        public void setCapacity(int capacity) { this.capacity = capacity; }
+        
+        public int getMaxSnapshotsPerRoute() { return maxSnapshotsPerRoute; }
+        public void setMaxSnapshotsPerRoute(int maxSnapshotsPerRoute) { this.maxSnapshotsPerRoute = maxSnapshotsPerRoute; }
+        
+        public int getMaxBatchRoutes() { return maxBatchRoutes; }
+        public void setMaxBatchRoutes(int maxBatchRoutes) { this.maxBatchRoutes = maxBatchRoutes; }
+        
+        public long getLinger() { return linger; }
+        public void setLinger(long linger) { this.linger = linger; }
+        
+        public long getOfferTimeout() { return offerTimeout; }
+        public void setOfferTimeout(long offerTimeout) { this.offerTimeout = offerTimeout; }
+    }
+    
+    // Getters and Setters
+    public int getBatchSize() {
+        return batchSize;
+    }
+    
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+    
+    public Compression getCompression() {
+        return compression;
+    }
+    
+    public void setCompression(Compression compression) {
+        this.compression = compression;
+    }
+    
+    public WriteBehind getWriteBehind() {
+        return writeBehind;
+    }
+    
+    public void setWriteBehind(WriteBehind writeBehind) {
+        this.writeBehind = writeBehind;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,172 @@
+package com.bustrackr.config;
+
+import com.bustrackr.dto.SerializedPayload;
+import com.bustrackr.service.SerializedPayloadCache;
+import com.bustrackr.service.SubscriptionRegistry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 클라이언트 송신 채널의 프레임 합치기 (세션·목적지별로 아직 보내지 못한 최신 프레임 하나만 남김)
+ * 송신 채널에 들어올 때 세션·목적지의 최신 프레임으로 기록하고, 실행 차례가 왔을 때 더 새 프레임이 있으면 건너뛴다.
+ * 도착정보는 프레임마다 전체 상태라 건너뛰어도 되지만, 위치 delta는 하나만 빠져도 상태가 어긋나므로
+ * 앞선 delta를 건너뛴 프레임은 이 노드 메모리의 노선 스냅샷 프레임으로 바꿔 보낸다 (송신 스레드에서 I/O는 하지 않음).
+ * <p>
+ * 합치기가 일어나는 곳은 송신 채널 실행기의 대기열이다 (송신 스레드가 모두 바빠 프레임이 차례를 기다릴 때).
+ * 세션에 넘긴 뒤의 프레임은 Spring 세션 버퍼(ConcurrentWebSocketSessionDecorator)에 쌓이며 여기서는 합치지 않고,
+ * 그 버퍼는 send-buffer-size-limit/send-time-limit으로 제한돼 넘기면 느린 세션으로 보고 연결을 끊는다.
+ */
+@Component
+public class OutboundConflationInterceptor implements ExecutorChannelInterceptor {
+    
+    private static final Logger logger = LoggerFactory.getLogger(OutboundConflationInterceptor.class);
+    
+    private static final String METRIC_PREFIX = "bus.ws.outbound";
+    private static final String LOCATION_PREFIX = "/topic/bus-locations/";
+    private static final String ARRIVAL_PREFIX = "/topic/bus-arrivals/";
+    
+    @Autowired
+    private SerializedPayloadCache serializedPayloadCache;
+    
+    @Autowired
+    private SubscriptionRegistry subscriptionRegistry;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    // 세션ID -> (목적지 -> 아직 보내지 않은 최신 프레임), 세션 항목은 연결부터 끊길 때까지 유지
+    private final Map<String, Map<String, Queued>> pending = new ConcurrentHashMap<>();
+    
+    // superseded: 이 프레임이 아직 보내지 않은 앞선 프레임을 대신함 (위치 delta면 스냅샷으로 바꿔 보내야 함)
+    private record Queued(Message<?> message, boolean superseded) {}
+    
+    public OutboundConflationInterceptor() {}
+    
+    OutboundConflationInterceptor(SerializedPayloadCache serializedPayloadCache, SubscriptionRegistry subscriptionRegistry,
+                                  MeterRegistry meterRegistry) {
+        this.serializedPayloadCache = serializedPayloadCache;
+        this.subscriptionRegistry = subscriptionRegistry;
+        this.meterRegistry = meterRegistry;
+        registerMetrics();
+    }
+    
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder(METRIC_PREFIX + ".pending", this, OutboundConflationInterceptor::getPendingCount)
+            .description("Location/arrival frames queued for sending, at most one per session and destination")
+            .register(meterRegistry);
+    }
+    
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        String destination = conflatableDestination(message);
+        if (sessionId == null || destination == null) {
+            return message;
+        }
+        
+        // 연결이 끊겨 지운 세션 항목을 되살리지 않도록 세션 항목 잠금 안에서 기록 (앞선 프레임은 실행 차례에 건너뜀)
+        pending.computeIfPresent(sessionId, (id, destinations) -> {
+            destinations.merge(destination, new Queued(message, false), (queued, next) -> new Queued(message, true));
+            return destinations;
+        });
+        return message;
+    }
+    
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        String destination = conflatableDestination(message);
+        if (sessionId == null || destination == null) {
+            return message;
+        }
+        
+        Map<String, Queued> destinations = pending.get(sessionId);
+        if (destinations == null) {
+            // 이미 끊긴 세션: 합칠 대상이 아니며, 보내지 못한 프레임은 Spring 세션 핸들러가 버림
+            record("closed", destination);
+            return message;
+        }
+        Queued latest = destinations.get(destination);
+        if (latest == null || latest.message() != message) {
+            // 더 새 프레임이 기다리고 있거나 이미 보내지기 시작함
+            record("conflated", destination);
+            return null;
+        }
+        
+        // 보내기 시작한 프레임은 목록에서 빼서, 그 뒤에 들어온 프레임이 이 프레임을 건너뛴 것으로 표시되지 않게 함
+        destinations.remove(destination, latest);
+        if (latest.superseded() && destination.startsWith(LOCATION_PREFIX)) {
+            return withRouteSnapshot(message, destination.substring(LOCATION_PREFIX.length()));
+        }
+        return message;
+    }
+    
+    @EventListener
+    public void onConnected(SessionConnectedEvent event) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders());
+        if (sessionId != null) {
+            pending.putIfAbsent(sessionId, new ConcurrentHashMap<>());
+        }
+    }
+    
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        pending.remove(event.getSessionId());
+    }
+    
+    public int getPendingCount() {
+        return pending.values().stream().mapToInt(Map::size).sum();
+    }
+    
+    // 건너뛴 delta까지 반영된 현재 노선 스냅샷을 같은 헤더(구독 ID 등)로 보냄
+    // delta를 만든 수집 노드의 메모리 상태만 시퀀스가 이어지므로, 이 노드가 수집하지 않거나 상태가 없으면 최신 delta를 그대로 보냄
+    // (클라이언트가 시퀀스 누락으로 감지해 스냅샷을 요청)
+    private Message<?> withRouteSnapshot(Message<?> message, String routeId) {
+        SerializedPayload snapshot = subscriptionRegistry.isRoutePolled(routeId)
+            ? serializedPayloadCache.getRouteSnapshot(routeId)
+            : null;
+        if (snapshot == null) {
+            record("unresynced", LOCATION_PREFIX);
+            logger.debug("No local snapshot for route {}, sending latest delta after skipped frames", routeId);
+            return message;
+        }
+        record("resynced", LOCATION_PREFIX);
+        return MessageBuilder.createMessage(snapshot.json(), message.getHeaders());
+    }
+    
+    private void record(String outcome, String destination) {
+        String type = destination.startsWith(LOCATION_PREFIX) ? "locations" : "arrivals";
+        meterRegistry.counter(METRIC_PREFIX + "." + outcome, "type", type).increment();
+    }
+    
+    // 같은 목적지의 새 프레임이 이전 프레임을 대신할 수 있는 위치/도착정보 토픽만 합침
+    private static String conflatableDestination(Message<?> message) {
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+            return null;
+        }
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (destination == null) {
+            return null;
+        }
+        return destination.startsWith(LOCATION_PREFIX) || destination.startsWith(ARRIVAL_PREFIX) ? destination : null;
+    }
+}
\ No newline at end of file
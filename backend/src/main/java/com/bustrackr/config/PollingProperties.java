@@ -0,0 +1,39 @@
+package com.bustrackr.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "bus.polling")
+public class PollingProperties {
+    
+    /**
+     * 구독자가 없어도 항상 수집할 노선 ID
+     */
+    private List<String> warmRoutes = new ArrayList<>();
+    
+    /**
+     * 구독자가 없어도 항상 수집할 정류장 ID
+     */
+    private List<String> warmStops = new ArrayList<>();
+    
+    // Getters and Setters
+    public List<String> getWarmRoutes() {
+        return warmRoutes;
+    }
+    
+    public void setWarmRoutes(List<String> warmRoutes) {
+        this.warmRoutes = warmRoutes;
+    }
+    
+    public List<String> getWarmStops() {
+        return warmStops;
+    }
+    
+    public void setWarmStops(List<String> warmStops) {
+        this.warmStops = warmStops;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.bustrackr.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "bus.retention")
+public class RetentionProperties {
+    
+    private boolean enabled = true;
+    
+    /**
+     * 위치 이력(bus_locations) 보존 일수
+     */
+    private int locationHistoryDays = 7;
+    
+    /**
+     * 도착정보 이력(bus_arrivals) 보존 일수
+     */
+    private int arrivalHistoryDays = 2;
+    
+    /**
+     * 미리 만들어 둘 미래 일 파티션 수 (MySQL)
+     */
+    private int precreateDays = 3;
+    
+    /**
+     * 파티션이 없는 MySQL 이력 테이블을 일 파티션 테이블로 전환할지
+     * 테이블 전체를 복사하는 ALTER라 그동안 수집 쓰기가 막히므로, 점검 시간에 한 번만 켜고 끈다.
+     * 꺼져 있으면 파티션이 없는 테이블은 건드리지 않고 경고만 남긴다.
+     */
+    private boolean convertTables = false;
+    
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public int getLocationHistoryDays() {
+        return locationHistoryDays;
+    }
+    
+    public void setLocationHistoryDays(int locationHistoryDays) {
+        this.locationHistoryDays = locationHistoryDays;
+    }
+    
+    public int getArrivalHistoryDays() {
+        return arrivalHistoryDays;
+    }
+    
+    public void setArrivalHistoryDays(int arrivalHistoryDays) {
+        this.arrivalHistoryDays = arrivalHistoryDays;
+    }
+    
+    public int getPrecreateDays() {
+        return precreateDays;
+    }
+    
+    public void setPrecreateDays(int precreateDays) {
+        this.precreateDays = precreateDays;
+    }
+    
+    public boolean isConvertTables() {
+        return convertTables;
+    }
+    
+    public void setConvertTables(boolean convertTables) {
+        this.convertTables = convertTables;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.bustrackr.config;
+
+import com.bustrackr.dto.SerializedPayload;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.AbstractMessageConverter;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * SerializedPayload를 application/json STOMP 메시지 본문으로 그대로 내보내는 변환기 (송신 전용)
+ */
+public class SerializedPayloadMessageConverter extends AbstractMessageConverter {
+    
+    public SerializedPayloadMessageConverter() {
+        super(MimeTypeUtils.APPLICATION_JSON);
+    }
+    
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return SerializedPayload.class.isAssignableFrom(clazz);
+    }
+    
+    @Override
+    protected boolean canConvertFrom(Message<?> message, Class<?> targetClass) {
+        return false;
+    }
+    
+    @Override
+    protected Object convertToInternal(Object payload, MessageHeaders headers, Object conversionHint) {
+        return ((SerializedPayload) payload).json();
+    }
+}
\ No newline at end of file
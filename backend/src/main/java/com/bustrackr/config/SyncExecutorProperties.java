@@ -0,0 +1,68 @@
+package com.bustrackr.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "bus.sync")
+public class SyncExecutorProperties {
+    
+    public enum Mode {
+        PLATFORM, VIRTUAL
+    }
+    
+    /**
+     * 동기화 작업 스레드 종류 (VIRTUAL은 작업마다 가상 스레드, 지원하지 않는 JVM이면 PLATFORM으로 대체)
+     */
+    private Mode mode = Mode.VIRTUAL;
+    
+    /**
+     * 동시에 실행할 동기화 작업 수 상한
+     */
+    private int maxConcurrency = 16;
+    
+    /**
+     * 실행을 기다릴 수 있는 작업 수 상한 (넘으면 거절)
+     */
+    private int queueCapacity = 1000;
+    
+    /**
+     * 노선/정류장 하나의 조회와 동기화 마감 시간 (ms)
+     * 넘기면 스케줄러는 결과를 기다리지 않고, 아직 실행되지 않은 동기화는 건너뛴다.
+     * 이미 실행 중인 DB 반영은 인터럽트하지 않으므로 끝까지 실행되며 그동안 동시 실행 자리를 차지한다.
+     */
+    private long jobTimeout = 30000;
+    
+    // Getters and Setters
+    public Mode getMode() {
+        return mode;
+    }
+    
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+    
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+    
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+    
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+    
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+    
+    public long getJobTimeout() {
+        return jobTimeout;
+    }
+    
+    public void setJobTimeout(long jobTimeout) {
+        this.jobTimeout = jobTimeout;
+    }
+}
\ No newline at end of file
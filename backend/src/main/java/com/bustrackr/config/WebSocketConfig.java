@@ -1,21 +1,118 @@
 package com.bustrackr.config;
 
+import com.bustrackr.service.SubscriptionRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+
+import java.util.List;
 
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    @Autowired
+    private ClusterProperties clusterProperties;
+
+    @Autowired
+    private WebSocketProperties webSocketProperties;
+
+    @Autowired
+    private OutboundConflationInterceptor outboundConflationInterceptor;
+
+    @Autowired
+    private SubscriptionRegistry subscriptionRegistry;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        // 클라이언트에서 받을 prefix 설정
-        config.enableSimpleBroker("/topic");
+        // 클라이언트에서 받을 prefix 설정 (stomp 중계면 외부 브로커가 구독을 관리해 모든 노드로 퍼뜨림)
+        // /topic은 구독자 전체, /queue는 /user/queue/...로 구독한 세션 하나에게만 가는 요청 응답용
+        if (clusterProperties.getRelay() == ClusterProperties.Relay.STOMP) {
+            ClusterProperties.Stomp stomp = clusterProperties.getStomp();
+            config.enableStompBrokerRelay("/topic", "/queue")
+                .setRelayHost(stomp.getHost())
+                .setRelayPort(stomp.getPort())
+                .setClientLogin(stomp.getLogin())
+                .setClientPasscode(stomp.getPasscode())
+                .setSystemLogin(stomp.getLogin())
+                .setSystemPasscode(stomp.getPasscode());
+        } else {
+            config.enableSimpleBroker("/topic", "/queue");
+        }
         // 클라이언트에서 보낼 prefix 설정  
         config.setApplicationDestinationPrefixes("/app");
+        config.setUserDestinationPrefix("/user");
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // 느린 클라이언트 보호: 프레임 하나의 전송 시간과 세션별 미전송 버퍼를 제한하고, 넘기면 서버가 연결을 끊음
+        registration.setSendTimeLimit(webSocketProperties.getSendTimeLimit())
+            .setSendBufferSizeLimit(webSocketProperties.getSendBufferSizeLimit())
+            .setMessageSizeLimit(webSocketProperties.getMessageSizeLimit())
+            .addDecoratorFactory(handler -> new WebSocketHandlerDecorator(handler) {
+                @Override
+                public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                    // 한도 초과로 끊긴 세션 (CONNECT 없이 오래 머문 세션도 같은 코드로 끊김)
+                    if (closeStatus.getCode() == CloseStatus.SESSION_NOT_RELIABLE.getCode()) {
+                        meterRegistry.counter("bus.ws.slow-consumer.disconnects").increment();
+                    }
+                    super.afterConnectionClosed(session, closeStatus);
+                }
+            });
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // DB에 없는 노선/정류장이나 세션 구독 상한을 넘는 SUBSCRIBE는 브로커에 넘기지 않음 (클라이언트는 ERROR 프레임을 받음)
+        registration.interceptors(new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) == SimpMessageType.SUBSCRIBE
+                        && !subscriptionRegistry.accepts(SimpMessageHeaderAccessor.getSessionId(message.getHeaders()),
+                            SimpMessageHeaderAccessor.getSubscriptionId(message.getHeaders()),
+                            SimpMessageHeaderAccessor.getDestination(message.getHeaders()))) {
+                    throw new MessageDeliveryException(message, "Subscription rejected");
+                }
+                return message;
+            }
+        });
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        // 송신 스레드를 기다리며 쌓인 위치/도착정보 프레임은 세션·목적지별 최신 프레임만 보냄
+        // (세션 버퍼에 넘어간 뒤의 적체는 위 send-buffer-size-limit/send-time-limit이 연결을 끊어 제한)
+        if (webSocketProperties.isConflate()) {
+            registration.interceptors(outboundConflationInterceptor);
+        }
+    }
+
+    @Override
+    public boolean configureMessageConverters(List<MessageConverter> messageConverters) {
+        // 미리 직렬화한 페이로드는 Jackson을 거치지 않고 그대로 전송
+        // Jackson 변환기는 모든 타입을 받아들이므로 다른 설정이 먼저 추가한 변환기보다 앞에 둠
+        messageConverters.add(0, new SerializedPayloadMessageConverter());
+        return true;
     }
 
     @Override
@@ -0,0 +1,101 @@
+package com.bustrackr.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "bus.websocket")
+public class WebSocketProperties {
+    
+    /**
+     * 세션 하나에 프레임 하나를 보내는 데 허용하는 시간 (ms, 넘기면 느린 클라이언트로 보고 연결을 끊음)
+     */
+    private int sendTimeLimit = 10000;
+    
+    /**
+     * 세션별로 보내지 못하고 쌓아 둘 수 있는 바이트 수 (넘기면 연결을 끊음)
+     */
+    private int sendBufferSizeLimit = 256 * 1024;
+    
+    /**
+     * 클라이언트가 보내는 STOMP 메시지 크기 상한 (바이트)
+     */
+    private int messageSizeLimit = 64 * 1024;
+    
+    /**
+     * 아직 보내지 못한 위치/도착정보 프레임을 세션·목적지별 프레임 하나로 합칠지 (위치 delta는 노선 스냅샷으로 바꿔 보냄)
+     */
+    private boolean conflate = true;
+    
+    /**
+     * 세션별 /app 요청(새로고침, ping) 초당 허용 수
+     */
+    private double requestsPerSecond = 1;
+    
+    /**
+     * 세션별로 한꺼번에 허용하는 /app 요청 수
+     */
+    private int requestBurst = 5;
+    
+    /**
+     * 세션 하나가 동시에 유지할 수 있는 위치/도착정보 구독 수 (넘는 SUBSCRIBE는 거절)
+     */
+    private int maxSubscriptionsPerSession = 20;
+    
+    // Getters and Setters
+    public int getSendTimeLimit() {
+        return sendTimeLimit;
+    }
+    
+    public void setSendTimeLimit(int sendTimeLimit) {
+        this.sendTimeLimit = sendTimeLimit;
+    }
+    
+    public int getSendBufferSizeLimit() {
+        return sendBufferSizeLimit;
+    }
+    
+    public void setSendBufferSizeLimit(int sendBufferSizeLimit) {
+        this.sendBufferSizeLimit = sendBufferSizeLimit;
+    }
+    
+    public int getMessageSizeLimit() {
+        return messageSizeLimit;
+    }
+    
+    public void setMessageSizeLimit(int messageSizeLimit) {
+        this.messageSizeLimit = messageSizeLimit;
+    }
+    
+    public boolean isConflate() {
+        return conflate;
+    }
+    
+    public void setConflate(boolean conflate) {
+        this.conflate = conflate;
+    }
+    
+    public double getRequestsPerSecond() {
+        return requestsPerSecond;
+    }
+    
+    public void setRequestsPerSecond(double requestsPerSecond) {
+        this.requestsPerSecond = requestsPerSecond;
+    }
+    
+    public int getRequestBurst() {
+        return requestBurst;
+    }
+    
+    public void setRequestBurst(int requestBurst) {
+        this.requestBurst = requestBurst;
+    }
+    
+    public int getMaxSubscriptionsPerSession() {
+        return maxSubscriptionsPerSession;
+    }
+    
+    public void setMaxSubscriptionsPerSession(int maxSubscriptionsPerSession) {
+        this.maxSubscriptionsPerSession = maxSubscriptionsPerSession;
+    }
+}
\ No newline at end of file
@@ -1,8 +1,10 @@
 package com.bustrackr.controller;
 
 import com.bustrackr.dto.BusArrivalResponse;
+import com.bustrackr.dto.SerializedPayload;
 import com.bustrackr.service.BusArrivalService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -17,11 +19,14 @@ public class BusArrivalController {
     private BusArrivalService busArrivalService;
     
     @GetMapping("/stop/{stopId}")
-    public ResponseEntity<List<BusArrivalResponse>> getArrivalsByStopId(
+    public ResponseEntity<byte[]> getArrivalsByStopId(
             @PathVariable String stopId) {
         
-        List<BusArrivalResponse> arrivals = busArrivalService.getArrivalsByStopId(stopId);
-        return ResponseEntity.ok(arrivals);
+        // 동기화마다 한 번 직렬화된 JSON을 그대로 응답
+        SerializedPayload payload = busArrivalService.getArrivalsPayload(stopId);
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(payload.json());
     }
     
     @GetMapping("/route/{routeId}/stop/{stopId}")
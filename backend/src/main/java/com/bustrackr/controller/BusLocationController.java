@@ -1,8 +1,10 @@
 package com.bustrackr.controller;
 
 import com.bustrackr.dto.BusLocationResponse;
+import com.bustrackr.dto.SerializedPayload;
 import com.bustrackr.service.BusLocationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -17,11 +19,14 @@ public class BusLocationController {
     private BusLocationService busLocationService;
     
     @GetMapping("/route/{routeId}")
-    public ResponseEntity<List<BusLocationResponse>> getBusLocationsByRoute(
+    public ResponseEntity<byte[]> getBusLocationsByRoute(
             @PathVariable String routeId) {
         
-        List<BusLocationResponse> locations = busLocationService.getBusLocationsByRoute(routeId);
-        return ResponseEntity.ok(locations);
+        // 동기화마다 한 번 직렬화된 JSON을 그대로 응답
+        SerializedPayload payload = busLocationService.getBusLocationsPayload(routeId);
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(payload.json());
     }
     
     @GetMapping("/route/{routeId}/recent")
@@ -0,0 +1,30 @@
+package com.bustrackr.controller;
+
+import com.bustrackr.dto.BusRouteResponse;
+import com.bustrackr.service.BusRouteService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/bus-routes")
+@CrossOrigin(origins = "http://localhost:3002")
+public class BusRouteController {
+    
+    @Autowired
+    private BusRouteService busRouteService;
+    
+    @GetMapping("/search")
+    public ResponseEntity<List<BusRouteResponse>> searchBusRoutes(
+            @RequestParam(required = false) String keyword) {
+        
+        if (keyword == null || keyword.trim().isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        List<BusRouteResponse> results = busRouteService.searchBusRoutes(keyword.trim());
+        return ResponseEntity.ok(results);
+    }
+}
\ No newline at end of file
@@ -43,7 +43,7 @@ public class BusStopController {
             @RequestParam Double longitude,
             @RequestParam(defaultValue = "1.0") Double radiusKm) {
         
-        if (latitude == null || longitude == null) {
+        if (!isValidLocation(latitude, longitude) || !isValidRadius(radiusKm)) {
             return ResponseEntity.badRequest().build();
         }
         
@@ -52,6 +52,22 @@ public class BusStopController {
         return ResponseEntity.ok(results);
     }
     
+    @GetMapping("/nearest")
+    public ResponseEntity<List<BusStopSearchResponse>> getNearestBusStops(
+            @RequestParam Double latitude,
+            @RequestParam Double longitude,
+            @RequestParam(defaultValue = "5") Integer limit,
+            @RequestParam(defaultValue = "2.0") Double maxRadiusKm) {
+        
+        if (!isValidLocation(latitude, longitude) || !isValidRadius(maxRadiusKm) || limit <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        List<BusStopSearchResponse> results = busStopService.getNearestBusStops(
+            latitude, longitude, limit, maxRadiusKm);
+        return ResponseEntity.ok(results);
+    }
+    
     @GetMapping("/district/{district}")
     public ResponseEntity<List<BusStopSearchResponse>> getBusStopsByDistrict(
             @PathVariable String district) {
@@ -59,4 +75,15 @@ public class BusStopController {
         List<BusStopSearchResponse> results = busStopService.getBusStopsByDistrict(district);
         return ResponseEntity.ok(results);
     }
+    
+    // NaN/Infinity나 범위를 벗어난 좌표는 색인 탐색이 끝나지 않거나 의미 없는 셀을 훑게 하므로 거절
+    private static boolean isValidLocation(Double latitude, Double longitude) {
+        return latitude != null && longitude != null
+            && Double.isFinite(latitude) && Double.isFinite(longitude)
+            && Math.abs(latitude) <= 90 && Math.abs(longitude) <= 180;
+    }
+    
+    private static boolean isValidRadius(Double radiusKm) {
+        return radiusKm != null && Double.isFinite(radiusKm) && radiusKm > 0;
+    }
 }
\ No newline at end of file
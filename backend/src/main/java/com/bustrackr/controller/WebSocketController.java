@@ -2,13 +2,17 @@ package com.bustrackr.controller;
 
 import com.bustrackr.service.BusLocationService;
 import com.bustrackr.service.BusArrivalService;
+import com.bustrackr.service.SessionRequestLimiter;
 import com.bustrackr.service.WebSocketNotificationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.MessageMapping;
-import org.springframework.messaging.handler.annotation.SendTo;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.stereotype.Controller;
 
 @Controller
@@ -25,16 +29,24 @@ public class WebSocketController {
     @Autowired
     private WebSocketNotificationService webSocketNotificationService;
     
+    @Autowired
+    private SessionRequestLimiter sessionRequestLimiter;
+    
     /**
      * 클라이언트가 특정 노선의 버스 위치를 요청
+     * 요청한 세션에게만 캐시된 snapshot 프레임으로 응답 (/user/queue/bus-locations/{routeId} 구독)
      */
     @MessageMapping("/bus-locations/{routeId}")
-    @SendTo("/topic/bus-locations/{routeId}")
-    public Object getBusLocationsByRoute(@DestinationVariable String routeId) {
+    @SendToUser(destinations = "/queue/bus-locations/{routeId}", broadcast = false)
+    public Object getBusLocationsByRoute(@DestinationVariable String routeId,
+                                         @Header(SimpMessageHeaderAccessor.SESSION_ID_HEADER) String sessionId) {
         logger.debug("WebSocket request for bus locations of route: {}", routeId);
+        if (!sessionRequestLimiter.tryAcquire(sessionId)) {
+            return rateLimited();
+        }
         
         try {
-            return busLocationService.getBusLocationsByRoute(routeId);
+            return busLocationService.getBusLocationSnapshotPayload(routeId);
         } catch (Exception e) {
             logger.error("Error handling WebSocket request for bus locations", e);
             return new ErrorResponse("Failed to get bus locations for route: " + routeId);
@@ -42,15 +54,36 @@ public class WebSocketController {
     }
     
     /**
-     * 클라이언트가 특정 정류장의 도착 정보를 요청
+     * 구독 시점 스냅샷 (/app/bus-locations/{routeId}/snapshot 구독 시 해당 클라이언트에게만 한 번 응답)
+     * 클라이언트는 토픽을 먼저 구독한 뒤 스냅샷을 받고, 스냅샷 시퀀스 이후의 delta만 적용한다.
+     * delta 시퀀스가 건너뛰면 이 경로로 다시 받는다.
+     */
+    @SubscribeMapping("/bus-locations/{routeId}/snapshot")
+    public Object getBusLocationSnapshot(@DestinationVariable String routeId) {
+        logger.debug("WebSocket snapshot request for route: {}", routeId);
+        
+        try {
+            return busLocationService.getBusLocationSnapshotPayload(routeId);
+        } catch (Exception e) {
+            logger.error("Error handling WebSocket snapshot request", e);
+            return new ErrorResponse("Failed to get bus location snapshot for route: " + routeId);
+        }
+    }
+    
+    /**
+     * 클라이언트가 특정 정류장의 도착 정보를 요청 (요청한 세션에게만 캐시된 직렬화 결과로 응답)
      */
     @MessageMapping("/bus-arrivals/{stopId}")
-    @SendTo("/topic/bus-arrivals/{stopId}")
-    public Object getBusArrivalsByStop(@DestinationVariable String stopId) {
+    @SendToUser(destinations = "/queue/bus-arrivals/{stopId}", broadcast = false)
+    public Object getBusArrivalsByStop(@DestinationVariable String stopId,
+                                       @Header(SimpMessageHeaderAccessor.SESSION_ID_HEADER) String sessionId) {
         logger.debug("WebSocket request for bus arrivals at stop: {}", stopId);
+        if (!sessionRequestLimiter.tryAcquire(sessionId)) {
+            return rateLimited();
+        }
         
         try {
-            return busArrivalService.getArrivalsByStopId(stopId);
+            return busArrivalService.getArrivalsPayload(stopId);
         } catch (Exception e) {
             logger.error("Error handling WebSocket request for bus arrivals", e);
             return new ErrorResponse("Failed to get bus arrivals for stop: " + stopId);
@@ -58,15 +91,22 @@ public class WebSocketController {
     }
     
     /**
-     * 클라이언트가 연결을 확인하는 ping 요청
+     * 클라이언트가 연결을 확인하는 ping 요청 (보낸 세션에게만 응답)
      */
     @MessageMapping("/ping")
-    @SendTo("/topic/system-status")
-    public Object ping() {
+    @SendToUser(destinations = "/queue/system-status", broadcast = false)
+    public Object ping(@Header(SimpMessageHeaderAccessor.SESSION_ID_HEADER) String sessionId) {
         logger.debug("WebSocket ping received");
+        if (!sessionRequestLimiter.tryAcquire(sessionId)) {
+            return rateLimited();
+        }
         return new PingResponse("pong", System.currentTimeMillis());
     }
     
+    private static ErrorResponse rateLimited() {
+        return new ErrorResponse("Too many requests, please retry later");
+    }
+    
     // 응답 DTO 클래스들
     public static class ErrorResponse {
         private final String error;
@@ -4,18 +4,22 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bus_arrivals")
+@Table(name = "bus_arrivals",
+       indexes = @Index(name = "idx_bus_arrivals_stop_time", columnList = "stop_id, lastUpdated"))
 public class BusArrival {
     
+    // IDENTITY 전략은 Hibernate insert 배치를 비활성화하므로 pooled 시퀀스 사용
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bus_arrival_seq")
+    @SequenceGenerator(name = "bus_arrival_seq", sequenceName = "bus_arrivals_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
     private String routeId;
     
+    // MySQL 파티션 테이블은 외래 키를 지원하지 않으므로 제약 없이 컬럼만 매핑
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "stop_id")
+    @JoinColumn(name = "stop_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private BusStop busStop;
     
     @Column(nullable = false)
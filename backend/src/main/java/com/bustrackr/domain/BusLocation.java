@@ -4,11 +4,14 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bus_locations")
+@Table(name = "bus_locations",
+       indexes = @Index(name = "idx_bus_locations_route_time", columnList = "routeId, lastUpdated"))
 public class BusLocation {
     
+    // IDENTITY 전략은 Hibernate insert 배치를 비활성화하므로 pooled 시퀀스 사용
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bus_location_seq")
+    @SequenceGenerator(name = "bus_location_seq", sequenceName = "bus_locations_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -0,0 +1,134 @@
+package com.bustrackr.domain;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * 정류장별 현재 도착정보 스냅샷 (정류장, 노선, 순번(첫 번째/두 번째 버스)당 한 행)
+ * 동기화 때마다 한 트랜잭션 안에서 바뀐 행만 갱신하고 사라진 행은 지우므로 조회 비용은 현재 도착정보 수에만 비례한다.
+ * 이력은 bus_arrivals에 쌓고 보존 기간이 지나면 삭제된다.
+ */
+@Entity
+@Table(name = "bus_arrivals_current")
+@IdClass(CurrentBusArrival.Key.class)
+public class CurrentBusArrival {
+    
+    @Id
+    private String stopId;
+    
+    @Id
+    private String routeId;
+    
+    @Id
+    private Integer ordinal;
+    
+    @Column
+    private String stopName;
+    
+    @Column(nullable = false)
+    private Integer estimatedTime; // 분 단위
+    
+    @Column(nullable = false)
+    private Integer remainingStops;
+    
+    @Column
+    @Enumerated(EnumType.STRING)
+    private BusArrival.CongestionLevel congestion;
+    
+    @Column
+    private String plateNumber;
+    
+    // 이 행을 마지막으로 쓴 정류장 스냅샷 버전
+    @Column(nullable = false)
+    private Long snapshotVersion;
+    
+    @Column(nullable = false)
+    private LocalDateTime lastUpdated;
+    
+    public static class Key implements Serializable {
+        private String stopId;
+        private String routeId;
+        private Integer ordinal;
+        
+        public Key() {}
+        
+        public Key(String stopId, String routeId, Integer ordinal) {
+            this.stopId = stopId;
+            this.routeId = routeId;
+            this.ordinal = ordinal;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(stopId, key.stopId)
+                && Objects.equals(routeId, key.routeId)
+                && Objects.equals(ordinal, key.ordinal);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(stopId, routeId, ordinal);
+        }
+    }
+    
+    // Constructors
+    public CurrentBusArrival() {}
+    
+    public CurrentBusArrival(String stopId, String routeId, Integer ordinal) {
+        this.stopId = stopId;
+        this.routeId = routeId;
+        this.ordinal = ordinal;
+    }
+    
+    public Key getKey() {
+        return new Key(stopId, routeId, ordinal);
+    }
+    
+    /**
+     * 이력 행의 값으로 현재 도착정보 갱신 (정류장명은 정류장 엔티티를 읽지 않도록 따로 받음)
+     */
+    public void updateFrom(BusArrival arrival, String stopName, long snapshotVersion) {
+        this.stopName = stopName;
+        this.estimatedTime = arrival.getEstimatedTime();
+        this.remainingStops = arrival.getRemainingStops();
+        this.congestion = arrival.getCongestion();
+        this.plateNumber = arrival.getPlateNumber();
+        this.snapshotVersion = snapshotVersion;
+        this.lastUpdated = arrival.getLastUpdated();
+    }
+    
+    // Getters and Setters
+    public String getStopId() { return stopId; }
+    public void setStopId(String stopId) { this.stopId = stopId; }
+    
+    public String getRouteId() { return routeId; }
+    public void setRouteId(String routeId) { this.routeId = routeId; }
+    
+    public Integer getOrdinal() { return ordinal; }
+    public void setOrdinal(Integer ordinal) { this.ordinal = ordinal; }
+    
+    public String getStopName() { return stopName; }
+    public void setStopName(String stopName) { this.stopName = stopName; }
+    
+    public Integer getEstimatedTime() { return estimatedTime; }
+    public void setEstimatedTime(Integer estimatedTime) { this.estimatedTime = estimatedTime; }
+    
+    public Integer getRemainingStops() { return remainingStops; }
+    public void setRemainingStops(Integer remainingStops) { this.remainingStops = remainingStops; }
+    
+    public BusArrival.CongestionLevel getCongestion() { return congestion; }
+    public void setCongestion(BusArrival.CongestionLevel congestion) { this.congestion = congestion; }
+    
+    public String getPlateNumber() { return plateNumber; }
+    public void setPlateNumber(String plateNumber) { this.plateNumber = plateNumber; }
+    
+    public Long getSnapshotVersion() { return snapshotVersion; }
+    public void setSnapshotVersion(Long snapshotVersion) { this.snapshotVersion = snapshotVersion; }
+    
+    public LocalDateTime getLastUpdated() { return lastUpdated; }
+    public void setLastUpdated(LocalDateTime lastUpdated) { this.lastUpdated = lastUpdated; }
+}
\ No newline at end of file
@@ -0,0 +1,104 @@
+package com.bustrackr.domain;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 버스별 최신 위치 (busId당 한 행, 동기화 시 upsert)
+ * 이력은 bus_locations에 append-only로 남기고, 최신 위치 조회는 이 테이블에서 PK/인덱스로 처리
+ */
+@Entity
+@Table(name = "bus_positions_current",
+       indexes = @Index(name = "idx_bus_positions_current_route", columnList = "routeId"))
+public class CurrentBusPosition {
+    
+    @Id
+    private String busId;
+    
+    @Column(nullable = false)
+    private String routeId;
+    
+    @Column(nullable = false)
+    private Double latitude;
+    
+    @Column(nullable = false)
+    private Double longitude;
+    
+    @Column
+    private Double speed;
+    
+    @Column
+    @Enumerated(EnumType.STRING)
+    private BusLocation.CongestionLevel congestion;
+    
+    @Column
+    private String nextStopId;
+    
+    @Column
+    private Integer estimatedArrival; // 분 단위
+    
+    @Column(nullable = false)
+    private LocalDateTime lastUpdated;
+    
+    // Constructors
+    public CurrentBusPosition() {}
+    
+    public CurrentBusPosition(String busId) {
+        this.busId = busId;
+    }
+    
+    /**
+     * 이력 행의 값으로 최신 위치 갱신
+     */
+    public void updateFrom(BusLocation location) {
+        this.routeId = location.getRouteId();
+        this.latitude = location.getLatitude();
+        this.longitude = location.getLongitude();
+        this.speed = location.getSpeed();
+        this.congestion = location.getCongestion();
+        this.nextStopId = location.getNextStopId();
+        this.estimatedArrival = location.getEstimatedArrival();
+        this.lastUpdated = location.getLastUpdated();
+    }
+    
+    /**
+     * 최신 위치를 이력 행 형태로 변환 (저장하지 않는 조회용 객체)
+     */
+    public BusLocation toBusLocation() {
+        BusLocation location = new BusLocation(busId, routeId, latitude, longitude);
+        location.setSpeed(speed);
+        location.setCongestion(congestion);
+        location.setNextStopId(nextStopId);
+        location.setEstimatedArrival(estimatedArrival);
+        location.setLastUpdated(lastUpdated);
+        return location;
+    }
+    
+    // Getters and Setters
+    public String getBusId() { return busId; }
+    public void setBusId(String busId) { this.busId = busId; }
+    
+    public String getRouteId() { return routeId; }
+    public void setRouteId(String routeId) { this.routeId = routeId; }
+    
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+    
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+    
+    public Double getSpeed() { return speed; }
+    public void setSpeed(Double speed) { this.speed = speed; }
+    
+    public BusLocation.CongestionLevel getCongestion() { return congestion; }
+    public void setCongestion(BusLocation.CongestionLevel congestion) { this.congestion = congestion; }
+    
+    public String getNextStopId() { return nextStopId; }
+    public void setNextStopId(String nextStopId) { this.nextStopId = nextStopId; }
+    
+    public Integer getEstimatedArrival() { return estimatedArrival; }
+    public void setEstimatedArrival(Integer estimatedArrival) { this.estimatedArrival = estimatedArrival; }
+    
+    public LocalDateTime getLastUpdated() { return lastUpdated; }
+    public void setLastUpdated(LocalDateTime lastUpdated) { this.lastUpdated = lastUpdated; }
+}
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.bustrackr.dto;
 
 import com.bustrackr.domain.BusArrival;
+import com.bustrackr.domain.CurrentBusArrival;
 import java.time.LocalDateTime;
 
 public class BusArrivalResponse {
@@ -27,6 +28,17 @@ public class BusArrivalResponse {
         this.lastUpdated = busArrival.getLastUpdated();
     }
     
+    public BusArrivalResponse(CurrentBusArrival arrival) {
+        this.routeId = arrival.getRouteId();
+        this.stopId = arrival.getStopId();
+        this.stopName = arrival.getStopName();
+        this.estimatedTime = arrival.getEstimatedTime();
+        this.remainingStops = arrival.getRemainingStops();
+        this.congestion = arrival.getCongestion() != null ? arrival.getCongestion().name().toLowerCase() : null;
+        this.plateNumber = arrival.getPlateNumber();
+        this.lastUpdated = arrival.getLastUpdated();
+    }
+    
     // Getters and Setters
     public String getRouteId() { return routeId; }
     public void setRouteId(String routeId) { this.routeId = routeId; }
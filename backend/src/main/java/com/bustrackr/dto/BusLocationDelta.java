@@ -0,0 +1,65 @@
+package com.bustrackr.dto;
+
+import java.util.List;
+
+/**
+ * 노선 위치 WebSocket 프레임
+ * snapshot: upserts가 노선 전체 상태, delta: 직전 시퀀스 이후 추가/변경된 버스(upserts)와 사라진 버스ID(removed)만 포함.
+ * 클라이언트는 sequence가 1씩 증가하지 않으면 스냅샷을 다시 받아야 한다.
+ */
+public class BusLocationDelta {
+    public static final String SNAPSHOT = "snapshot";
+    public static final String DELTA = "delta";
+    
+    private String type;
+    private String routeId;
+    private long sequence;
+    private List<BusLocationResponse> upserts;
+    private List<String> removed;
+    private long timestamp;
+    
+    // Constructors
+    public BusLocationDelta() {}
+    
+    public BusLocationDelta(String type, String routeId, long sequence,
+                            List<BusLocationResponse> upserts, List<String> removed) {
+        this.type = type;
+        this.routeId = routeId;
+        this.sequence = sequence;
+        this.upserts = upserts;
+        this.removed = removed;
+        this.timestamp = System.currentTimeMillis();
+    }
+    
+    public static BusLocationDelta snapshot(String routeId, long sequence, List<BusLocationResponse> locations) {
+        return new BusLocationDelta(SNAPSHOT, routeId, sequence, locations, List.of());
+    }
+    
+    public static BusLocationDelta delta(String routeId, long sequence,
+                                         List<BusLocationResponse> upserts, List<String> removed) {
+        return new BusLocationDelta(DELTA, routeId, sequence, upserts, removed);
+    }
+    
+    public boolean hasChanges() {
+        return !upserts.isEmpty() || !removed.isEmpty();
+    }
+    
+    // Getters and Setters
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+    
+    public String getRouteId() { return routeId; }
+    public void setRouteId(String routeId) { this.routeId = routeId; }
+    
+    public long getSequence() { return sequence; }
+    public void setSequence(long sequence) { this.sequence = sequence; }
+    
+    public List<BusLocationResponse> getUpserts() { return upserts; }
+    public void setUpserts(List<BusLocationResponse> upserts) { this.upserts = upserts; }
+    
+    public List<String> getRemoved() { return removed; }
+    public void setRemoved(List<String> removed) { this.removed = removed; }
+    
+    public long getTimestamp() { return timestamp; }
+    public void setTimestamp(long timestamp) { this.timestamp = timestamp; }
+}
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.bustrackr.dto;
 
 import com.bustrackr.domain.BusLocation;
+import com.bustrackr.domain.CurrentBusPosition;
 import java.time.LocalDateTime;
 
 public class BusLocationResponse {
@@ -29,6 +30,18 @@ public class BusLocationResponse {
         this.lastUpdated = busLocation.getLastUpdated();
     }
     
+    public BusLocationResponse(CurrentBusPosition position) {
+        this.busId = position.getBusId();
+        this.routeId = position.getRouteId();
+        this.latitude = position.getLatitude();
+        this.longitude = position.getLongitude();
+        this.speed = position.getSpeed();
+        this.congestion = position.getCongestion() != null ? position.getCongestion().name().toLowerCase() : null;
+        this.nextStopId = position.getNextStopId();
+        this.estimatedArrival = position.getEstimatedArrival();
+        this.lastUpdated = position.getLastUpdated();
+    }
+    
     // Getters and Setters
     public String getBusId() { return busId; }
     public void setBusId(String busId) { this.busId = busId; }
@@ -0,0 +1,43 @@
+package com.bustrackr.dto;
+
+import com.bustrackr.domain.BusRoute;
+
+public class BusRouteResponse {
+    private String routeId;
+    private String routeName;
+    private String routeType;
+    private String direction;
+    private String startStop;
+    private String endStop;
+    
+    // Constructors
+    public BusRouteResponse() {}
+    
+    public BusRouteResponse(BusRoute busRoute) {
+        this.routeId = busRoute.getRouteId();
+        this.routeName = busRoute.getRouteName();
+        this.routeType = busRoute.getRouteType() != null ? busRoute.getRouteType().name().toLowerCase() : null;
+        this.direction = busRoute.getDirection();
+        this.startStop = busRoute.getStartStop();
+        this.endStop = busRoute.getEndStop();
+    }
+    
+    // Getters and Setters
+    public String getRouteId() { return routeId; }
+    public void setRouteId(String routeId) { this.routeId = routeId; }
+    
+    public String getRouteName() { return routeName; }
+    public void setRouteName(String routeName) { this.routeName = routeName; }
+    
+    public String getRouteType() { return routeType; }
+    public void setRouteType(String routeType) { this.routeType = routeType; }
+    
+    public String getDirection() { return direction; }
+    public void setDirection(String direction) { this.direction = direction; }
+    
+    public String getStartStop() { return startStop; }
+    public void setStartStop(String startStop) { this.startStop = startStop; }
+    
+    public String getEndStop() { return endStop; }
+    public void setEndStop(String endStop) { this.endStop = endStop; }
+}
\ No newline at end of file
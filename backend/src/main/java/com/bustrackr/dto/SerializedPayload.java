@@ -0,0 +1,7 @@
+package com.bustrackr.dto;
+
+/**
+ * 미리 직렬화해 둔 JSON 응답 (version은 원본 데이터의 버전)
+ * STOMP 메시지 변환기와 REST 응답이 다시 직렬화하지 않고 바이트를 그대로 내보낸다.
+ */
+public record SerializedPayload(long version, byte[] json) {}
\ No newline at end of file
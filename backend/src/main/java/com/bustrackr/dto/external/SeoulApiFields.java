@@ -0,0 +1,31 @@
+package com.bustrackr.dto.external;
+
+/**
+ * 서울시 버스 API 필드 파싱 유틸 (모든 값이 문자열로 내려오므로 한 번만 숫자로 변환)
+ */
+final class SeoulApiFields {
+    
+    private SeoulApiFields() {}
+    
+    static double parseDouble(String value) {
+        if (value == null || value.isEmpty()) {
+            return Double.NaN;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+    
+    static int parseInt(String value, int missing, int invalid) {
+        if (value == null || value.isEmpty()) {
+            return missing;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return invalid;
+        }
+    }
+}
\ No newline at end of file
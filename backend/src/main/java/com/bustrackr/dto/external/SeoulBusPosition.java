@@ -0,0 +1,32 @@
+package com.bustrackr.dto.external;
+
+import java.util.Map;
+
+/**
+ * 실시간 버스 위치 (buspos/getBusPosByRouteSt 항목)
+ * 좌표가 없거나 잘못되면 NaN, 혼잡도가 없으면 UNKNOWN
+ */
+public record SeoulBusPosition(
+        String routeId,
+        String plateNo,
+        String stationId,
+        double latitude,
+        double longitude,
+        int congestion) {
+    
+    public static final int UNKNOWN = -1;
+    
+    public boolean hasCoordinates() {
+        return !Double.isNaN(latitude) && !Double.isNaN(longitude);
+    }
+    
+    public static SeoulBusPosition from(Map<String, String> fields) {
+        return new SeoulBusPosition(
+            fields.get("busRouteId"),
+            fields.get("plateNo"),
+            fields.get("stationId"),
+            SeoulApiFields.parseDouble(fields.get("posY")),
+            SeoulApiFields.parseDouble(fields.get("posX")),
+            SeoulApiFields.parseInt(fields.get("congetion"), UNKNOWN, 0)); // 서울시 API의 오타
+    }
+}
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.bustrackr.dto.external;
+
+import java.util.Map;
+
+/**
+ * 정류소 정보 (stationinfo/getStationByName 항목)
+ */
+public record SeoulStation(
+        String stationId,
+        String arsId,
+        String stationName,
+        String direction,
+        double latitude,
+        double longitude) {
+    
+    public boolean hasCoordinates() {
+        return !Double.isNaN(latitude) && !Double.isNaN(longitude);
+    }
+    
+    public static SeoulStation from(Map<String, String> fields) {
+        return new SeoulStation(
+            fields.get("stId"),
+            fields.get("arsId"),
+            fields.get("stNm"),
+            fields.get("direction"),
+            SeoulApiFields.parseDouble(fields.get("posY")),
+            SeoulApiFields.parseDouble(fields.get("posX")));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.bustrackr.dto.external;
+
+import java.util.Map;
+
+/**
+ * 정류소 도착정보 (stationinfo/getStationByUid 항목)
+ * 도착예정시간은 초 단위, 정보가 없으면 NONE
+ */
+public record SeoulStationArrival(
+        String stationId,
+        String routeId,
+        String routeName,
+        String plateNo1,
+        int arrivalSec1,
+        int remainingStops1,
+        String plateNo2,
+        int arrivalSec2,
+        int remainingStops2) {
+    
+    public static final int NONE = -1;
+    
+    public boolean hasFirstBus() {
+        return arrivalSec1 != NONE;
+    }
+    
+    public boolean hasSecondBus() {
+        return arrivalSec2 != NONE;
+    }
+    
+    public static SeoulStationArrival from(Map<String, String> fields) {
+        return new SeoulStationArrival(
+            fields.get("stId"),
+            fields.get("busRouteId"),
+            fields.get("rtNm"),
+            fields.get("plainNo1"),
+            SeoulApiFields.parseInt(fields.get("arrmsgSec1"), NONE, 0),
+            SeoulApiFields.parseInt(fields.get("reride_Num1"), 0, 0),
+            fields.get("plainNo2"),
+            SeoulApiFields.parseInt(fields.get("arrmsgSec2"), NONE, 0),
+            SeoulApiFields.parseInt(fields.get("reride_Num2"), 0, 0));
+    }
+}
\ No newline at end of file
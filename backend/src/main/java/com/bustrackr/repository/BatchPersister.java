@@ -0,0 +1,43 @@
+package com.bustrackr.repository;
+
+import com.bustrackr.config.IngestProperties;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 수집 데이터 일괄 저장용 저장소
+ * 호출 측 트랜잭션 안에서 batch-size 단위로 persist 후 flush/clear 하여 JDBC 배치로 전송하고
+ * 영속성 컨텍스트가 틱마다 커지지 않도록 한다.
+ */
+@Repository
+public class BatchPersister {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Autowired
+    private IngestProperties ingestProperties;
+    
+    public <T> int persistAll(List<T> entities) {
+        if (entities.isEmpty()) {
+            return 0;
+        }
+        
+        int batchSize = Math.max(1, ingestProperties.getBatchSize());
+        for (int i = 0; i < entities.size(); i++) {
+            entityManager.persist(entities.get(i));
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        
+        entityManager.flush();
+        entityManager.clear();
+        return entities.size();
+    }
+}
\ No newline at end of file
@@ -12,12 +12,7 @@ import java.util.List;
 @Repository
 public interface BusArrivalRepository extends JpaRepository<BusArrival, Long> {
     
-    @Query("SELECT ba FROM BusArrival ba WHERE ba.busStop.stopId = :stopId ORDER BY ba.estimatedTime ASC")
-    List<BusArrival> findByStopIdOrderByEstimatedTime(@Param("stopId") String stopId);
-    
-    @Query("SELECT ba FROM BusArrival ba WHERE ba.routeId = :routeId AND ba.busStop.stopId = :stopId")
-    List<BusArrival> findByRouteIdAndStopId(@Param("routeId") String routeId, @Param("stopId") String stopId);
-    
+    // 현재 도착정보는 CurrentBusArrivalRepository에서 조회하고, 이력 테이블은 기간 조회에만 사용
     @Query("SELECT ba FROM BusArrival ba WHERE ba.busStop.stopId = :stopId AND ba.lastUpdated > :since")
     List<BusArrival> findRecentArrivalsByStopId(@Param("stopId") String stopId, @Param("since") LocalDateTime since);
 }
\ No newline at end of file
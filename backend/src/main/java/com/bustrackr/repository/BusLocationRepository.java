@@ -16,11 +16,13 @@ public interface BusLocationRepository extends JpaRepository<BusLocation, Long>
     
     List<BusLocation> findByRouteIdAndLastUpdatedAfter(String routeId, LocalDateTime since);
     
-    @Query("SELECT bl FROM BusLocation bl WHERE bl.routeId = :routeId " +
-           "AND bl.lastUpdated = (SELECT MAX(bl2.lastUpdated) FROM BusLocation bl2 WHERE bl2.busId = bl.busId)")
-    List<BusLocation> findLatestLocationsByRoute(@Param("routeId") String routeId);
-    
-    @Query(value = "SELECT * FROM bus_locations bl WHERE bl.bus_id = :busId " +
-           "ORDER BY bl.last_updated DESC LIMIT 1", nativeQuery = true)
-    BusLocation findLatestLocationByBusId(@Param("busId") String busId);
+    // 버스별로 [from, until] 구간의 마지막 이력 (압축된 궤적을 구간 시작 시점으로 보간할 때 사용)
+    // 바깥 조회에도 시간 범위를 걸어 구간 밖 파티션과 이력 행을 읽지 않도록 함
+    @Query("SELECT l FROM BusLocation l WHERE l.routeId = :routeId " +
+           "AND l.lastUpdated BETWEEN :from AND :until AND l.lastUpdated = " +
+           "(SELECT MAX(p.lastUpdated) FROM BusLocation p WHERE p.busId = l.busId AND p.routeId = :routeId " +
+           "AND p.lastUpdated BETWEEN :from AND :until)")
+    List<BusLocation> findLastByRouteIdBetween(@Param("routeId") String routeId,
+                                               @Param("from") LocalDateTime from,
+                                               @Param("until") LocalDateTime until);
 }
\ No newline at end of file
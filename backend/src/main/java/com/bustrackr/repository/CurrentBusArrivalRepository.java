@@ -0,0 +1,16 @@
+package com.bustrackr.repository;
+
+import com.bustrackr.domain.CurrentBusArrival;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CurrentBusArrivalRepository extends JpaRepository<CurrentBusArrival, CurrentBusArrival.Key> {
+    
+    // PK (stopId, routeId, ordinal)의 앞부분이라 정류장 조회는 PK 인덱스 범위 스캔
+    List<CurrentBusArrival> findByStopIdOrderByEstimatedTimeAsc(String stopId);
+    
+    List<CurrentBusArrival> findByStopIdAndRouteIdOrderByOrdinalAsc(String stopId, String routeId);
+}
\ No newline at end of file
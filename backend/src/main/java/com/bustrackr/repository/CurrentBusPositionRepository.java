@@ -0,0 +1,28 @@
+package com.bustrackr.repository;
+
+import com.bustrackr.domain.CurrentBusPosition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CurrentBusPositionRepository extends JpaRepository<CurrentBusPosition, String> {
+    
+    List<CurrentBusPosition> findByRouteId(String routeId);
+    
+    // 이번 응답에 없는 (운행 종료된) 버스 정리
+    @Modifying
+    @Query("DELETE FROM CurrentBusPosition p WHERE p.routeId = :routeId AND p.busId NOT IN :busIds")
+    int deleteByRouteIdAndBusIdNotIn(@Param("routeId") String routeId, @Param("busIds") Collection<String> busIds);
+    
+    // 직전 수집과 내용이 같은 버스는 수신 시각만 갱신
+    @Modifying
+    @Query("UPDATE CurrentBusPosition p SET p.lastUpdated = :lastUpdated WHERE p.busId IN :busIds")
+    int touchAll(@Param("busIds") Collection<String> busIds, @Param("lastUpdated") LocalDateTime lastUpdated);
+}
\ No newline at end of file
@@ -0,0 +1,135 @@
+package com.bustrackr.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * 이력 테이블(bus_locations, bus_arrivals)의 일 단위 파티션 관리
+ * MySQL은 last_updated 기준 RANGE COLUMNS 파티션을 하루 하나씩 만들어 두고, 보존 기간이 지난 파티션은
+ * DROP PARTITION으로 행 수와 무관하게 통째로 지운다. last_updated 범위 조건이 있는 조회는 해당 파티션만 읽는다.
+ * 파티션을 지원하지 않는 DB(로컬 H2 메모리 DB)는 last_updated 범위 삭제로 대신한다.
+ */
+@Component
+public class HistoryPartitionManager {
+    
+    private static final Logger logger = LoggerFactory.getLogger(HistoryPartitionManager.class);
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMMdd");
+    private static final String MAX_PARTITION = "pmax";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    private volatile Boolean partitioned;
+    
+    /**
+     * 오늘부터 daysAhead일 뒤까지의 파티션 준비
+     * 아직 파티션이 없는 테이블은 convert가 true일 때만 전환한다 (테이블을 복사하는 ALTER라 수집 쓰기가 막힘).
+     */
+    public void prepare(String table, LocalDate today, int daysAhead, boolean convert) {
+        if (!supportsPartitioning()) {
+            return;
+        }
+        
+        LocalDate until = today.plusDays(daysAhead);
+        List<LocalDate> days = partitionDays(table);
+        if (days.isEmpty()) {
+            if (!convert) {
+                logger.warn("{} is not partitioned, so expired history is kept; "
+                    + "set bus.retention.convert-tables=true during maintenance to convert it", table);
+                return;
+            }
+            // 파티션 키는 모든 유니크 키에 포함되어야 하므로 PK를 (id, last_updated)로 변경
+            jdbcTemplate.execute("ALTER TABLE " + table + " DROP PRIMARY KEY, ADD PRIMARY KEY (id, last_updated)");
+            // 첫 파티션(어제)은 그 이전의 기존 행도 함께 담는다
+            jdbcTemplate.execute("ALTER TABLE " + table + " PARTITION BY RANGE COLUMNS(last_updated) ("
+                + partitionClauses(today.minusDays(1), until) + ")");
+            logger.info("Partitioned {} by day up to {}", table, until);
+            return;
+        }
+        
+        LocalDate last = days.get(days.size() - 1);
+        if (last.isBefore(until)) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " REORGANIZE PARTITION " + MAX_PARTITION + " INTO ("
+                + partitionClauses(last.plusDays(1), until) + ")");
+            logger.info("Added daily partitions to {} up to {}", table, until);
+        }
+    }
+    
+    /**
+     * cutoff 이전 날짜의 이력 삭제 (MySQL은 지운 파티션 수, 그 외는 지운 행 수)
+     */
+    public int dropBefore(String table, LocalDate cutoff) {
+        if (!supportsPartitioning()) {
+            return jdbcTemplate.update("DELETE FROM " + table + " WHERE last_updated < ?", cutoff.atStartOfDay());
+        }
+        
+        StringJoiner expired = new StringJoiner(", ");
+        int count = 0;
+        for (LocalDate day : partitionDays(table)) {
+            if (day.isBefore(cutoff)) {
+                expired.add(day.format(PARTITION_NAME));
+                count++;
+            }
+        }
+        if (count > 0) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " DROP PARTITION " + expired);
+        }
+        return count;
+    }
+    
+    public boolean supportsPartitioning() {
+        if (partitioned == null) {
+            String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            partitioned = "MySQL".equalsIgnoreCase(product);
+        }
+        return partitioned;
+    }
+    
+    // 날짜 파티션 목록 (오래된 순, pmax 제외)
+    private List<LocalDate> partitionDays(String table) {
+        List<String> names = jdbcTemplate.queryForList(
+            "SELECT PARTITION_NAME FROM information_schema.PARTITIONS "
+                + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL "
+                + "ORDER BY PARTITION_ORDINAL_POSITION",
+            String.class, table);
+        List<LocalDate> days = new ArrayList<>();
+        for (String name : names) {
+            LocalDate day = partitionDay(name);
+            if (day != null) {
+                days.add(day);
+            }
+        }
+        return days;
+    }
+    
+    // from ~ until 날짜 파티션과 마지막 MAXVALUE 파티션 정의
+    static String partitionClauses(LocalDate from, LocalDate until) {
+        StringJoiner clauses = new StringJoiner(", ");
+        for (LocalDate day = from; !day.isAfter(until); day = day.plusDays(1)) {
+            clauses.add("PARTITION " + day.format(PARTITION_NAME)
+                + " VALUES LESS THAN ('" + day.plusDays(1) + " 00:00:00')");
+        }
+        clauses.add("PARTITION " + MAX_PARTITION + " VALUES LESS THAN (MAXVALUE)");
+        return clauses.toString();
+    }
+    
+    static LocalDate partitionDay(String partitionName) {
+        try {
+            return LocalDate.parse(partitionName, PARTITION_NAME);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
\ No newline at end of file
@@ -1,79 +1,157 @@
 package com.bustrackr.scheduler;
 
-import com.bustrackr.domain.BusRoute;
-import com.bustrackr.repository.BusRouteRepository;
+import com.bustrackr.config.BusApiProperties;
+import com.bustrackr.config.SyncExecutorProperties;
+import com.bustrackr.domain.BusLocation;
 import com.bustrackr.service.BusDataSyncService;
-import com.bustrackr.service.BusLocationService;
 import com.bustrackr.service.BusArrivalService;
+import com.bustrackr.service.BusLocationService;
+import com.bustrackr.service.LocationWriteBehindQueue;
+import com.bustrackr.service.SubscriptionRegistry;
 import com.bustrackr.service.WebSocketNotificationService;
+import com.bustrackr.service.cache.PollingLeases;
+import com.bustrackr.service.external.CallNotPermittedException;
+import com.bustrackr.service.external.QuotaBudgetPlanner;
 import com.bustrackr.service.external.SeoulBusApiService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
 
 @Component
 public class BusDataScheduler {
     
     private static final Logger logger = LoggerFactory.getLogger(BusDataScheduler.class);
     
+    private static final Duration LOCATION_INTERVAL = Duration.ofSeconds(30);
+    private static final Duration ARRIVAL_INTERVAL = Duration.ofSeconds(60);
+    private static final int SLOTS = 30;
+    private static final long LOCATION_TICK = 1000;
+    private static final long ARRIVAL_TICK = 2000;
+    private static final Duration STATION_INTERVAL = Duration.ofHours(1);
+    private static final String[] MAJOR_AREAS = {"강남", "시청", "역삼", "광화문"};
+    
     @Autowired
     private BusDataSyncService busDataSyncService;
     
     @Autowired
-    private BusRouteRepository busRouteRepository;
+    private BusArrivalService busArrivalService;
     
     @Autowired
     private BusLocationService busLocationService;
     
-    @Autowired
-    private BusArrivalService busArrivalService;
-    
     @Autowired
     private WebSocketNotificationService webSocketNotificationService;
     
     @Autowired
     private SeoulBusApiService seoulBusApiService;
     
+    @Autowired
+    private BusApiProperties busApiProperties;
+    
+    @Autowired
+    private SubscriptionRegistry subscriptionRegistry;
+    
+    @Autowired
+    private QuotaBudgetPlanner quotaBudgetPlanner;
+    
+    @Autowired
+    private LocationWriteBehindQueue locationWriteBehindQueue;
+    
+    @Autowired
+    private SyncExecutor syncExecutor;
+    
+    @Autowired
+    private SyncExecutorProperties syncExecutorProperties;
+    
+    @Autowired
+    private PollingLeases pollingLeases;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private SlotSchedule locationSchedule;
+    private SlotSchedule arrivalSchedule;
+    
+    @PostConstruct
+    void initSchedules() {
+        locationSchedule = new SlotSchedule(SeoulBusApiService.LOCATIONS, LOCATION_INTERVAL, SLOTS, meterRegistry);
+        arrivalSchedule = new SlotSchedule(SeoulBusApiService.ARRIVALS, ARRIVAL_INTERVAL, SLOTS, meterRegistry);
+    }
+    
     /**
-     * 실시간 버스 위치 업데이트 (30초마다)
+     * 실시간 버스 위치 업데이트 (30초 주기)
+     * 노선을 1초 간격 슬롯 30개에 해시로 나눠, 매 틱에는 이번 슬롯의 노선만 수집한다 (부하를 주기 전체에 고르게 분산).
+     * HTTP 호출은 논블로킹으로 동시에 진행하고, 응답은 바로 브로드캐스트한 뒤 저장은 write-behind 큐에 넘김
+     * 응답 처리는 전용 동기화 실행기에서 하고, 노선별 마감 시간을 넘기면 그 노선만 취소한다.
+     * 일일 예산이 부족하면 QuotaBudgetPlanner가 주기를 늘려 일부 주기를 통째로 건너뛴다.
+     * 클러스터에서는 수집 임대를 잡은 노선만 수집하고, 전송은 중계를 거쳐 모든 노드의 구독자에게 간다.
      */
-    @Scheduled(fixedRate = 30000, initialDelay = 10000)
+    @Scheduled(fixedRate = LOCATION_TICK, initialDelay = 10000)
     public void updateBusLocations() {
-        if (!seoulBusApiService.isApiHealthy()) {
-            logger.warn("Seoul Bus API is not healthy, skipping location update");
+        // 구독자가 있는 노선 + 항상 수집할 노선만 조회
+        Set<String> activeRoutes = subscriptionRegistry.getPolledRoutes();
+        if (activeRoutes.isEmpty()) {
+            return;
+        }
+        
+        List<Integer> slots = locationSchedule.due(
+            () -> admitRun(SeoulBusApiService.LOCATIONS, activeRoutes.size(), LOCATION_INTERVAL));
+        List<String> routes = locationSchedule.select(activeRoutes, slots);
+        if (routes.isEmpty()) {
+            return;
+        }
+        
+        // 서킷 브레이커가 열려 있으면 타임아웃될 호출을 쌓지 않고 이번 슬롯은 건너뜀
+        if (!seoulBusApiService.isAvailable(SeoulBusApiService.LOCATIONS)) {
+            logger.debug("Seoul Bus API circuit is open, skipping location update for {} routes", routes.size());
             return;
         }
         
-        logger.debug("Starting scheduled bus location update");
+        // 다른 노드가 수집 중인 노선은 중계로 받은 결과를 쓰므로 건너뜀
+        routes = pollingLeases.claim(SeoulBusApiService.LOCATIONS, routes, LOCATION_INTERVAL);
+        if (routes.isEmpty()) {
+            return;
+        }
+        
+        logger.debug("Starting bus location update for slots {} ({} routes)", slots, routes.size());
         
         try {
-            List<BusRoute> routes = busRouteRepository.findAll();
-            
-            // 비동기로 각 노선의 버스 위치 업데이트
-            CompletableFuture<?>[] futures = routes.stream()
-                .map(route -> CompletableFuture.runAsync(() -> {
-                    try {
-                        // 데이터 동기화
-                        busDataSyncService.syncBusLocations(route.getRouteId());
+            Flux.fromIterable(routes)
+                .flatMap(routeId -> seoulBusApiService.fetchBusLocationsByRoute(routeId)
+                        .collectList()
+                        .publishOn(syncExecutor.scheduler())
+                        .doOnNext(positions -> {
+                            // 메모리 저장소에 먼저 반영하고 바로 전송 (DB 지연이 푸시 지연에 더해지지 않도록)
+                            // 빈 응답이라 저장소를 교체하지 않았으면 직전 수집의 delta가 남아 있으므로 보내지 않음
+                            List<BusLocation> locations = busDataSyncService.publishBusLocations(routeId, positions);
+                            if (!locations.isEmpty()) {
+                                webSocketNotificationService.broadcastBusLocations(routeId);
                         
-                        // WebSocket으로 실시간 전송
-                        var locations = busLocationService.getBusLocationsByRoute(route.getRouteId());
-                        if (!locations.isEmpty()) {
-                            webSocketNotificationService.broadcastBusLocations(route.getRouteId(), locations);
-                        }
-                        
-                    } catch (Exception e) {
-                        logger.error("Error updating locations for route: " + route.getRouteId(), e);
-                    }
-                }))
-                .toArray(CompletableFuture[]::new);
-                
-            CompletableFuture.allOf(futures).join();
+                                // 다른 노드용 공유 캐시 기록, DB 저장은 write-behind 큐가 모아서 처리 (큐가 가득 차면 여기서 잠시 대기)
+                                busLocationService.shareBusLocations(routeId);
+                                locationWriteBehindQueue.submit(routeId, locations);
+                            }
+                        })
+                        .timeout(jobTimeout())
+                        .onErrorResume(e -> {
+                            logApiError("locations for route", routeId, e);
+                            return Mono.empty();
+                        }),
+                    busApiProperties.getConcurrency().getLocations())
+                .then()
+                .block();
             
             logger.debug("Completed scheduled bus location update for {} routes", routes.size());
             
@@ -83,42 +161,58 @@ public class BusDataScheduler {
     }
     
     /**
-     * 버스 도착정보 업데이트 (1분마다)
+     * 버스 도착정보 업데이트 (1분 주기, 정류장을 2초 간격 슬롯 30개에 나눠 수집)
      */
-    @Scheduled(fixedRate = 60000, initialDelay = 15000)
+    @Scheduled(fixedRate = ARRIVAL_TICK, initialDelay = 15000)
     public void updateBusArrivals() {
-        if (!seoulBusApiService.isApiHealthy()) {
-            logger.warn("Seoul Bus API is not healthy, skipping arrival update");
+        // 구독자가 있는 정류장 + 항상 수집할 정류장만 조회
+        Set<String> activeStops = subscriptionRegistry.getPolledStops();
+        if (activeStops.isEmpty()) {
+            return;
+        }
+        
+        List<Integer> slots = arrivalSchedule.due(
+            () -> admitRun(SeoulBusApiService.ARRIVALS, activeStops.size(), ARRIVAL_INTERVAL));
+        List<String> activeStations = arrivalSchedule.select(activeStops, slots);
+        if (activeStations.isEmpty()) {
             return;
         }
         
-        logger.debug("Starting scheduled bus arrival update");
+        if (!seoulBusApiService.isAvailable(SeoulBusApiService.ARRIVALS)) {
+            logger.debug("Seoul Bus API circuit is open, skipping arrival update for {} stations", activeStations.size());
+            return;
+        }
+        
+        activeStations = pollingLeases.claim(SeoulBusApiService.ARRIVALS, activeStations, ARRIVAL_INTERVAL);
+        if (activeStations.isEmpty()) {
+            return;
+        }
+        
+        logger.debug("Starting bus arrival update for slots {} ({} stations)", slots, activeStations.size());
         
         try {
-            // 활성 정류장들의 도착정보 업데이트 (예시로 샘플 데이터의 정류장들)
-            String[] activeStations = {"23001", "23002", "23003", "23004"};
-            
-            CompletableFuture<?>[] futures = java.util.Arrays.stream(activeStations)
-                .map(stationId -> CompletableFuture.runAsync(() -> {
-                    try {
-                        // 데이터 동기화
-                        busDataSyncService.syncBusArrivals(stationId);
-                        
-                        // WebSocket으로 실시간 전송
-                        var arrivals = busArrivalService.getArrivalsByStopId(stationId);
-                        if (!arrivals.isEmpty()) {
-                            webSocketNotificationService.broadcastBusArrivals(stationId, arrivals);
-                        }
+            Flux.fromIterable(activeStations)
+                .flatMap(stationId -> seoulBusApiService.fetchArrivalsByStation(stationId)
+                        .collectList()
+                        .publishOn(syncExecutor.scheduler())
+                        .doOnNext(arrivalInfos -> {
+                            // 데이터 동기화
+                            busDataSyncService.syncBusArrivals(stationId, arrivalInfos);
                         
-                    } catch (Exception e) {
-                        logger.error("Error updating arrivals for station: " + stationId, e);
-                    }
-                }))
-                .toArray(CompletableFuture[]::new);
-                
-            CompletableFuture.allOf(futures).join();
+                            // WebSocket으로 실시간 전송 (직렬화 결과는 REST 조회, 다른 노드와 공유)
+                            webSocketNotificationService.broadcastBusArrivals(
+                                stationId, busArrivalService.shareArrivals(stationId));
+                        })
+                        .timeout(jobTimeout())
+                        .onErrorResume(e -> {
+                            logApiError("arrivals for station", stationId, e);
+                            return Mono.empty();
+                        }),
+                    busApiProperties.getConcurrency().getArrivals())
+                .then()
+                .block();
             
-            logger.debug("Completed scheduled bus arrival update for {} stations", activeStations.length);
+            logger.debug("Completed scheduled bus arrival update for {} stations", activeStations.size());
             
         } catch (Exception e) {
             logger.error("Error in scheduled bus arrival update", e);
@@ -130,25 +224,39 @@ public class BusDataScheduler {
      */
     @Scheduled(fixedRate = 3600000, initialDelay = 5000)
     public void syncStationData() {
-        if (!seoulBusApiService.isApiHealthy()) {
-            logger.warn("Seoul Bus API is not healthy, skipping station sync");
+        if (!seoulBusApiService.isAvailable(SeoulBusApiService.STATIONS)) {
+            logger.warn("Seoul Bus API circuit is open, skipping station sync");
+            return;
+        }
+        
+        List<String> areas = pollingLeases.claim(SeoulBusApiService.STATIONS, List.of(MAJOR_AREAS), STATION_INTERVAL);
+        if (areas.isEmpty()) {
+            logger.debug("Station sync is owned by another node");
+            return;
+        }
+        
+        if (!quotaBudgetPlanner.tryStartRun(SeoulBusApiService.STATIONS, areas.size(), STATION_INTERVAL)) {
+            logger.info("Station sync deferred by quota budget");
             return;
         }
         
         logger.info("Starting scheduled station data sync");
         
         try {
-            // 주요 지역의 정류장 정보 동기화
-            String[] majorAreas = {"강남", "시청", "역삼", "광화문"};
-            
-            for (String area : majorAreas) {
-                try {
-                    busDataSyncService.syncBusStations(area);
-                    Thread.sleep(1000); // API 호출 간격 조절
-                } catch (Exception e) {
-                    logger.error("Error syncing stations for area: " + area, e);
-                }
-            }
+            // 주요 지역의 정류장 정보 동기화 (호출 간격은 공용 토큰 버킷이 조절)
+            Flux.fromIterable(areas)
+                .flatMap(area -> seoulBusApiService.fetchStationsByName(area)
+                        .collectList()
+                        .publishOn(syncExecutor.scheduler())
+                        .doOnNext(stations -> busDataSyncService.syncBusStations(area, stations))
+                        .timeout(jobTimeout())
+                        .onErrorResume(e -> {
+                            logApiError("stations for area", area, e);
+                            return Mono.empty();
+                        }),
+                    busApiProperties.getConcurrency().getStations())
+                .then()
+                .block();
             
             logger.info("Completed scheduled station data sync");
             
@@ -158,16 +266,45 @@ public class BusDataScheduler {
     }
     
     /**
-     * API 상태 확인 (5분마다)
+     * API 상태 기록 (5분마다, 호출 없이 서킷 브레이커 상태만 확인)
      */
     @Scheduled(fixedRate = 300000, initialDelay = 0)
     public void checkApiHealth() {
         boolean isHealthy = seoulBusApiService.isApiHealthy();
         
         if (!isHealthy) {
-            logger.warn("Seoul Bus API health check failed");
+            logger.warn("Seoul Bus API circuit breakers: {}", seoulBusApiService.getCircuitBreakerSnapshots());
+        } else {
+            logger.debug("Seoul Bus API circuit breakers are closed");
+        }
+    }
+    
+    // 주기가 시작될 때 한 주기 분량의 호출을 예산에서 허용받음 (거절되면 그 주기는 건너뜀)
+    private boolean admitRun(String job, int callsPerRun, Duration interval) {
+        if (quotaBudgetPlanner.tryStartRun(job, callsPerRun, interval)) {
+            return true;
+        }
+        logger.debug("{} update deferred by quota budget (interval {}s)",
+            job, quotaBudgetPlanner.plannedInterval(job).toSeconds());
+        return false;
+    }
+    
+    // 노선/정류장 하나의 조회와 동기화 마감 시간 (넘기면 기다리지 않고 다음 주기에 다시 수집)
+    // 취소는 구독만 끊으므로 HTTP 호출과 실행 대기 중인 동기화는 멈추지만, 실행 중인 DB 반영은 끝까지 실행됨
+    private Duration jobTimeout() {
+        return Duration.ofMillis(syncExecutorProperties.getJobTimeout());
+    }
+    
+    // 도중에 서킷이 열려 거절된 호출은 오류로 남기지 않음
+    private void logApiError(String target, String id, Throwable e) {
+        if (e instanceof CallNotPermittedException) {
+            logger.debug("Skipped {} {}: {}", target, id, e.getMessage());
+        } else if (e instanceof TimeoutException) {
+            logger.warn("Stopped waiting for {} {} after {}ms deadline", target, id, syncExecutorProperties.getJobTimeout());
+        } else if (e instanceof RejectedExecutionException) {
+            logger.warn("Skipped {} {}: sync executor is saturated", target, id);
         } else {
-            logger.debug("Seoul Bus API health check passed");
+            logger.error("Error updating " + target + ": " + id, e);
         }
     }
 }
\ No newline at end of file
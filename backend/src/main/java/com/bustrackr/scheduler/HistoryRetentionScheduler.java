@@ -0,0 +1,96 @@
+package com.bustrackr.scheduler;
+
+import com.bustrackr.config.RetentionProperties;
+import com.bustrackr.repository.HistoryPartitionManager;
+import com.bustrackr.service.cache.PollingLeases;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class HistoryRetentionScheduler {
+    
+    private static final Logger logger = LoggerFactory.getLogger(HistoryRetentionScheduler.class);
+    private static final String LEASE_JOB = "retention";
+    private static final String LEASE_KEY = "history";
+    // 임대는 이 주기의 두 배 동안 유지되므로 오래 걸리는 ALTER 도중 다른 노드가 넘겨받지 않음
+    private static final Duration LEASE_INTERVAL = Duration.ofMinutes(30);
+    
+    @Autowired
+    private HistoryPartitionManager historyPartitionManager;
+    
+    @Autowired
+    private RetentionProperties retentionProperties;
+    
+    @Autowired
+    private PollingLeases pollingLeases;
+    
+    public HistoryRetentionScheduler() {}
+    
+    HistoryRetentionScheduler(HistoryPartitionManager historyPartitionManager, RetentionProperties retentionProperties,
+                              PollingLeases pollingLeases) {
+        this.historyPartitionManager = historyPartitionManager;
+        this.retentionProperties = retentionProperties;
+        this.pollingLeases = pollingLeases;
+    }
+    
+    /**
+     * 기동 직후 한 번 실행 (스키마 생성 후 파티션 준비, 파티션이 없는 테이블 전환은 convert-tables가 켜졌을 때만)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        applyRetention();
+    }
+    
+    /**
+     * 이력 파티션 준비 및 보존 기간 지난 데이터 삭제 (매일 00:10)
+     * 클러스터에서는 임대를 잡은 노드 하나만 실행한다 (같은 테이블에 ALTER가 겹치지 않도록).
+     */
+    @Scheduled(cron = "0 10 0 * * *")
+    public void applyRetention() {
+        if (!retentionProperties.isEnabled()) {
+            return;
+        }
+        if (pollingLeases.claim(LEASE_JOB, List.of(LEASE_KEY), LEASE_INTERVAL).isEmpty()) {
+            logger.debug("History retention is running on another node");
+            return;
+        }
+        
+        try {
+            expireHistory();
+        } finally {
+            pollingLeases.release(LEASE_JOB, LEASE_KEY);
+        }
+    }
+    
+    private void expireHistory() {
+        Map<String, Integer> tables = new LinkedHashMap<>();
+        tables.put("bus_locations", retentionProperties.getLocationHistoryDays());
+        tables.put("bus_arrivals", retentionProperties.getArrivalHistoryDays());
+        
+        LocalDate today = LocalDate.now();
+        tables.forEach((table, days) -> {
+            try {
+                historyPartitionManager.prepare(table, today, retentionProperties.getPrecreateDays(),
+                    retentionProperties.isConvertTables());
+                int dropped = historyPartitionManager.dropBefore(table, today.minusDays(days));
+                if (dropped > 0) {
+                    logger.info("Expired {} history older than {} days ({} {})", table, days, dropped,
+                        historyPartitionManager.supportsPartitioning() ? "partitions" : "rows");
+                }
+            } catch (Exception e) {
+                logger.error("Error applying retention to " + table, e);
+            }
+        });
+    }
+}
\ No newline at end of file
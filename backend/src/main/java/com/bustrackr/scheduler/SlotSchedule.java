@@ -0,0 +1,141 @@
+package com.bustrackr.scheduler;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * 주기를 슬롯으로 나누고 키(노선/정류장 ID)를 해시로 슬롯에 배치하는 폴링 일정
+ * 틱마다 지난 틱 이후 시작된 슬롯만 돌려주므로 틱이 밀려도 각 키는 주기마다 한 번씩만 처리된다 (한 주기 넘게 밀리면 최근 한 주기분만).
+ * 주기가 바뀔 때마다 admit으로 실행 여부(호출 예산)를 묻고, 거절되면 그 주기의 남은 슬롯은 건너뛴다.
+ */
+public class SlotSchedule {
+    
+    private static final String METRIC_PREFIX = "bus.polling.slot";
+    
+    private final int slots;
+    private final long slotMillis;
+    private final LongSupplier clock;
+    private final Timer lag;
+    
+    private long lastSlot = -1;
+    private long checkedPeriod = -1;
+    private boolean admitted;
+    private int[] occupancy;
+    
+    public SlotSchedule(String name, Duration period, int slots, MeterRegistry meterRegistry) {
+        this(name, period, slots, meterRegistry, System::currentTimeMillis);
+    }
+    
+    SlotSchedule(String name, Duration period, int slots, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.slots = slots;
+        this.slotMillis = Math.max(1, period.toMillis() / slots);
+        this.clock = clock;
+        this.occupancy = new int[slots];
+        
+        this.lag = Timer.builder(METRIC_PREFIX + ".lag")
+            .description("Delay between a slot's start and its dispatch")
+            .tag("schedule", name)
+            .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".keys", this, SlotSchedule::getKeyCount)
+            .description("Keys spread across the schedule")
+            .tag("schedule", name)
+            .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".max-occupancy", this, SlotSchedule::getMaxOccupancy)
+            .description("Keys in the busiest slot")
+            .tag("schedule", name)
+            .register(meterRegistry);
+    }
+    
+    /**
+     * 키가 속한 슬롯 (같은 키는 항상 같은 슬롯)
+     */
+    public int slotOf(String key) {
+        // String.hashCode는 비슷한 ID끼리 값이 몰리므로 섞은 뒤 나눔
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return Math.floorMod(hash, slots);
+    }
+    
+    /**
+     * 지난 호출 이후 시작된 슬롯 번호 목록 (처음 호출이면 현재 슬롯만)
+     * 슬롯 시작부터 지금까지의 지연을 슬롯마다 기록한다.
+     */
+    public synchronized List<Integer> due(BooleanSupplier admit) {
+        long now = clock.getAsLong();
+        long current = Math.floorDiv(now, slotMillis);
+        long from = lastSlot < 0 ? current : Math.max(lastSlot + 1, current - slots + 1);
+        lastSlot = Math.max(lastSlot, current);
+        
+        List<Integer> due = new ArrayList<>();
+        for (long slot = from; slot <= current; slot++) {
+            long period = Math.floorDiv(slot, slots);
+            if (period != checkedPeriod) {
+                checkedPeriod = period;
+                admitted = admit.getAsBoolean();
+            }
+            if (admitted) {
+                due.add((int) Math.floorMod(slot, slots));
+                lag.record(now - slot * slotMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        return due;
+    }
+    
+    /**
+     * 주어진 슬롯에 속한 키만 골라냄 (전체 키로 슬롯별 점유 수도 갱신)
+     */
+    public synchronized List<String> select(Collection<String> keys, List<Integer> dueSlots) {
+        boolean[] isDue = new boolean[slots];
+        for (int slot : dueSlots) {
+            isDue[slot] = true;
+        }
+        
+        int[] counts = new int[slots];
+        List<String> selected = new ArrayList<>();
+        for (String key : keys) {
+            int slot = slotOf(key);
+            counts[slot]++;
+            if (isDue[slot]) {
+                selected.add(key);
+            }
+        }
+        occupancy = counts;
+        return selected;
+    }
+    
+    /**
+     * 마지막 select 기준 슬롯별 키 수
+     */
+    public synchronized int[] getOccupancy() {
+        return occupancy.clone();
+    }
+    
+    public synchronized int getKeyCount() {
+        int total = 0;
+        for (int count : occupancy) {
+            total += count;
+        }
+        return total;
+    }
+    
+    public synchronized int getMaxOccupancy() {
+        int max = 0;
+        for (int count : occupancy) {
+            max = Math.max(max, count);
+        }
+        return max;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,168 @@
+package com.bustrackr.scheduler;
+
+import com.bustrackr.config.SyncExecutorProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 스케줄러의 블로킹 동기화 작업(DB 반영) 전용 실행기
+ * 공용 풀(boundedElastic, ForkJoinPool)과 분리해 노선 수가 늘어도 다른 작업이 굶지 않게 한다.
+ * VIRTUAL 모드는 작업마다 가상 스레드를 쓰고, 동시 실행 수는 풀 크기가 아니라 세마포어로 제한한다.
+ * 가상 스레드가 없는 JVM(Java 17)에서는 max-concurrency 크기의 고정 플랫폼 스레드 풀로 대체한다.
+ */
+@Component
+public class SyncExecutor implements Executor {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SyncExecutor.class);
+    private static final String METRIC_PREFIX = "bus.sync.executor";
+    
+    @Autowired
+    private SyncExecutorProperties syncExecutorProperties;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    
+    private ExecutorService delegate;
+    private Semaphore permits;
+    private Scheduler scheduler;
+    private Counter rejected;
+    private boolean virtual;
+    
+    public SyncExecutor() {}
+    
+    SyncExecutor(SyncExecutorProperties syncExecutorProperties, MeterRegistry meterRegistry) {
+        this.syncExecutorProperties = syncExecutorProperties;
+        this.meterRegistry = meterRegistry;
+        start();
+    }
+    
+    @PostConstruct
+    void start() {
+        int limit = Math.max(1, syncExecutorProperties.getMaxConcurrency());
+        permits = new Semaphore(limit);
+        delegate = createDelegate(limit);
+        scheduler = Schedulers.fromExecutor(this);
+        
+        Gauge.builder(METRIC_PREFIX + ".active", inFlight, AtomicInteger::get)
+            .description("Sync tasks currently running")
+            .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".queued", queued, AtomicInteger::get)
+            .description("Sync tasks waiting for a concurrency permit")
+            .register(meterRegistry);
+        rejected = Counter.builder(METRIC_PREFIX + ".rejected")
+            .description("Sync tasks rejected because the queue was full")
+            .register(meterRegistry);
+        
+        logger.info("Sync executor started ({} threads, max concurrency {})", virtual ? "virtual" : "platform", limit);
+    }
+    
+    @PreDestroy
+    void stop() throws InterruptedException {
+        scheduler.dispose();
+        delegate.shutdown();
+        if (!delegate.awaitTermination(10, TimeUnit.SECONDS)) {
+            delegate.shutdownNow();
+        }
+    }
+    
+    /**
+     * 작업 제출 (대기 작업이 queue-capacity에 이르면 RejectedExecutionException)
+     */
+    @Override
+    public void execute(Runnable task) {
+        if (queued.incrementAndGet() > syncExecutorProperties.getQueueCapacity()) {
+            queued.decrementAndGet();
+            rejected.increment();
+            throw new RejectedExecutionException("Sync executor queue is full");
+        }
+        
+        try {
+            delegate.execute(() -> runWithPermit(task));
+        } catch (RejectedExecutionException e) {
+            queued.decrementAndGet();
+            rejected.increment();
+            throw e;
+        }
+    }
+    
+    /**
+     * publishOn에 넘길 Reactor 스케줄러
+     */
+    public Scheduler scheduler() {
+        return scheduler;
+    }
+    
+    public int getActiveCount() {
+        return inFlight.get();
+    }
+    
+    public int getQueuedCount() {
+        return queued.get();
+    }
+    
+    public boolean isVirtual() {
+        return virtual;
+    }
+    
+    private void runWithPermit(Runnable task) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            queued.decrementAndGet();
+            Thread.currentThread().interrupt();
+            return;
+        }
+        
+        queued.decrementAndGet();
+        inFlight.incrementAndGet();
+        try {
+            task.run();
+        } finally {
+            inFlight.decrementAndGet();
+            permits.release();
+        }
+    }
+    
+    // 빌드 대상이 Java 17이므로 가상 스레드 실행기는 실행 중인 JVM에 있을 때만 리플렉션으로 생성
+    private ExecutorService createDelegate(int limit) {
+        if (syncExecutorProperties.getMode() == SyncExecutorProperties.Mode.VIRTUAL) {
+            try {
+                ExecutorService executor = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+                virtual = true;
+                return executor;
+            } catch (ReflectiveOperationException e) {
+                logger.info("Virtual threads are not available on Java {}, using platform threads",
+                    Runtime.version().feature());
+            }
+        }
+        
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(limit, runnable -> {
+            Thread thread = new Thread(runnable, "bus-sync-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
\ No newline at end of file
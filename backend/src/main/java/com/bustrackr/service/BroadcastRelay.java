@@ -0,0 +1,101 @@
+package com.bustrackr.service;
+
+import com.bustrackr.config.CacheProperties;
+import com.bustrackr.config.ClusterProperties;
+import com.bustrackr.dto.SerializedPayload;
+import com.bustrackr.service.cache.ClusterEventBus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 토픽 브로드캐스트 중계
+ * relay=redis면 메시지를 클러스터 채널로 발행하고, 모든 노드(발행한 노드 포함)가 받아 자기 세션의 구독자에게 보낸다.
+ * relay=none/stomp면 브로커로 바로 보낸다 (stomp는 외부 브로커가 모든 노드로 퍼뜨림).
+ */
+@Component
+public class BroadcastRelay {
+    
+    private static final Logger logger = LoggerFactory.getLogger(BroadcastRelay.class);
+    
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+    
+    @Autowired
+    private ClusterEventBus clusterEventBus;
+    
+    @Autowired
+    private ClusterProperties clusterProperties;
+    
+    @Autowired
+    private CacheProperties cacheProperties;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    public BroadcastRelay() {}
+    
+    BroadcastRelay(SimpMessagingTemplate messagingTemplate, ClusterEventBus clusterEventBus,
+                   ClusterProperties clusterProperties, CacheProperties cacheProperties, ObjectMapper objectMapper) {
+        this.messagingTemplate = messagingTemplate;
+        this.clusterEventBus = clusterEventBus;
+        this.clusterProperties = clusterProperties;
+        this.cacheProperties = cacheProperties;
+        this.objectMapper = objectMapper;
+        init();
+    }
+    
+    @PostConstruct
+    void init() {
+        if (clusterProperties.getRelay() == ClusterProperties.Relay.REDIS) {
+            clusterEventBus.subscribe(channel(), this::deliver);
+        }
+    }
+    
+    /**
+     * 토픽 구독자 전체에게 전송 (클러스터면 다른 노드에 연결된 구독자 포함)
+     */
+    public void send(String destination, Object payload) {
+        if (clusterProperties.getRelay() != ClusterProperties.Relay.REDIS) {
+            messagingTemplate.convertAndSend(destination, payload);
+            return;
+        }
+        // 메시지 형식: 목적지 + 줄바꿈 + JSON 본문 (목적지에는 줄바꿈이 없음)
+        clusterEventBus.publish(channel(), destination + "\n" + toJson(payload));
+    }
+    
+    // 받은 JSON은 다시 직렬화하지 않고 그대로 이 노드의 구독자에게 보냄
+    private void deliver(String message) {
+        int separator = message.indexOf('\n');
+        if (separator < 0) {
+            logger.warn("Ignoring malformed relay message ({} chars)", message.length());
+            return;
+        }
+        String destination = message.substring(0, separator);
+        byte[] json = message.substring(separator + 1).getBytes(StandardCharsets.UTF_8);
+        messagingTemplate.convertAndSend(destination, new SerializedPayload(0, json));
+    }
+    
+    private String toJson(Object payload) {
+        if (payload instanceof SerializedPayload serialized) {
+            return new String(serialized.json(), StandardCharsets.UTF_8);
+        }
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private String channel() {
+        return cacheProperties.getKeyPrefix() + ":broadcast";
+    }
+}
\ No newline at end of file
@@ -1,10 +1,15 @@
 package com.bustrackr.service;
 
 import com.bustrackr.domain.BusArrival;
+import com.bustrackr.domain.CurrentBusArrival;
 import com.bustrackr.dto.BusArrivalResponse;
+import com.bustrackr.dto.SerializedPayload;
 import com.bustrackr.repository.BusArrivalRepository;
+import com.bustrackr.repository.CurrentBusArrivalRepository;
+import com.bustrackr.service.cache.SharedSnapshotCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -16,15 +21,53 @@ public class BusArrivalService {
     @Autowired
     private BusArrivalRepository busArrivalRepository;
     
+    @Autowired
+    private CurrentBusArrivalRepository currentBusArrivalRepository;
+    
+    @Autowired
+    private SerializedPayloadCache serializedPayloadCache;
+    
+    @Autowired
+    private SharedSnapshotCache sharedSnapshotCache;
+    
+    @Autowired
+    private SubscriptionRegistry subscriptionRegistry;
+    
+    /**
+     * 정류장의 현재 도착정보 (이력 테이블이 아닌 정류장별 스냅샷에서 조회)
+     */
     public List<BusArrivalResponse> getArrivalsByStopId(String stopId) {
-        List<BusArrival> arrivals = busArrivalRepository.findByStopIdOrderByEstimatedTime(stopId);
+        List<CurrentBusArrival> arrivals = currentBusArrivalRepository.findByStopIdOrderByEstimatedTimeAsc(stopId);
         return arrivals.stream()
                 .map(BusArrivalResponse::new)
                 .collect(Collectors.toList());
     }
     
+    /**
+     * 정류장 도착정보의 직렬화 결과
+     * 이 노드가 수집하는 정류장은 동기화 후 첫 조회에서만 DB 조회와 직렬화하고, 그 외 정류장은 공유 캐시를 먼저 읽음
+     */
+    public SerializedPayload getArrivalsPayload(String stopId) {
+        if (!subscriptionRegistry.isStopPolled(stopId)) {
+            SerializedPayload shared = sharedSnapshotCache.getStopArrivals(stopId);
+            if (shared != null) {
+                return shared;
+            }
+        }
+        return serializedPayloadCache.getStopArrivals(stopId, () -> getArrivalsByStopId(stopId));
+    }
+    
+    /**
+     * 동기화한 정류장 도착정보를 공유 캐시에 기록 (다른 노드가 DB 대신 읽도록)
+     */
+    public SerializedPayload shareArrivals(String stopId) {
+        SerializedPayload payload = serializedPayloadCache.getStopArrivals(stopId, () -> getArrivalsByStopId(stopId));
+        sharedSnapshotCache.putStopArrivals(stopId, payload);
+        return payload;
+    }
+    
     public List<BusArrivalResponse> getArrivalsByRouteAndStop(String routeId, String stopId) {
-        List<BusArrival> arrivals = busArrivalRepository.findByRouteIdAndStopId(routeId, stopId);
+        List<CurrentBusArrival> arrivals = currentBusArrivalRepository.findByStopIdAndRouteIdOrderByOrdinalAsc(stopId, routeId);
         return arrivals.stream()
                 .map(BusArrivalResponse::new)
                 .collect(Collectors.toList());
@@ -38,8 +81,19 @@ public class BusArrivalService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional
     public void saveBusArrival(BusArrival busArrival) {
         busArrival.setLastUpdated(LocalDateTime.now());
         busArrivalRepository.save(busArrival);
+        
+        // 단건 저장은 노선의 첫 번째 버스로 취급
+        String stopId = busArrival.getBusStop().getStopId();
+        CurrentBusArrival current = currentBusArrivalRepository
+                .findById(new CurrentBusArrival.Key(stopId, busArrival.getRouteId(), 1))
+                .orElseGet(() -> new CurrentBusArrival(stopId, busArrival.getRouteId(), 1));
+        long version = current.getSnapshotVersion() != null ? current.getSnapshotVersion() + 1 : 1;
+        current.updateFrom(busArrival, busArrival.getBusStop().getStopName(), version);
+        currentBusArrivalRepository.save(current);
+        serializedPayloadCache.invalidateStop(stopId);
     }
 }
\ No newline at end of file
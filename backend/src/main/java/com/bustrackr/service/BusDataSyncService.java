@@ -1,27 +1,35 @@
 package com.bustrackr.service;
 
 import com.bustrackr.domain.*;
+import com.bustrackr.dto.BusLocationResponse;
+import com.bustrackr.dto.BusStopSearchResponse;
 import com.bustrackr.dto.external.*;
 import com.bustrackr.repository.*;
-import com.bustrackr.service.external.SeoulBusApiService;
+import com.bustrackr.service.search.BusStopSearchIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class BusDataSyncService {
     
     private static final Logger logger = LoggerFactory.getLogger(BusDataSyncService.class);
     
-    @Autowired
-    private SeoulBusApiService seoulBusApiService;
-    
     @Autowired
     private BusStopRepository busStopRepository;
     
@@ -34,18 +42,55 @@ public class BusDataSyncService {
     @Autowired
     private BusRouteRepository busRouteRepository;
     
+    @Autowired
+    private CurrentBusPositionRepository currentBusPositionRepository;
+    
+    @Autowired
+    private CurrentBusArrivalRepository currentBusArrivalRepository;
+    
+    @Autowired
+    private BatchPersister batchPersister;
+    
+    @Autowired
+    private LiveBusStateStore liveBusStateStore;
+    
+    @Autowired
+    private BusStopSpatialIndex busStopSpatialIndex;
+    
+    @Autowired
+    private BusStopSearchIndex busStopSearchIndex;
+    
+    @Autowired
+    private SerializedPayloadCache serializedPayloadCache;
+    
+    @Autowired
+    private IngestFingerprints ingestFingerprints;
+    
+    @Autowired
+    private TrajectoryCompressor trajectoryCompressor;
+    
+    @Autowired
+    private StaticDataCache staticDataCache;
+    
     /**
      * 정류장 정보 동기화
      */
     @Transactional
-    public void syncBusStations(String stationName) {
+    public void syncBusStations(String stationName, List<SeoulStation> stations) {
         logger.info("Syncing bus stations for: {}", stationName);
         
         try {
-            List<SeoulBusStationInfo> stations = seoulBusApiService.getStationsByName(stationName);
+            // 커밋 후 바뀐 정류장/구역 키만 모든 노드의 정적 데이터 캐시에서 무효화
+            Set<String> stopIds = new LinkedHashSet<>();
+            Set<String> districts = new LinkedHashSet<>();
+            runAfterCommit(() -> staticDataCache.invalidateStops(stopIds, districts));
             
-            for (SeoulBusStationInfo stationInfo : stations) {
-                syncSingleBusStation(stationInfo);
+            for (SeoulStation station : stations) {
+                BusStop saved = syncSingleBusStation(station);
+                stopIds.add(saved.getStopId());
+                if (saved.getDistrict() != null) {
+                    districts.add(saved.getDistrict());
+                }
             }
             
             logger.info("Successfully synced {} stations", stations.size());
@@ -58,175 +103,265 @@ public class BusDataSyncService {
     /**
      * 단일 정류장 정보 동기화
      */
-    private void syncSingleBusStation(SeoulBusStationInfo stationInfo) {
-        Optional<BusStop> existingStop = busStopRepository.findById(stationInfo.getStId());
+    private BusStop syncSingleBusStation(SeoulStation station) {
+        Optional<BusStop> existingStop = busStopRepository.findById(station.stationId());
         
         BusStop busStop;
         if (existingStop.isPresent()) {
             busStop = existingStop.get();
         } else {
             busStop = new BusStop();
-            busStop.setStopId(stationInfo.getStId());
+            busStop.setStopId(station.stationId());
         }
         
-        busStop.setStopName(stationInfo.getStNm());
-        busStop.setDirection(stationInfo.getDirection());
+        busStop.setStopName(station.stationName());
+        busStop.setDirection(station.direction());
+        
+        // 좌표 (GPS 좌표를 파싱 시점에 double로 변환해 둠)
+        if (station.hasCoordinates()) {
+            busStop.setLatitude(station.latitude());
+            busStop.setLongitude(station.longitude());
+        } else {
+            logger.warn("Invalid coordinates for station: {}", station.stationId());
+        }
         
-        // 좌표 변환 (서울시 API는 TM 좌표계 사용)
-        if (stationInfo.getPosX() != null && stationInfo.getPosY() != null) {
-            try {
-                busStop.setLatitude(Double.parseDouble(stationInfo.getPosY()));
-                busStop.setLongitude(Double.parseDouble(stationInfo.getPosX()));
-            } catch (NumberFormatException e) {
-                logger.warn("Invalid coordinates for station: {}", stationInfo.getStId());
+        BusStop saved = busStopRepository.save(busStop);
+        runAfterCommit(() -> {
+            busStopSpatialIndex.upsert(saved);
+            busStopSearchIndex.upsert(saved);
+        });
+        return saved;
+    }
+    
+    /**
+     * 특정 노선의 실시간 버스 위치를 메모리 저장소에 바로 반영 (DB 저장은 LocationWriteBehindQueue가 따로 처리)
+     * @return 저장할 위치 목록 (빈 응답이면 기존 위치를 유지하고 빈 목록)
+     */
+    public List<BusLocation> publishBusLocations(String routeId, List<SeoulBusPosition> positions) {
+        List<BusLocation> busLocations = new ArrayList<>(positions.size());
+        for (SeoulBusPosition position : positions) {
+            BusLocation busLocation = toBusLocation(position);
+            if (busLocation != null) {
+                busLocations.add(busLocation);
             }
         }
+        if (busLocations.isEmpty()) {
+            // 빈 응답은 API 오류일 수도 있으므로 기존 위치를 유지
+            logger.debug("Empty bus location response for route {}, keeping previous state", routeId);
+            return busLocations;
+        }
         
-        busStopRepository.save(busStop);
+        List<BusLocationResponse> snapshot = busLocations.stream()
+            .map(BusLocationResponse::new)
+            .collect(Collectors.toList());
+        liveBusStateStore.replaceRoute(routeId, snapshot);
+        return busLocations;
     }
     
     /**
-     * 특정 노선의 실시간 버스 위치 동기화
+     * 여러 노선의 위치를 한 트랜잭션으로 저장 (write-behind 큐의 한 묶음)
+     * 직전 수집과 지문이 같은 차량은 이력 행을 만들지 않고 최신 위치의 수신 시각만 갱신
+     * 궤적 압축을 켜면 이력 행은 압축기가 남긴 점만 저장하고, 모든 노선의 이력 행을 모아 한 번에 배치 insert
      */
     @Transactional
-    public void syncBusLocations(String routeId) {
-        logger.debug("Syncing bus locations for route: {}", routeId);
-        
-        try {
-            List<SeoulBusLocationInfo> locations = seoulBusApiService.getBusLocationsByRoute(routeId);
+    public void persistBusLocations(Map<String, List<BusLocation>> routes) {
+        List<BusLocation> history = new ArrayList<>();
+        for (Map.Entry<String, List<BusLocation>> entry : routes.entrySet()) {
+            String routeId = entry.getKey();
+            List<BusLocation> busLocations = entry.getValue();
             
-            for (SeoulBusLocationInfo locationInfo : locations) {
-                syncSingleBusLocation(locationInfo);
-            }
-            
-            logger.debug("Successfully synced {} bus locations for route {}", locations.size(), routeId);
+            IngestFingerprints.Diff diff = ingestFingerprints.diff(routeId, busLocations);
+            // 압축을 켜면 정차 구간 판단을 위해 바뀌지 않은 차량도 압축기에 넣고, 궤적 복원에 필요한 점만 저장
+            TrajectoryCompressor.Plan plan = trajectoryCompressor.isEnabled()
+                ? trajectoryCompressor.plan(routeId, busLocations)
+                : null;
+            history.addAll(plan != null ? plan.kept() : diff.changed());
+            upsertCurrentPositions(routeId, busLocations, diff);
+            runAfterCommit(() -> {
+                ingestFingerprints.commit(diff);
+                if (plan != null) {
+                    trajectoryCompressor.commit(plan);
+                }
+            });
+        }
             
-        } catch (Exception e) {
-            logger.error("Error syncing bus locations for route: " + routeId, e);
+        int saved = batchPersister.persistAll(history);
+        logger.debug("Persisted bus locations for {} routes ({} history rows)", routes.size(), saved);
+    }
+    
+    /**
+     * 단일 버스 위치 정보 변환 (좌표가 없으면 null)
+     */
+    private BusLocation toBusLocation(SeoulBusPosition position) {
+        if (!position.hasCoordinates()) {
+            logger.warn("Invalid coordinates for bus: {}", position.plateNo());
+            return null;
         }
+        
+        BusLocation busLocation = new BusLocation(
+            position.plateNo(), position.routeId(), position.latitude(), position.longitude());
+        busLocation.setCongestion(toCongestionLevel(position.congestion()));
+        busLocation.setNextStopId(position.stationId());
+        busLocation.setLastUpdated(LocalDateTime.now());
+        return busLocation;
     }
     
     /**
-     * 단일 버스 위치 정보 동기화
+     * 버스별 최신 위치 테이블 갱신 (이력 테이블은 그대로 append-only)
+     * 내용이 바뀐 버스만 엔티티로 읽어 갱신하고, 나머지는 수신 시각만 한 번의 UPDATE로 갱신
      */
-    private void syncSingleBusLocation(SeoulBusLocationInfo locationInfo) {
-        BusLocation busLocation = new BusLocation();
-        busLocation.setBusId(locationInfo.getPlateNo());
-        busLocation.setRouteId(locationInfo.getBusRouteId());
+    private void upsertCurrentPositions(String routeId, List<BusLocation> busLocations, IngestFingerprints.Diff diff) {
+        if (diff.membershipChanged()) {
+            List<String> busIds = busLocations.stream()
+                .map(BusLocation::getBusId)
+                .collect(Collectors.toList());
+            currentBusPositionRepository.deleteByRouteIdAndBusIdNotIn(routeId, busIds);
+        }
+        if (!diff.unchanged().isEmpty()) {
+            currentBusPositionRepository.touchAll(diff.unchanged(), busLocations.get(0).getLastUpdated());
+        }
+        if (diff.changed().isEmpty()) {
+            return;
+        }
         
-        // 좌표 설정
-        if (locationInfo.getPosX() != null && locationInfo.getPosY() != null) {
-            try {
-                busLocation.setLatitude(Double.parseDouble(locationInfo.getPosY()));
-                busLocation.setLongitude(Double.parseDouble(locationInfo.getPosX()));
-            } catch (NumberFormatException e) {
-                logger.warn("Invalid coordinates for bus: {}", locationInfo.getPlateNo());
-                return;
+        List<String> changedIds = diff.changed().stream()
+            .map(BusLocation::getBusId)
+            .collect(Collectors.toList());
+        Map<String, CurrentBusPosition> existing = currentBusPositionRepository.findAllById(changedIds).stream()
+            .collect(Collectors.toMap(CurrentBusPosition::getBusId, Function.identity()));
+        
+        List<CurrentBusPosition> created = new ArrayList<>();
+        for (BusLocation busLocation : diff.changed()) {
+            CurrentBusPosition position = existing.get(busLocation.getBusId());
+            if (position == null) {
+                position = new CurrentBusPosition(busLocation.getBusId());
+                existing.put(position.getBusId(), position);
+                created.add(position);
             }
+            position.updateFrom(busLocation);
         }
         
-        // 혼잡도 설정
-        if (locationInfo.getCongetion() != null) {
-            try {
-                int congestionLevel = Integer.parseInt(locationInfo.getCongetion());
-                if (congestionLevel <= 1) {
-                    busLocation.setCongestion(BusLocation.CongestionLevel.LOW);
-                } else if (congestionLevel <= 3) {
-                    busLocation.setCongestion(BusLocation.CongestionLevel.MEDIUM);
-                } else {
-                    busLocation.setCongestion(BusLocation.CongestionLevel.HIGH);
-                }
-            } catch (NumberFormatException e) {
-                busLocation.setCongestion(BusLocation.CongestionLevel.LOW);
+        // 기존 행은 dirty checking으로 커밋 시 update, 신규 행만 persist
+        batchPersister.persistAll(created);
+    }
+    
+    /**
+     * 현재 트랜잭션이 커밋된 뒤 실행 (트랜잭션 밖이면 즉시 실행)
+     */
+    private void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
             }
+        });
+    }
+    
+    /**
+     * 서울시 혼잡도 코드를 내부 혼잡도 단계로 변환
+     */
+    private BusLocation.CongestionLevel toCongestionLevel(int congestion) {
+        if (congestion == SeoulBusPosition.UNKNOWN) {
+            return null;
         }
-        
-        busLocation.setNextStopId(locationInfo.getStationId());
-        busLocation.setLastUpdated(LocalDateTime.now());
-        
-        busLocationRepository.save(busLocation);
+        if (congestion <= 1) {
+            return BusLocation.CongestionLevel.LOW;
+        } else if (congestion <= 3) {
+            return BusLocation.CongestionLevel.MEDIUM;
+        }
+        return BusLocation.CongestionLevel.HIGH;
     }
     
     /**
      * 특정 정류장의 버스 도착정보 동기화
+     * 정류장의 현재 도착정보 스냅샷은 같은 트랜잭션에서 통째로 교체되므로 읽는 쪽은 이전 또는 새 스냅샷만 본다.
+     * 교체 도중 실패하면 예외를 그대로 던져 트랜잭션 전체를 롤백하므로 이전 스냅샷과 버전이 그대로 남는다 (호출한 쪽에서 기록).
      */
     @Transactional
-    public void syncBusArrivals(String stationId) {
+    public void syncBusArrivals(String stationId, List<SeoulStationArrival> arrivals) {
         logger.debug("Syncing bus arrivals for station: {}", stationId);
         
-        try {
-            List<SeoulBusArrivalInfo> arrivals = seoulBusApiService.getArrivalsByStation(stationId);
-            
-            // 기존 도착 정보 삭제 (최신 정보로 교체)
-            Optional<BusStop> busStop = busStopRepository.findById(stationId);
-            if (busStop.isPresent()) {
-                // 기존 도착 정보 삭제는 별도의 로직으로 구현 필요
-                for (SeoulBusArrivalInfo arrivalInfo : arrivals) {
-                    syncSingleBusArrival(arrivalInfo, busStop.get());
-                }
+        // 도착 정보는 이력으로 쌓고, 보존 기간이 지난 날짜분은 HistoryRetentionScheduler가 파티션 단위로 삭제
+        // 정류장 존재 여부와 이름은 정적 데이터 캐시에서 확인하고, 이력 행에는 조회 없는 참조만 연결
+        BusStopSearchResponse stop = staticDataCache.getStop(stationId,
+            () -> busStopRepository.findById(stationId).map(BusStopSearchResponse::new).orElse(null));
+        if (stop != null) {
+            BusStop busStop = busStopRepository.getReferenceById(stationId);
+            List<BusArrival> busArrivals = new ArrayList<>(arrivals.size() * 2);
+            for (SeoulStationArrival arrivalInfo : arrivals) {
+                collectBusArrivals(arrivalInfo, busStop, busArrivals);
             }
-            
-            logger.debug("Successfully synced {} bus arrivals for station {}", arrivals.size(), stationId);
-            
-        } catch (Exception e) {
-            logger.error("Error syncing bus arrivals for station: " + stationId, e);
+            if (busArrivals.isEmpty()) {
+                // 빈 응답은 API 오류일 수도 있으므로 기존 도착정보를 유지
+                return;
+            }
+            batchPersister.persistAll(busArrivals);
+            replaceCurrentArrivals(stationId, stop.getStopName(), busArrivals);
+            runAfterCommit(() -> serializedPayloadCache.invalidateStop(stationId));
+        }
+        
+        logger.debug("Successfully synced {} bus arrivals for station {}", arrivals.size(), stationId);
+    }
+    
+    /**
+     * 정류장의 현재 도착정보를 (노선, 순번) 기준으로 diff해 교체
+     * 기존 행은 dirty checking으로 update, 새 행만 persist, 이번 응답에 없는 행은 삭제
+     */
+    private void replaceCurrentArrivals(String stopId, String stopName, List<BusArrival> busArrivals) {
+        Map<CurrentBusArrival.Key, CurrentBusArrival> existing = new HashMap<>();
+        long version = 0;
+        for (CurrentBusArrival current : currentBusArrivalRepository.findByStopIdOrderByEstimatedTimeAsc(stopId)) {
+            existing.put(current.getKey(), current);
+            version = Math.max(version, current.getSnapshotVersion());
+        }
+        long nextVersion = version + 1;
+        
+        Map<String, Integer> ordinals = new HashMap<>();
+        List<CurrentBusArrival> created = new ArrayList<>();
+        for (BusArrival arrival : busArrivals) {
+            // 같은 노선의 첫 번째 버스는 1, 두 번째 버스는 2
+            int ordinal = ordinals.merge(arrival.getRouteId(), 1, Integer::sum);
+            CurrentBusArrival current = existing.remove(new CurrentBusArrival.Key(stopId, arrival.getRouteId(), ordinal));
+            if (current == null) {
+                current = new CurrentBusArrival(stopId, arrival.getRouteId(), ordinal);
+                created.add(current);
+            }
+            current.updateFrom(arrival, stopName, nextVersion);
+        }
+        
+        if (!existing.isEmpty()) {
+            currentBusArrivalRepository.deleteAll(existing.values());
         }
+        batchPersister.persistAll(created);
     }
     
     /**
-     * 단일 버스 도착정보 동기화
+     * 단일 버스 도착정보 변환
      */
-    private void syncSingleBusArrival(SeoulBusArrivalInfo arrivalInfo, BusStop busStop) {
+    private void collectBusArrivals(SeoulStationArrival arrivalInfo, BusStop busStop, List<BusArrival> busArrivals) {
         // 첫 번째 버스 정보
-        if (arrivalInfo.getArrmsgSec1() != null && !arrivalInfo.getArrmsgSec1().isEmpty()) {
-            BusArrival arrival1 = new BusArrival();
-            arrival1.setRouteId(arrivalInfo.getBusRouteId());
-            arrival1.setBusStop(busStop);
-            arrival1.setPlateNumber(arrivalInfo.getPlainNo1());
-            
-            try {
-                int arrivalSeconds = Integer.parseInt(arrivalInfo.getArrmsgSec1());
-                arrival1.setEstimatedTime(arrivalSeconds / 60); // 분으로 변환
-            } catch (NumberFormatException e) {
-                arrival1.setEstimatedTime(0);
-            }
-            
-            try {
-                arrival1.setRemainingStops(Integer.parseInt(arrivalInfo.getRerideNum1()));
-            } catch (NumberFormatException e) {
-                arrival1.setRemainingStops(0);
-            }
-            
-            arrival1.setCongestion(BusArrival.CongestionLevel.LOW); // 기본값
-            arrival1.setLastUpdated(LocalDateTime.now());
-            
-            busArrivalRepository.save(arrival1);
+        if (arrivalInfo.hasFirstBus()) {
+            busArrivals.add(createBusArrival(arrivalInfo.routeId(), busStop,
+                arrivalInfo.plateNo1(), arrivalInfo.arrivalSec1(), arrivalInfo.remainingStops1()));
         }
         
         // 두 번째 버스 정보
-        if (arrivalInfo.getArrmsgSec2() != null && !arrivalInfo.getArrmsgSec2().isEmpty()) {
-            BusArrival arrival2 = new BusArrival();
-            arrival2.setRouteId(arrivalInfo.getBusRouteId());
-            arrival2.setBusStop(busStop);
-            arrival2.setPlateNumber(arrivalInfo.getPlainNo2());
-            
-            try {
-                int arrivalSeconds = Integer.parseInt(arrivalInfo.getArrmsgSec2());
-                arrival2.setEstimatedTime(arrivalSeconds / 60); // 분으로 변환
-            } catch (NumberFormatException e) {
-                arrival2.setEstimatedTime(0);
-            }
-            
-            try {
-                arrival2.setRemainingStops(Integer.parseInt(arrivalInfo.getRerideNum2()));
-            } catch (NumberFormatException e) {
-                arrival2.setRemainingStops(0);
-            }
-            
-            arrival2.setCongestion(BusArrival.CongestionLevel.LOW); // 기본값
-            arrival2.setLastUpdated(LocalDateTime.now());
-            
-            busArrivalRepository.save(arrival2);
+        if (arrivalInfo.hasSecondBus()) {
+            busArrivals.add(createBusArrival(arrivalInfo.routeId(), busStop,
+                arrivalInfo.plateNo2(), arrivalInfo.arrivalSec2(), arrivalInfo.remainingStops2()));
         }
     }
+    
+    private BusArrival createBusArrival(String routeId, BusStop busStop, String plateNumber,
+                                        int arrivalSeconds, int remainingStops) {
+        BusArrival arrival = new BusArrival(routeId, busStop, arrivalSeconds / 60, remainingStops); // 분으로 변환
+        arrival.setPlateNumber(plateNumber);
+        arrival.setCongestion(BusArrival.CongestionLevel.LOW); // 기본값
+        arrival.setLastUpdated(LocalDateTime.now());
+        return arrival;
+    }
 }
\ No newline at end of file
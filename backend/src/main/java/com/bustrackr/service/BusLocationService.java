@@ -1,10 +1,15 @@
 package com.bustrackr.service;
 
 import com.bustrackr.domain.BusLocation;
+import com.bustrackr.domain.CurrentBusPosition;
 import com.bustrackr.dto.BusLocationResponse;
+import com.bustrackr.dto.SerializedPayload;
 import com.bustrackr.repository.BusLocationRepository;
+import com.bustrackr.repository.CurrentBusPositionRepository;
+import com.bustrackr.service.cache.SharedSnapshotCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -16,28 +21,132 @@ public class BusLocationService {
     @Autowired
     private BusLocationRepository busLocationRepository;
     
+    @Autowired
+    private CurrentBusPositionRepository currentBusPositionRepository;
+    
+    @Autowired
+    private LiveBusStateStore liveBusStateStore;
+    
+    @Autowired
+    private SerializedPayloadCache serializedPayloadCache;
+    
+    @Autowired
+    private TrajectoryCompressor trajectoryCompressor;
+    
+    @Autowired
+    private SharedSnapshotCache sharedSnapshotCache;
+    
+    @Autowired
+    private SubscriptionRegistry subscriptionRegistry;
+    
+    /**
+     * 노선의 현재 버스 위치 (메모리 저장소 우선, 아직 적재되지 않은 노선만 DB에서 읽음)
+     * DB 결과는 저장소가 비어 있을 때만 채워 동기화가 넣은 더 새로운 스냅샷을 덮어쓰지 않고,
+     * 현재 위치가 없는 노선(존재하지 않는 노선 포함)은 저장소에 상태를 만들지 않는다.
+     */
     public List<BusLocationResponse> getBusLocationsByRoute(String routeId) {
-        List<BusLocation> locations = busLocationRepository.findLatestLocationsByRoute(routeId);
-        return locations.stream()
+        List<BusLocationResponse> cached = liveBusStateStore.getRoute(routeId);
+        if (cached != null) {
+            return cached;
+        }
+        
+        List<BusLocationResponse> locations = currentBusPositionRepository.findByRouteId(routeId).stream()
                 .map(BusLocationResponse::new)
                 .collect(Collectors.toList());
+        if (locations.isEmpty()) {
+            return locations;
+        }
+        liveBusStateStore.fillRouteIfAbsent(routeId, locations);
+        return liveBusStateStore.getRoute(routeId);
+    }
+    
+    /**
+     * 노선 현재 위치 목록의 직렬화 결과 (REST 응답용)
+     * 이 노드가 수집하지 않는 노선은 수집 중인 노드가 공유 캐시에 쓴 결과를 먼저 읽음
+     */
+    public SerializedPayload getBusLocationsPayload(String routeId) {
+        if (!subscriptionRegistry.isRoutePolled(routeId)) {
+            SerializedPayload shared = sharedSnapshotCache.getRouteLocations(routeId);
+            if (shared != null) {
+                return shared;
+            }
+        }
+        if (!ensureRouteLoaded(routeId)) {
+            return serializedPayloadCache.emptyRouteLocations();
+        }
+        return serializedPayloadCache.getRouteLocations(routeId);
+    }
+    
+    /**
+     * 방금 수집한 노선 위치 목록과 스냅샷 프레임을 공유 캐시에 기록 (다른 노드가 DB 대신 읽도록)
+     */
+    public void shareBusLocations(String routeId) {
+        sharedSnapshotCache.putRouteLocations(routeId, serializedPayloadCache.getRouteLocations(routeId));
+        sharedSnapshotCache.putRouteSnapshot(routeId, serializedPayloadCache.getRouteSnapshot(routeId));
+    }
+    
+    /**
+     * 노선 위치 스냅샷 프레임의 직렬화 결과 (구독 직후 또는 시퀀스 누락 시 재동기화용)
+     * 이 노드가 수집하지 않는 노선은 delta를 보내는 수집 노드의 스냅샷을 먼저 읽음 (시퀀스가 이어지도록)
+     */
+    public SerializedPayload getBusLocationSnapshotPayload(String routeId) {
+        if (!subscriptionRegistry.isRoutePolled(routeId)) {
+            SerializedPayload shared = sharedSnapshotCache.getRouteSnapshot(routeId);
+            if (shared != null) {
+                return shared;
+            }
+        }
+        if (!ensureRouteLoaded(routeId)) {
+            return serializedPayloadCache.emptyRouteSnapshot(routeId);
+        }
+        return serializedPayloadCache.getRouteSnapshot(routeId);
     }
     
     public List<BusLocationResponse> getRecentBusLocationsByRoute(String routeId, int minutesAgo) {
         LocalDateTime since = LocalDateTime.now().minusMinutes(minutesAgo);
         List<BusLocation> locations = busLocationRepository.findByRouteIdAndLastUpdatedAfter(routeId, since);
+        if (trajectoryCompressor.isEnabled()) {
+            // 압축으로 빠진 점 보정: 직전 저장점으로 구간 시작 위치를 보간하고, 아직 저장되지 않은 최신 위치를 붙임
+            List<BusLocation> anchors = busLocationRepository.findLastByRouteIdBetween(
+                routeId, since.minus(trajectoryCompressor.getAnchorLookback()), since);
+            List<BusLocation> latest = currentBusPositionRepository.findByRouteId(routeId).stream()
+                .map(CurrentBusPosition::toBusLocation)
+                .collect(Collectors.toList());
+            locations = trajectoryCompressor.reconstruct(since, anchors, locations, latest);
+        }
         return locations.stream()
                 .map(BusLocationResponse::new)
                 .collect(Collectors.toList());
     }
     
     public BusLocationResponse getLatestBusLocation(String busId) {
-        BusLocation location = busLocationRepository.findLatestLocationByBusId(busId);
-        return location != null ? new BusLocationResponse(location) : null;
+        BusLocationResponse cached = liveBusStateStore.getBus(busId);
+        if (cached != null) {
+            return cached;
+        }
+        
+        return currentBusPositionRepository.findById(busId)
+                .map(BusLocationResponse::new)
+                .orElse(null);
     }
     
+    @Transactional
     public void saveBusLocation(BusLocation busLocation) {
         busLocation.setLastUpdated(LocalDateTime.now());
         busLocationRepository.save(busLocation);
+        
+        CurrentBusPosition position = currentBusPositionRepository.findById(busLocation.getBusId())
+                .orElseGet(() -> new CurrentBusPosition(busLocation.getBusId()));
+        position.updateFrom(busLocation);
+        currentBusPositionRepository.save(position);
+        liveBusStateStore.updateBus(new BusLocationResponse(position));
+    }
+    
+    // 아직 메모리 저장소에 없는 노선이면 DB에서 채움 (채울 위치가 없으면 false)
+    private boolean ensureRouteLoaded(String routeId) {
+        if (liveBusStateStore.getRouteState(routeId) == null) {
+            getBusLocationsByRoute(routeId);
+        }
+        return liveBusStateStore.getRouteState(routeId) != null;
     }
 }
\ No newline at end of file
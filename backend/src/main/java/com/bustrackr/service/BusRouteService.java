@@ -0,0 +1,44 @@
+package com.bustrackr.service;
+
+import com.bustrackr.dto.BusRouteResponse;
+import com.bustrackr.repository.BusRouteRepository;
+import com.bustrackr.service.search.BusRouteSearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class BusRouteService {
+    
+    private static final int SEARCH_LIMIT = 20;
+    
+    @Autowired
+    private BusRouteRepository busRouteRepository;
+    
+    @Autowired
+    private BusRouteSearchIndex busRouteSearchIndex;
+    
+    public List<BusRouteResponse> searchBusRoutes(String keyword) {
+        return searchIndex().search(keyword, SEARCH_LIMIT);
+    }
+    
+    /**
+     * DB에 있는 노선 ID인지 (구독 검증용)
+     */
+    public boolean isKnownRoute(String routeId) {
+        return searchIndex().contains(routeId);
+    }
+    
+    // 첫 조회 시 DB의 전체 노선으로 색인 적재
+    private BusRouteSearchIndex searchIndex() {
+        if (!busRouteSearchIndex.isLoaded()) {
+            synchronized (busRouteSearchIndex) {
+                if (!busRouteSearchIndex.isLoaded()) {
+                    busRouteSearchIndex.rebuild(busRouteRepository.findAll());
+                }
+            }
+        }
+        return busRouteSearchIndex;
+    }
+}
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.bustrackr.service;
 import com.bustrackr.domain.BusStop;
 import com.bustrackr.dto.BusStopSearchResponse;
 import com.bustrackr.repository.BusStopRepository;
+import com.bustrackr.service.search.BusStopSearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -12,14 +13,33 @@ import java.util.stream.Collectors;
 @Service
 public class BusStopService {
     
+    private static final int SEARCH_LIMIT = 20;
+    private static final double MAX_RADIUS_KM = 50;
+    
     @Autowired
     private BusStopRepository busStopRepository;
     
+    @Autowired
+    private BusStopSpatialIndex busStopSpatialIndex;
+    
+    @Autowired
+    private BusStopSearchIndex busStopSearchIndex;
+    
+    @Autowired
+    private StaticDataCache staticDataCache;
+    
+    /**
+     * 정류장명/ID 키워드 검색 (n-gram 색인, 초성 검색 지원, 관련도 상위 SEARCH_LIMIT개)
+     */
     public List<BusStopSearchResponse> searchBusStops(String keyword) {
-        List<BusStop> busStops = busStopRepository.findByKeyword(keyword);
-        return busStops.stream()
-                .map(BusStopSearchResponse::new)
-                .collect(Collectors.toList());
+        return searchIndex().search(keyword, SEARCH_LIMIT);
+    }
+    
+    /**
+     * DB에 있는 정류장 ID인지 (구독 검증용, 좌표가 없는 정류장도 포함)
+     */
+    public boolean isKnownStop(String stopId) {
+        return searchIndex().contains(stopId);
     }
     
     public List<BusStopSearchResponse> searchBusStopsByName(String stopName) {
@@ -29,31 +49,53 @@ public class BusStopService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * 구역별 정류장 (2단계 캐시, 정류장 동기화 때 해당 구역만 무효화)
+     */
     public List<BusStopSearchResponse> getBusStopsByDistrict(String district) {
-        List<BusStop> busStops = busStopRepository.findByDistrict(district);
-        return busStops.stream()
+        return staticDataCache.getStopsByDistrict(district, () -> busStopRepository.findByDistrict(district).stream()
                 .map(BusStopSearchResponse::new)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
     
     public List<BusStopSearchResponse> getBusStopsNearLocation(Double latitude, Double longitude, Double radiusKm) {
-        // H2 데이터베이스에서는 지리적 쿼리가 제한적이므로, 간단한 거리 계산으로 대체
-        List<BusStop> allStops = busStopRepository.findAll();
-        return allStops.stream()
-                .filter(stop -> calculateDistance(latitude, longitude, stop.getLatitude(), stop.getLongitude()) <= radiusKm)
-                .map(BusStopSearchResponse::new)
+        // 전체 정류장을 훑지 않고 격자 색인에서 반경 안의 셀만 조회 (가까운 순)
+        return spatialIndex().withinRadius(latitude, longitude, clampRadius(radiusKm)).stream()
+                .map(BusStopSpatialIndex.Hit::stop)
                 .collect(Collectors.toList());
     }
     
-    // 두 지점 간의 거리를 계산하는 메서드 (Haversine formula)
-    private double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
-        final int R = 6371; // 지구 반지름 (km)
-        double latDistance = Math.toRadians(lat2 - lat1);
-        double lonDistance = Math.toRadians(lon2 - lon1);
-        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2) +
-                   Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) *
-                   Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        return R * c;
+    public List<BusStopSearchResponse> getNearestBusStops(Double latitude, Double longitude, int limit, Double maxRadiusKm) {
+        return spatialIndex().nearest(latitude, longitude, limit, clampRadius(maxRadiusKm)).stream()
+                .map(BusStopSpatialIndex.Hit::stop)
+                .collect(Collectors.toList());
+    }
+    
+    // 서울 전체를 덮는 반경보다 큰 값은 결과가 같고 훑는 셀만 늘어나므로 상한으로 자름
+    private static double clampRadius(Double radiusKm) {
+        return Math.min(radiusKm, MAX_RADIUS_KM);
+    }
+    
+    // 첫 조회 시 DB의 전체 정류장으로 색인 적재 (이후에는 정류장 동기화가 증분 갱신)
+    private BusStopSearchIndex searchIndex() {
+        if (!busStopSearchIndex.isLoaded()) {
+            synchronized (busStopSearchIndex) {
+                if (!busStopSearchIndex.isLoaded()) {
+                    busStopSearchIndex.rebuild(busStopRepository.findAll());
+                }
+            }
+        }
+        return busStopSearchIndex;
+    }
+    
+    private BusStopSpatialIndex spatialIndex() {
+        if (!busStopSpatialIndex.isLoaded()) {
+            synchronized (busStopSpatialIndex) {
+                if (!busStopSpatialIndex.isLoaded()) {
+                    busStopSpatialIndex.rebuild(busStopRepository.findAll());
+                }
+            }
+        }
+        return busStopSpatialIndex;
     }
 }
\ No newline at end of file
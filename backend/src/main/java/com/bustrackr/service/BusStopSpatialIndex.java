@@ -0,0 +1,190 @@
+package com.bustrackr.service;
+
+import com.bustrackr.domain.BusStop;
+import com.bustrackr.dto.BusStopSearchResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 정류장 좌표 공간 색인 (위경도 0.01도 균등 격자)
+ * 질의 반경의 경계 상자에 걸치는 셀만 훑고, 경계 상자 비교로 거른 뒤 남은 정류장만 Haversine으로 정확히 계산한다.
+ * 정류장 동기화 시 바뀐 정류장만 셀 사이로 옮긴다.
+ */
+@Component
+public class BusStopSpatialIndex {
+    
+    private static final double CELL_DEGREES = 0.01;
+    private static final double EARTH_RADIUS_KM = 6371;
+    
+    private final Map<Long, Map<String, IndexedStop>> cells = new ConcurrentHashMap<>();
+    private final Map<String, IndexedStop> stops = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+    
+    /**
+     * 색인된 정류장 (응답 객체는 여러 요청이 공유하므로 수정 금지)
+     */
+    public record IndexedStop(String stopId, double latitude, double longitude, long cell, BusStopSearchResponse response) {}
+    
+    /**
+     * 질의 결과 (거리 km)
+     */
+    public record Hit(BusStopSearchResponse stop, double distanceKm) {}
+    
+    private record Box(double minLat, double maxLat, double minLon, double maxLon) {}
+    
+    public boolean isLoaded() {
+        return loaded;
+    }
+    
+    /**
+     * 전체 정류장으로 색인 재구성
+     */
+    public synchronized void rebuild(List<BusStop> busStops) {
+        cells.clear();
+        stops.clear();
+        for (BusStop busStop : busStops) {
+            upsert(busStop);
+        }
+        loaded = true;
+    }
+    
+    /**
+     * 정류장 하나 추가/갱신 (좌표가 바뀌면 셀 이동)
+     */
+    public void upsert(BusStop busStop) {
+        if (busStop.getLatitude() == null || busStop.getLongitude() == null) {
+            remove(busStop.getStopId());
+            return;
+        }
+        
+        double latitude = busStop.getLatitude();
+        double longitude = busStop.getLongitude();
+        IndexedStop indexed = new IndexedStop(busStop.getStopId(), latitude, longitude,
+            cellKey(cellOf(latitude), cellOf(longitude)), new BusStopSearchResponse(busStop));
+        
+        IndexedStop previous = stops.put(indexed.stopId(), indexed);
+        if (previous != null && previous.cell() != indexed.cell()) {
+            removeFromCell(previous);
+        }
+        // 빈 셀 제거(removeFromCell)와 경합하지 않도록 셀 맵 생성과 삽입을 compute 안에서 함께 처리
+        cells.compute(indexed.cell(), (key, cell) -> {
+            Map<String, IndexedStop> target = cell != null ? cell : new ConcurrentHashMap<>();
+            target.put(indexed.stopId(), indexed);
+            return target;
+        });
+    }
+    
+    public void remove(String stopId) {
+        IndexedStop previous = stops.remove(stopId);
+        if (previous != null) {
+            removeFromCell(previous);
+        }
+    }
+    
+    /**
+     * 반경 내 정류장 (가까운 순, 반경이 유한한 양수가 아니면 빈 목록)
+     * 경계 상자가 색인된 셀 수보다 많은 셀을 덮으면 빈 셀을 하나씩 조회하는 대신 채워진 셀만 훑는다.
+     */
+    public List<Hit> withinRadius(double latitude, double longitude, double radiusKm) {
+        if (!Double.isFinite(radiusKm) || radiusKm < 0 || !Double.isFinite(latitude) || !Double.isFinite(longitude)) {
+            return List.of();
+        }
+        
+        // 반경을 정확히 감싸는 경계 상자 (경도 폭은 위도에 따라 넓어짐)
+        double angular = radiusKm / EARTH_RADIUS_KM;
+        double latDelta = Math.toDegrees(angular);
+        double lonRatio = Math.sin(angular) / Math.cos(Math.toRadians(latitude));
+        double lonDelta = lonRatio < 1 && angular < Math.PI / 2 ? Math.toDegrees(Math.asin(lonRatio)) : 180;
+        Box box = new Box(latitude - latDelta, latitude + latDelta, longitude - lonDelta, longitude + lonDelta);
+        
+        List<Hit> hits = new ArrayList<>();
+        double boxCells = ((double) cellOf(box.maxLat()) - cellOf(box.minLat()) + 1)
+            * ((double) cellOf(box.maxLon()) - cellOf(box.minLon()) + 1);
+        if (boxCells > cells.size()) {
+            for (Map<String, IndexedStop> cell : cells.values()) {
+                collect(cell, latitude, longitude, radiusKm, box, hits);
+            }
+        } else {
+            for (int latCell = cellOf(box.minLat()); latCell <= cellOf(box.maxLat()); latCell++) {
+                for (int lonCell = cellOf(box.minLon()); lonCell <= cellOf(box.maxLon()); lonCell++) {
+                    Map<String, IndexedStop> cell = cells.get(cellKey(latCell, lonCell));
+                    if (cell != null) {
+                        collect(cell, latitude, longitude, radiusKm, box, hits);
+                    }
+                }
+            }
+        }
+        
+        hits.sort(Comparator.comparingDouble(Hit::distanceKm));
+        return hits;
+    }
+    
+    /**
+     * 가장 가까운 k개 정류장 (maxRadiusKm 안에서, 가까운 순)
+     * 반경을 한 셀 크기부터 두 배씩 늘리며 찾고, 반경 안의 결과가 k개 이상이면 그 앞 k개가 정확한 답이다.
+     */
+    public List<Hit> nearest(double latitude, double longitude, int k, double maxRadiusKm) {
+        if (k <= 0 || !Double.isFinite(maxRadiusKm) || maxRadiusKm <= 0) {
+            return List.of();
+        }
+        
+        double radiusKm = Math.min(Math.toRadians(CELL_DEGREES) * EARTH_RADIUS_KM, maxRadiusKm);
+        while (true) {
+            List<Hit> hits = withinRadius(latitude, longitude, radiusKm);
+            if (hits.size() >= k || radiusKm >= maxRadiusKm) {
+                return hits.size() > k ? new ArrayList<>(hits.subList(0, k)) : hits;
+            }
+            radiusKm = Math.min(radiusKm * 2, maxRadiusKm);
+        }
+    }
+    
+    public int size() {
+        return stops.size();
+    }
+    
+    // 경계 상자 비교로 먼저 거르고 남은 정류장만 Haversine으로 계산
+    private static void collect(Map<String, IndexedStop> cell, double latitude, double longitude,
+                                double radiusKm, Box box, List<Hit> hits) {
+        for (IndexedStop stop : cell.values()) {
+            if (stop.latitude() < box.minLat() || stop.latitude() > box.maxLat()
+                    || stop.longitude() < box.minLon() || stop.longitude() > box.maxLon()) {
+                continue;
+            }
+            double distance = haversineKm(latitude, longitude, stop.latitude(), stop.longitude());
+            if (distance <= radiusKm) {
+                hits.add(new Hit(stop.response(), distance));
+            }
+        }
+    }
+    
+    private void removeFromCell(IndexedStop stop) {
+        cells.computeIfPresent(stop.cell(), (key, cell) -> {
+            cell.remove(stop.stopId(), stop);
+            return cell.isEmpty() ? null : cell;
+        });
+    }
+    
+    private static int cellOf(double degrees) {
+        return (int) Math.floor(degrees / CELL_DEGREES);
+    }
+    
+    private static long cellKey(int latCell, int lonCell) {
+        return ((long) latCell << 32) | (lonCell & 0xffffffffL);
+    }
+    
+    // 두 지점 간의 거리 (Haversine formula, km)
+    static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double latDistance = Math.toRadians(lat2 - lat1);
+        double lonDistance = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2) +
+                   Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) *
+                   Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
+        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+        return EARTH_RADIUS_KM * c;
+    }
+}
\ No newline at end of file
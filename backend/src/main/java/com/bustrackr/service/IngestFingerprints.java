@@ -0,0 +1,118 @@
+package com.bustrackr.service;
+
+import com.bustrackr.domain.BusLocation;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 노선/차량별 마지막 수집 내용의 지문(fingerprint) 저장소 (메모리)
+ * 위치, 혼잡도, 다음 정류장을 정규화해 64비트 해시로 만들고, 직전 수집과 같은 차량은 이력 저장과 브로드캐스트를 건너뛴다.
+ * 노선 지문은 차량 지문의 순서 무관 합이라 응답 전체가 같으면 차량별 비교 없이 바로 판단한다.
+ * 지문은 DB 커밋이 끝난 뒤에만 commit으로 반영해야 롤백된 수집이 "변경 없음"으로 오인되지 않는다.
+ */
+@Component
+public class IngestFingerprints {
+    
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    
+    private final Map<String, RouteFingerprint> routes = new ConcurrentHashMap<>();
+    
+    private record RouteFingerprint(long hash, Map<String, Long> vehicles) {}
+    
+    /**
+     * 직전 수집과의 비교 결과
+     * changed는 새로 나타났거나 내용이 바뀐 차량, unchanged는 수신 시각만 갱신할 차량 ID
+     */
+    public record Diff(String routeId, long hash, Map<String, Long> vehicles,
+                       List<BusLocation> changed, List<String> unchanged, boolean membershipChanged) {
+        
+        public boolean isRouteUnchanged() {
+            return changed.isEmpty() && !membershipChanged;
+        }
+    }
+    
+    /**
+     * 이번 수집분을 직전 지문과 비교 (저장소는 바꾸지 않음)
+     */
+    public Diff diff(String routeId, List<BusLocation> busLocations) {
+        Map<String, Long> vehicles = new HashMap<>();
+        long hash = 0;
+        for (BusLocation location : busLocations) {
+            long fingerprint = fingerprint(location);
+            vehicles.put(location.getBusId(), fingerprint);
+            hash += mix(location.getBusId().hashCode() * 31L + fingerprint);
+        }
+        
+        RouteFingerprint previous = routes.get(routeId);
+        List<String> allIds = new ArrayList<>(vehicles.keySet());
+        if (previous != null && previous.hash() == hash && previous.vehicles().size() == vehicles.size()) {
+            return new Diff(routeId, hash, vehicles, List.of(), allIds, false);
+        }
+        
+        List<BusLocation> changed = new ArrayList<>();
+        List<String> unchanged = new ArrayList<>();
+        for (BusLocation location : busLocations) {
+            Long before = previous != null ? previous.vehicles().get(location.getBusId()) : null;
+            if (before != null && before.equals(vehicles.get(location.getBusId()))) {
+                unchanged.add(location.getBusId());
+            } else {
+                changed.add(location);
+            }
+        }
+        boolean membershipChanged = previous == null || !previous.vehicles().keySet().equals(vehicles.keySet());
+        return new Diff(routeId, hash, vehicles, changed, unchanged, membershipChanged);
+    }
+    
+    /**
+     * 커밋된 수집분의 지문 반영
+     */
+    public void commit(Diff diff) {
+        routes.put(diff.routeId(), new RouteFingerprint(diff.hash(), Map.copyOf(diff.vehicles())));
+    }
+    
+    public void forget(String routeId) {
+        routes.remove(routeId);
+    }
+    
+    // 좌표는 소수점 6자리(약 0.1m)로 반올림해 부동소수 표현 차이를 무시
+    static long fingerprint(BusLocation location) {
+        long hash = FNV_OFFSET;
+        hash = fnv(hash, Objects.toString(location.getRouteId(), ""));
+        hash = fnv(hash, location.getLatitude() != null ? Math.round(location.getLatitude() * 1e6) : Long.MIN_VALUE);
+        hash = fnv(hash, location.getLongitude() != null ? Math.round(location.getLongitude() * 1e6) : Long.MIN_VALUE);
+        hash = fnv(hash, location.getSpeed() != null ? Math.round(location.getSpeed() * 10) : Long.MIN_VALUE);
+        hash = fnv(hash, location.getCongestion() != null ? location.getCongestion().name() : "");
+        hash = fnv(hash, Objects.toString(location.getNextStopId(), ""));
+        hash = fnv(hash, location.getEstimatedArrival() != null ? location.getEstimatedArrival() : Long.MIN_VALUE);
+        return hash;
+    }
+    
+    private static long fnv(long hash, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return (hash ^ 0xff) * FNV_PRIME;
+    }
+    
+    private static long fnv(long hash, long value) {
+        for (int i = 0; i < 8; i++) {
+            hash = (hash ^ (value & 0xff)) * FNV_PRIME;
+            value >>>= 8;
+        }
+        return hash;
+    }
+    
+    // 합산 전에 비트를 섞어 차량 지문끼리 상쇄되지 않도록 함 (splitmix64 finalizer)
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+}
\ No newline at end of file
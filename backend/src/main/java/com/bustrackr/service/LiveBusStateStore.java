@@ -0,0 +1,138 @@
+package com.bustrackr.service;
+
+import com.bustrackr.dto.BusLocationDelta;
+import com.bustrackr.dto.BusLocationResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 노선별/버스별 실시간 위치 저장소 (메모리)
+ * 동기화 시 노선 스냅샷을 통째로 새로 만들어 교체(copy-on-write)하므로 읽기는 잠금 없이 맵 조회 한 번으로 끝난다.
+ * 교체할 때 직전 스냅샷과 비교해 노선별 시퀀스와 변경분(delta)도 함께 만든다.
+ * 저장된 응답 객체는 여러 요청이 공유하므로 꺼낸 뒤 수정하면 안 된다.
+ */
+@Component
+public class LiveBusStateStore {
+    
+    private final Map<String, RouteState> routes = new ConcurrentHashMap<>();
+    private final Map<String, BusLocationResponse> buses = new ConcurrentHashMap<>();
+    
+    /**
+     * 노선 상태 (lastDelta는 이 시퀀스를 만든 변경분, 바뀐 것이 없었으면 null)
+     */
+    public record RouteState(long sequence, List<BusLocationResponse> locations, BusLocationDelta lastDelta) {}
+    
+    /**
+     * 노선의 현재 위치 목록 (한 번도 적재되지 않은 노선이면 null)
+     */
+    public List<BusLocationResponse> getRoute(String routeId) {
+        RouteState state = routes.get(routeId);
+        return state != null ? state.locations() : null;
+    }
+    
+    public RouteState getRouteState(String routeId) {
+        return routes.get(routeId);
+    }
+    
+    /**
+     * 버스의 현재 위치 (없으면 null)
+     */
+    public BusLocationResponse getBus(String busId) {
+        return buses.get(busId);
+    }
+    
+    /**
+     * 노선 스냅샷 교체
+     * 같은 노선에 대한 갱신은 compute로 직렬화되고, 이전 스냅샷에만 있던 버스는 버스 색인에서 제거
+     * 위치가 바뀐 버스가 하나도 없으면 시퀀스를 올리지 않는다.
+     */
+    public void replaceRoute(String routeId, List<BusLocationResponse> locations) {
+        List<BusLocationResponse> snapshot = Collections.unmodifiableList(new ArrayList<>(locations));
+        routes.compute(routeId, (id, previous) -> {
+            Map<String, BusLocationResponse> before = new HashMap<>();
+            if (previous != null) {
+                for (BusLocationResponse old : previous.locations()) {
+                    before.put(old.getBusId(), old);
+                }
+            }
+            
+            List<BusLocationResponse> upserts = new ArrayList<>();
+            for (BusLocationResponse location : snapshot) {
+                buses.put(location.getBusId(), location);
+                BusLocationResponse old = before.remove(location.getBusId());
+                if (old == null || !sameState(old, location)) {
+                    upserts.add(location);
+                }
+            }
+            
+            // 남은 항목은 이번 스냅샷에서 사라진 버스
+            List<String> removed = new ArrayList<>(before.keySet());
+            for (BusLocationResponse old : before.values()) {
+                buses.remove(old.getBusId(), old);
+            }
+            
+            return nextState(id, previous, snapshot, upserts, removed);
+        });
+    }
+    
+    /**
+     * 아직 적재되지 않은 노선만 DB에서 읽은 목록으로 채움 (조회 경로용)
+     * 동기화가 이미 더 새로운 스냅샷을 넣었으면 아무것도 바꾸지 않고, 시퀀스와 변경분도 만들지 않는다.
+     */
+    public void fillRouteIfAbsent(String routeId, List<BusLocationResponse> locations) {
+        List<BusLocationResponse> snapshot = Collections.unmodifiableList(new ArrayList<>(locations));
+        routes.computeIfAbsent(routeId, id -> {
+            for (BusLocationResponse location : snapshot) {
+                buses.putIfAbsent(location.getBusId(), location);
+            }
+            return new RouteState(0, snapshot, null);
+        });
+    }
+    
+    /**
+     * 버스 한 대의 위치 갱신 (노선 스냅샷도 복사 후 교체)
+     */
+    public void updateBus(BusLocationResponse location) {
+        routes.compute(location.getRouteId(), (id, previous) -> {
+            List<BusLocationResponse> snapshot = new ArrayList<>();
+            if (previous != null) {
+                for (BusLocationResponse old : previous.locations()) {
+                    if (!old.getBusId().equals(location.getBusId())) {
+                        snapshot.add(old);
+                    }
+                }
+            }
+            snapshot.add(location);
+            buses.put(location.getBusId(), location);
+            return nextState(id, previous, Collections.unmodifiableList(snapshot), List.of(location), List.of());
+        });
+    }
+    
+    private static RouteState nextState(String routeId, RouteState previous, List<BusLocationResponse> snapshot,
+                                        List<BusLocationResponse> upserts, List<String> removed) {
+        long sequence = previous != null ? previous.sequence() : 0;
+        if (previous != null && upserts.isEmpty() && removed.isEmpty()) {
+            return new RouteState(sequence, snapshot, null);
+        }
+        BusLocationDelta delta = BusLocationDelta.delta(routeId, sequence + 1,
+            Collections.unmodifiableList(upserts), Collections.unmodifiableList(removed));
+        return new RouteState(sequence + 1, snapshot, delta);
+    }
+    
+    // 시각(lastUpdated)만 다른 경우는 정지한 버스로 보고 변경분에서 제외
+    private static boolean sameState(BusLocationResponse a, BusLocationResponse b) {
+        return Objects.equals(a.getLatitude(), b.getLatitude())
+            && Objects.equals(a.getLongitude(), b.getLongitude())
+            && Objects.equals(a.getSpeed(), b.getSpeed())
+            && Objects.equals(a.getCongestion(), b.getCongestion())
+            && Objects.equals(a.getNextStopId(), b.getNextStopId())
+            && Objects.equals(a.getEstimatedArrival(), b.getEstimatedArrival());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,359 @@
+package com.bustrackr.service;
+
+import com.bustrackr.config.IngestProperties;
+import com.bustrackr.domain.BusLocation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * 버스 위치 write-behind 큐
+ * 수집 스레드는 메모리 저장소 갱신과 브로드캐스트까지만 하고 저장할 위치를 여기에 넘긴다.
+ * 전용 스레드가 쌓인 노선들을 모아 한 트랜잭션으로 저장하고, 저장 전에 같은 노선이 다시 들어오면 같은 자리에 스냅샷을 이어 붙인다.
+ * 묶음 저장이 실패하면 노선별로 다시 저장해 한 노선의 오류가 다른 노선의 이력을 버리지 않게 한다.
+ * 대기 스냅샷 수가 capacity를 넘으면 제출 스레드를 offer-timeout만큼 막고, 그래도 자리가 없으면 거절한다.
+ * 한 노선에는 최신 max-snapshots-per-route개까지만 쌓고 더 오래된 스냅샷은 버려, DB가 멈춰도 메모리가 한없이 늘지 않는다.
+ */
+@Component
+public class LocationWriteBehindQueue {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LocationWriteBehindQueue.class);
+    private static final String METRIC_PREFIX = "bus.ingest.write-behind";
+    
+    @Autowired
+    private IngestProperties ingestProperties;
+    
+    @Autowired
+    private BusDataSyncService busDataSyncService;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private final LongSupplier clock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final Map<String, Pending> pending = new LinkedHashMap<>();
+    private int queuedSnapshots;
+    
+    private ExecutorService executor;
+    private volatile boolean running;
+    private Counter coalesced;
+    private Counter rejected;
+    private Counter dropped;
+    private Counter failed;
+    private Counter persisted;
+    private Timer lag;
+    
+    /**
+     * 저장 대기 중인 노선의 스냅샷들 (들어온 순서, 잠금 안에서만 추가)
+     * enqueuedAt은 스냅샷이 이어 붙어도 처음 들어온 시각을 유지해 지연 측정에 사용
+     */
+    record Pending(String routeId, List<List<BusLocation>> snapshots, long enqueuedAt) {
+        
+        int locationCount() {
+            return snapshots.stream().mapToInt(List::size).sum();
+        }
+    }
+    
+    public LocationWriteBehindQueue() {
+        this.clock = System::nanoTime;
+    }
+    
+    LocationWriteBehindQueue(IngestProperties ingestProperties, BusDataSyncService busDataSyncService,
+                             MeterRegistry meterRegistry, LongSupplier clock) {
+        this.ingestProperties = ingestProperties;
+        this.busDataSyncService = busDataSyncService;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        registerMetrics();
+    }
+    
+    @PostConstruct
+    void start() {
+        registerMetrics();
+        running = true;
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "location-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.execute(this::runLoop);
+    }
+    
+    /**
+     * 종료 시 남은 스냅샷을 모두 저장한 뒤 스레드 정리
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        lock.lock();
+        try {
+            running = false;
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            logger.warn("Write-behind queue did not drain in time, {} routes left", getDepth());
+            executor.shutdownNow();
+        }
+    }
+    
+    /**
+     * 노선 위치 스냅샷 저장 요청
+     * 이미 대기 중인 노선이면 스냅샷을 이어 붙이고, 노선당 상한에 닿았으면 가장 오래된 스냅샷을 버리고 붙인다.
+     * 큐 전체 스냅샷 수가 capacity에 닿았으면 offer-timeout까지 기다린다.
+     * @return 큐에 들어갔으면 true, 가득 차서 거절됐으면 false
+     */
+    public boolean submit(String routeId, List<BusLocation> locations) {
+        IngestProperties.WriteBehind writeBehind = ingestProperties.getWriteBehind();
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeBehind.getOfferTimeout());
+        lock.lock();
+        try {
+            while (true) {
+                Pending previous = pending.get(routeId);
+                if (previous != null && previous.snapshots().size() >= writeBehind.getMaxSnapshotsPerRoute()) {
+                    // 저장이 밀려 노선에 스냅샷이 가득 참: 최신 상태가 더 중요하므로 가장 오래된 이력을 버림
+                    List<BusLocation> oldest = previous.snapshots().remove(0);
+                    previous.snapshots().add(locations);
+                    dropped.increment();
+                    logger.warn("Write-behind backlog for route {} is full, dropping its oldest {} locations",
+                        routeId, oldest.size());
+                    return true;
+                }
+            
+                if (queuedSnapshots < writeBehind.getCapacity()) {
+                    if (previous != null) {
+                        // 아직 저장되지 않은 이전 스냅샷도 이력으로 남겨야 하므로 교체하지 않고 뒤에 붙임
+                        previous.snapshots().add(locations);
+                        coalesced.increment();
+                    } else {
+                        List<List<BusLocation>> snapshots = new ArrayList<>();
+                        snapshots.add(locations);
+                        pending.put(routeId, new Pending(routeId, snapshots, clock.getAsLong()));
+                        notEmpty.signal();
+                    }
+                    queuedSnapshots++;
+                    return true;
+                }
+                
+                if (timeoutNanos <= 0) {
+                    rejected.increment();
+                    logger.warn("Write-behind queue full, dropping {} locations for route {}", locations.size(), routeId);
+                    return false;
+                }
+                // 기다리는 동안 노선이 꺼내져 저장될 수 있으므로 깨어나면 처음부터 다시 확인
+                timeoutNanos = notFull.awaitNanos(timeoutNanos);
+            }
+            
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejected.increment();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * 대기 중인 노선 수
+     */
+    public int getDepth() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * 대기 중인 스냅샷 수 (capacity와 비교하는 값)
+     */
+    public int getQueuedSnapshots() {
+        lock.lock();
+        try {
+            return queuedSnapshots;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * 대기 중인 위치 건수
+     */
+    public long getPendingLocations() {
+        lock.lock();
+        try {
+            return pending.values().stream().mapToLong(Pending::locationCount).sum();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * 먼저 들어온 노선부터 최대 maxRoutes개를 꺼냄 (기다리지 않음)
+     */
+    List<Pending> drain(int maxRoutes) {
+        lock.lock();
+        try {
+            List<Pending> batch = new ArrayList<>(Math.min(maxRoutes, pending.size()));
+            Iterator<Pending> iterator = pending.values().iterator();
+            while (iterator.hasNext() && batch.size() < maxRoutes) {
+                Pending item = iterator.next();
+                batch.add(item);
+                queuedSnapshots -= item.snapshots().size();
+                iterator.remove();
+            }
+            if (!batch.isEmpty()) {
+                notFull.signalAll();
+            }
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * 꺼낸 스냅샷을 저장하고 지연 기록
+     * 노선마다 스냅샷 하나씩을 한 트랜잭션으로 묶어 들어온 순서대로 저장한다 (보통은 노선당 하나라 한 번).
+     * 지문과 궤적 상태는 커밋 후에만 바뀌므로 같은 노선의 다음 스냅샷은 앞 스냅샷이 커밋된 뒤에 비교해야 한다.
+     */
+    void persist(List<Pending> batch) {
+        int rounds = batch.stream().mapToInt(item -> item.snapshots().size()).max().orElse(0);
+        for (int round = 0; round < rounds; round++) {
+            Map<String, List<BusLocation>> routes = new LinkedHashMap<>();
+            for (Pending item : batch) {
+                if (round < item.snapshots().size()) {
+                    routes.put(item.routeId(), item.snapshots().get(round));
+                }
+            }
+            persistRound(routes);
+        }
+        
+        long now = clock.getAsLong();
+        for (Pending item : batch) {
+            lag.record(now - item.enqueuedAt(), TimeUnit.NANOSECONDS);
+        }
+    }
+    
+    // 묶음이 실패하면 노선별로 다시 저장하고, 그래도 실패한 노선만 버림 (다음 스냅샷에서 다시 diff)
+    private void persistRound(Map<String, List<BusLocation>> routes) {
+        try {
+            busDataSyncService.persistBusLocations(routes);
+            persisted.increment(routes.values().stream().mapToInt(List::size).sum());
+            return;
+        } catch (Exception e) {
+            if (routes.size() == 1) {
+                failed.increment();
+                logger.error("Error persisting bus locations for " + routes.keySet(), e);
+                return;
+            }
+            logger.warn("Error persisting bus locations for {} routes, retrying each route", routes.size(), e);
+        }
+        
+        for (Map.Entry<String, List<BusLocation>> entry : routes.entrySet()) {
+            // 롤백된 insert가 엔티티에 남긴 ID를 지워야 다시 persist할 수 있음
+            entry.getValue().forEach(location -> location.setId(null));
+            try {
+                busDataSyncService.persistBusLocations(Map.of(entry.getKey(), entry.getValue()));
+                persisted.increment(entry.getValue().size());
+            } catch (Exception e) {
+                failed.increment();
+                logger.error("Error persisting bus locations for route " + entry.getKey(), e);
+            }
+        }
+    }
+    
+    private void runLoop() {
+        while (true) {
+            if (!awaitWork()) {
+                break;
+            }
+            
+            // 잠시 기다려 그 사이 들어온 노선까지 한 묶음으로 저장
+            long linger = ingestProperties.getWriteBehind().getLinger();
+            if (running && linger > 0) {
+                try {
+                    Thread.sleep(linger);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            
+            List<Pending> batch;
+            while (!(batch = drain(ingestProperties.getWriteBehind().getMaxBatchRoutes())).isEmpty()) {
+                persist(batch);
+            }
+        }
+    }
+    
+    // 대기 항목이 생길 때까지 대기 (종료 중이고 남은 항목도 없으면 false)
+    private boolean awaitWork() {
+        lock.lock();
+        try {
+            while (pending.isEmpty()) {
+                if (!running || Thread.currentThread().isInterrupted()) {
+                    return false;
+                }
+                notEmpty.await();
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return !pending.isEmpty();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private void registerMetrics() {
+        Gauge.builder(METRIC_PREFIX + ".depth", this, LocationWriteBehindQueue::getDepth)
+            .description("Routes waiting to be persisted")
+            .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".snapshots", this, LocationWriteBehindQueue::getQueuedSnapshots)
+            .description("Route snapshots waiting to be persisted")
+            .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".pending", this, LocationWriteBehindQueue::getPendingLocations)
+            .description("Bus locations waiting to be persisted")
+            .register(meterRegistry);
+        coalesced = Counter.builder(METRIC_PREFIX + ".coalesced")
+            .description("Route snapshots appended to a route already waiting to be persisted")
+            .register(meterRegistry);
+        rejected = Counter.builder(METRIC_PREFIX + ".rejected")
+            .description("Route snapshots dropped because the queue was full")
+            .register(meterRegistry);
+        dropped = Counter.builder(METRIC_PREFIX + ".dropped")
+            .description("Oldest route snapshots discarded because the route reached its backlog limit")
+            .register(meterRegistry);
+        failed = Counter.builder(METRIC_PREFIX + ".failed")
+            .description("Route snapshots whose persistence failed")
+            .register(meterRegistry);
+        persisted = Counter.builder(METRIC_PREFIX + ".persisted")
+            .description("Bus locations handed to the database")
+            .register(meterRegistry);
+        lag = Timer.builder(METRIC_PREFIX + ".lag")
+            .description("Time from enqueue to persistence")
+            .register(meterRegistry);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,146 @@
+package com.bustrackr.service;
+
+import com.bustrackr.dto.BusLocationDelta;
+import com.bustrackr.dto.SerializedPayload;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 노선/정류장별 직렬화 결과 캐시
+ * 동기화 한 번에 노선 위치 목록, 스냅샷 프레임, delta 프레임을 한 번씩만 JSON으로 만들고
+ * 브로드캐스트, STOMP 응답, REST 응답이 같은 바이트 배열을 함께 쓴다.
+ */
+@Component
+public class SerializedPayloadCache {
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private LiveBusStateStore liveBusStateStore;
+    
+    private static final SerializedPayload EMPTY_LOCATIONS = new SerializedPayload(0, "[]".getBytes(StandardCharsets.UTF_8));
+    private static final long MAX_STOPS = 10_000;
+    private static final Duration STOP_IDLE_TTL = Duration.ofMinutes(10);
+    
+    private final Map<String, RoutePayloads> routes = new ConcurrentHashMap<>();
+    
+    // 정류장ID -> 도착정보 버전과 그 버전의 직렬화 결과
+    // REST는 임의의 정류장 ID로 조회할 수 있으므로 개수를 제한하고, 한동안 조회되지 않은 정류장은 버린다.
+    private final Cache<String, StopPayloads> stops = Caffeine.newBuilder()
+        .maximumSize(MAX_STOPS)
+        .expireAfterAccess(STOP_IDLE_TTL)
+        .build();
+    
+    // 메모리 저장소의 노선 상태 객체 하나에 대응하는 직렬화 결과
+    private record RoutePayloads(LiveBusStateStore.RouteState state, SerializedPayload locations,
+                                 SerializedPayload snapshot, SerializedPayload delta) {}
+    
+    // 버전과 결과를 한 항목으로 두어 함께 버려짐 (payload가 null이면 무효화 후 아직 다시 만들지 않음)
+    private record StopPayloads(long version, SerializedPayload payload) {}
+    
+    /**
+     * 노선 현재 위치 목록 JSON (노선이 적재되지 않았으면 null)
+     */
+    public SerializedPayload getRouteLocations(String routeId) {
+        RoutePayloads payloads = routePayloads(routeId);
+        return payloads != null ? payloads.locations() : null;
+    }
+    
+    /**
+     * 노선 스냅샷 프레임 JSON (노선이 적재되지 않았으면 null)
+     */
+    public SerializedPayload getRouteSnapshot(String routeId) {
+        RoutePayloads payloads = routePayloads(routeId);
+        return payloads != null ? payloads.snapshot() : null;
+    }
+    
+    /**
+     * 마지막 교체에서 생긴 delta 프레임 JSON (바뀐 버스가 없었으면 null)
+     */
+    public SerializedPayload getRouteDelta(String routeId) {
+        RoutePayloads payloads = routePayloads(routeId);
+        return payloads != null ? payloads.delta() : null;
+    }
+    
+    /**
+     * 현재 위치가 하나도 없는 노선의 빈 목록 JSON (메모리 저장소에 노선 상태를 만들지 않음)
+     */
+    public SerializedPayload emptyRouteLocations() {
+        return EMPTY_LOCATIONS;
+    }
+    
+    /**
+     * 현재 위치가 하나도 없는 노선의 빈 스냅샷 프레임 JSON (시퀀스 0)
+     */
+    public SerializedPayload emptyRouteSnapshot(String routeId) {
+        return serialize(0, BusLocationDelta.snapshot(routeId, 0, List.of()));
+    }
+    
+    /**
+     * 정류장 도착정보 JSON (현재 버전이 캐시에 없을 때만 loader로 읽어 직렬화)
+     */
+    public SerializedPayload getStopArrivals(String stopId, Supplier<?> loader) {
+        StopPayloads cached = stops.getIfPresent(stopId);
+        if (cached != null && cached.payload() != null) {
+            return cached.payload();
+        }
+        
+        long version = cached != null ? cached.version() : 0;
+        SerializedPayload payload = serialize(version, loader.get());
+        // 읽는 사이 동기화로 버전이 바뀌었으면 오래된 결과를 저장하지 않음
+        stops.asMap().compute(stopId, (id, existing) ->
+            (existing != null ? existing.version() : 0) == version ? new StopPayloads(version, payload) : existing);
+        return payload;
+    }
+    
+    /**
+     * 정류장 도착정보가 바뀌었음을 표시 (다음 조회 때 다시 직렬화)
+     */
+    public void invalidateStop(String stopId) {
+        stops.asMap().compute(stopId, (id, existing) ->
+            new StopPayloads(existing != null ? existing.version() + 1 : 1, null));
+    }
+    
+    private RoutePayloads routePayloads(String routeId) {
+        LiveBusStateStore.RouteState state = liveBusStateStore.getRouteState(routeId);
+        if (state == null) {
+            return null;
+        }
+        
+        RoutePayloads cached = routes.get(routeId);
+        if (cached != null && cached.state() == state) {
+            return cached;
+        }
+        
+        // 경합으로 이전 상태의 결과가 저장되더라도 다음 조회에서 상태 객체가 달라 다시 만들어짐
+        long sequence = state.sequence();
+        BusLocationDelta delta = state.lastDelta();
+        RoutePayloads built = new RoutePayloads(state,
+            serialize(sequence, state.locations()),
+            serialize(sequence, BusLocationDelta.snapshot(routeId, sequence, state.locations())),
+            delta != null && delta.hasChanges() ? serialize(sequence, delta) : null);
+        routes.put(routeId, built);
+        return built;
+    }
+    
+    private SerializedPayload serialize(long version, Object value) {
+        try {
+            return new SerializedPayload(version, objectMapper.writeValueAsBytes(value));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,88 @@
+package com.bustrackr.service;
+
+import com.bustrackr.config.WebSocketProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * STOMP 세션별 /app 요청 제한 (세션마다 토큰 버킷 하나)
+ * 한 클라이언트가 새로고침을 반복해도 다른 세션의 응답 지연이나 캐시 재생성으로 번지지 않게 한다.
+ * 버킷은 연결이 끊기면 지운다.
+ */
+@Component
+public class SessionRequestLimiter {
+    
+    @Autowired
+    private WebSocketProperties webSocketProperties;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private final LongSupplier clock;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    
+    private static final class Bucket {
+        private double tokens;
+        private long refilledAt;
+        
+        Bucket(double tokens, long refilledAt) {
+            this.tokens = tokens;
+            this.refilledAt = refilledAt;
+        }
+    }
+    
+    public SessionRequestLimiter() {
+        this.clock = System::nanoTime;
+    }
+    
+    SessionRequestLimiter(WebSocketProperties webSocketProperties, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.webSocketProperties = webSocketProperties;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+    }
+    
+    /**
+     * 세션의 요청 하나를 허용할지 (세션 ID가 없으면 제한하지 않음)
+     */
+    public boolean tryAcquire(String sessionId) {
+        if (sessionId == null) {
+            return true;
+        }
+        
+        double rate = webSocketProperties.getRequestsPerSecond();
+        int burst = webSocketProperties.getRequestBurst();
+        Bucket bucket = buckets.computeIfAbsent(sessionId, id -> new Bucket(burst, clock.getAsLong()));
+        
+        boolean allowed;
+        synchronized (bucket) {
+            long now = clock.getAsLong();
+            bucket.tokens = Math.min(burst, bucket.tokens + (now - bucket.refilledAt) / 1e9 * rate);
+            bucket.refilledAt = now;
+            allowed = bucket.tokens >= 1;
+            if (allowed) {
+                bucket.tokens -= 1;
+            }
+        }
+        
+        if (!allowed) {
+            meterRegistry.counter("bus.ws.requests.rejected").increment();
+        }
+        return allowed;
+    }
+    
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        buckets.remove(event.getSessionId());
+    }
+    
+    public int getSessionCount() {
+        return buckets.size();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,123 @@
+package com.bustrackr.service;
+
+import com.bustrackr.config.CacheProperties;
+import com.bustrackr.dto.BusStopSearchResponse;
+import com.bustrackr.service.cache.ClusterEventBus;
+import com.bustrackr.service.cache.SnapshotStore;
+import com.bustrackr.service.cache.TwoLevelCache;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 정류장 정적 데이터 캐시 (정류장 단건, 구역별 정류장 목록)
+ * 정류장 정보는 한 시간에 한 번 동기화되므로 조회는 대부분 로컬 메모리에서 끝난다.
+ * 동기화한 노드가 바뀐 정류장과 구역 키만 공유 캐시에서 지우고 무효화 메시지를 발행하면, 모든 노드가 그 키만 로컬에서 지운다.
+ */
+@Component
+public class StaticDataCache {
+    
+    private static final String STOP = "stop:";
+    private static final String DISTRICT = "district:";
+    
+    @Autowired
+    private CacheProperties cacheProperties;
+    
+    @Autowired
+    private SnapshotStore snapshotStore;
+    
+    @Autowired
+    private ClusterEventBus clusterEventBus;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private TwoLevelCache<BusStopSearchResponse> stops;
+    private TwoLevelCache<List<BusStopSearchResponse>> districts;
+    
+    public StaticDataCache() {}
+    
+    StaticDataCache(CacheProperties cacheProperties, SnapshotStore snapshotStore, ClusterEventBus clusterEventBus,
+                    ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.cacheProperties = cacheProperties;
+        this.snapshotStore = snapshotStore;
+        this.clusterEventBus = clusterEventBus;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        init();
+    }
+    
+    @PostConstruct
+    void init() {
+        stops = create("stops", objectMapper.constructType(BusStopSearchResponse.class));
+        districts = create("stop-districts",
+            objectMapper.getTypeFactory().constructCollectionType(List.class, BusStopSearchResponse.class));
+        clusterEventBus.subscribe(channel(), this::onInvalidation);
+    }
+    
+    /**
+     * 정류장 단건 (없는 정류장은 캐시하지 않음)
+     */
+    public BusStopSearchResponse getStop(String stopId, Supplier<BusStopSearchResponse> loader) {
+        return stops.get(stopId, loader);
+    }
+    
+    /**
+     * 구역별 정류장 목록 (반환 목록은 공유되므로 수정 불가)
+     */
+    public List<BusStopSearchResponse> getStopsByDistrict(String district, Supplier<List<BusStopSearchResponse>> loader) {
+        return districts.get(district, () -> List.copyOf(loader.get()));
+    }
+    
+    /**
+     * 정류장 동기화 후 바뀐 키를 공유 캐시에서 지우고 모든 노드에 무효화 메시지 발행
+     */
+    public void invalidateStops(Collection<String> stopIds, Collection<String> districtNames) {
+        List<String> keys = new ArrayList<>(stopIds.size() + districtNames.size());
+        for (String stopId : stopIds) {
+            stops.evict(stopId);
+            keys.add(STOP + stopId);
+        }
+        for (String district : districtNames) {
+            districts.evict(district);
+            keys.add(DISTRICT + district);
+        }
+        if (!keys.isEmpty()) {
+            clusterEventBus.publish(channel(), String.join("\n", keys));
+        }
+    }
+    
+    // 한 줄에 키 하나 ("stop:{stopId}" 또는 "district:{district}")
+    void onInvalidation(String message) {
+        for (String key : message.split("\n")) {
+            if (key.startsWith(STOP)) {
+                stops.evictLocal(key.substring(STOP.length()));
+            } else if (key.startsWith(DISTRICT)) {
+                districts.evictLocal(key.substring(DISTRICT.length()));
+            }
+        }
+    }
+    
+    private <V> TwoLevelCache<V> create(String name, JavaType type) {
+        return new TwoLevelCache<>(name, cacheProperties.getStaticLocalMaxSize(),
+            Duration.ofMillis(cacheProperties.getStaticLocalTtl()),
+            snapshotStore, cacheProperties.getKeyPrefix(), Duration.ofMillis(cacheProperties.getStaticSharedTtl()),
+            objectMapper, type, meterRegistry);
+    }
+    
+    private String channel() {
+        return cacheProperties.getKeyPrefix() + ":invalidate:static";
+    }
+}
\ No newline at end of file
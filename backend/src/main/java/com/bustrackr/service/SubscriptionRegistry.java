@@ -0,0 +1,261 @@
+package com.bustrackr.service;
+
+import com.bustrackr.config.PollingProperties;
+import com.bustrackr.config.WebSocketProperties;
+import com.bustrackr.service.cache.PollingLeases;
+import com.bustrackr.service.external.SeoulBusApiService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * STOMP 구독 현황 (노선/정류장별 구독자 수)
+ * SUBSCRIBE/UNSUBSCRIBE/DISCONNECT 이벤트로 참조 카운트를 유지하고, 스케줄러는 구독자가 있는 대상만 수집한다.
+ * DB에 없는 노선/정류장이나 세션 구독 상한을 넘는 구독은 세지 않아 임의 ID로 수집 대상을 늘릴 수 없다.
+ */
+@Component
+public class SubscriptionRegistry {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SubscriptionRegistry.class);
+    
+    static final String LOCATION_PREFIX = "/topic/bus-locations/";
+    static final String ARRIVAL_PREFIX = "/topic/bus-arrivals/";
+    
+    @Autowired
+    private PollingProperties pollingProperties;
+    
+    @Autowired
+    private PollingLeases pollingLeases;
+    
+    @Autowired
+    private BusRouteService busRouteService;
+    
+    @Autowired
+    private BusStopService busStopService;
+    
+    @Autowired
+    private WebSocketProperties webSocketProperties;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private final Map<String, Integer> routeCounts = new ConcurrentHashMap<>();
+    private final Map<String, Integer> stopCounts = new ConcurrentHashMap<>();
+    
+    // 세션ID -> (구독ID -> 대상)
+    private final Map<String, Map<String, Target>> sessions = new ConcurrentHashMap<>();
+    
+    private record Target(boolean route, String id) {}
+    
+    public SubscriptionRegistry() {}
+    
+    SubscriptionRegistry(PollingProperties pollingProperties, PollingLeases pollingLeases,
+                         BusRouteService busRouteService, BusStopService busStopService,
+                         WebSocketProperties webSocketProperties, MeterRegistry meterRegistry) {
+        this.pollingProperties = pollingProperties;
+        this.pollingLeases = pollingLeases;
+        this.busRouteService = busRouteService;
+        this.busStopService = busStopService;
+        this.webSocketProperties = webSocketProperties;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    /**
+     * SUBSCRIBE 프레임을 브로커에 넘길지 (위치/도착정보 외 목적지는 항상 허용)
+     * 같은 세션의 SUBSCRIBE가 동시에 들어오면 상한을 조금 넘길 수 있지만, 넘친 구독은 이벤트 처리 때 다시 걸러 세지 않는다.
+     */
+    public boolean accepts(String sessionId, String subscriptionId, String destination) {
+        Target target = toTarget(destination);
+        if (target == null || sessionId == null) {
+            return true;
+        }
+        if (!isKnown(target)) {
+            reject("unknown", target, sessionId);
+            return false;
+        }
+        Map<String, Target> subscriptions = sessions.get(sessionId);
+        if (subscriptions != null && isFull(subscriptions, subscriptionId)) {
+            reject("limit", target, sessionId);
+            return false;
+        }
+        return true;
+    }
+    
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Target target = toTarget(accessor.getDestination());
+        if (target == null || accessor.getSessionId() == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+        if (!isKnown(target)) {
+            reject("unknown", target, accessor.getSessionId());
+            return;
+        }
+        
+        Map<String, Target> subscriptions = sessions.computeIfAbsent(accessor.getSessionId(), id -> new ConcurrentHashMap<>());
+        Target previous;
+        synchronized (subscriptions) {
+            if (isFull(subscriptions, accessor.getSubscriptionId())) {
+                reject("limit", target, accessor.getSessionId());
+                return;
+            }
+            previous = subscriptions.put(accessor.getSubscriptionId(), target);
+        }
+        // 같은 구독 ID로 다시 구독하면 새 대상을 먼저 세고 이전 대상을 해제 (같은 대상이면 0을 거쳐 임대가 풀리지 않음)
+        counts(target).merge(target.id(), 1, Integer::sum);
+        if (previous != null) {
+            release(previous);
+        }
+        logger.debug("Subscribed to {} {} (session {})", target.route() ? "route" : "stop", target.id(), accessor.getSessionId());
+    }
+    
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Map<String, Target> subscriptions = accessor.getSessionId() != null ? sessions.get(accessor.getSessionId()) : null;
+        if (subscriptions == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+        
+        Target target = subscriptions.remove(accessor.getSubscriptionId());
+        if (target != null) {
+            release(target);
+        }
+    }
+    
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, Target> subscriptions = sessions.remove(event.getSessionId());
+        if (subscriptions == null) {
+            return;
+        }
+        
+        // 같은 세션의 UNSUBSCRIBE와 겹쳐도 구독마다 한 번만 해제되도록 remove 결과로 판단
+        for (String subscriptionId : subscriptions.keySet()) {
+            Target target = subscriptions.remove(subscriptionId);
+            if (target != null) {
+                release(target);
+            }
+        }
+    }
+    
+    /**
+     * 구독자가 한 명 이상인 노선 ID
+     */
+    public Set<String> getActiveRoutes() {
+        return Set.copyOf(routeCounts.keySet());
+    }
+    
+    /**
+     * 구독자가 한 명 이상인 정류장 ID
+     */
+    public Set<String> getActiveStops() {
+        return Set.copyOf(stopCounts.keySet());
+    }
+    
+    /**
+     * 이 노드가 수집할 후보 노선 (구독자가 있는 노선 + 항상 수집할 노선, 클러스터면 임대를 잡은 노드만 실제로 수집)
+     */
+    public Set<String> getPolledRoutes() {
+        Set<String> routes = new LinkedHashSet<>(routeCounts.keySet());
+        routes.addAll(pollingProperties.getWarmRoutes());
+        return routes;
+    }
+    
+    /**
+     * 이 노드가 수집할 후보 정류장 (구독자가 있는 정류장 + 항상 수집할 정류장)
+     */
+    public Set<String> getPolledStops() {
+        Set<String> stops = new LinkedHashSet<>(stopCounts.keySet());
+        stops.addAll(pollingProperties.getWarmStops());
+        return stops;
+    }
+    
+    /**
+     * 이 노드가 노선을 수집 중인지 (아니면 조회 시 수집 노드가 쓴 공유 캐시를 먼저 읽음)
+     */
+    public boolean isRoutePolled(String routeId) {
+        return (routeCounts.containsKey(routeId) || pollingProperties.getWarmRoutes().contains(routeId))
+            && pollingLeases.holds(SeoulBusApiService.LOCATIONS, routeId);
+    }
+    
+    public boolean isStopPolled(String stopId) {
+        return (stopCounts.containsKey(stopId) || pollingProperties.getWarmStops().contains(stopId))
+            && pollingLeases.holds(SeoulBusApiService.ARRIVALS, stopId);
+    }
+    
+    public int getRouteSubscriberCount(String routeId) {
+        return routeCounts.getOrDefault(routeId, 0);
+    }
+    
+    public int getStopSubscriberCount(String stopId) {
+        return stopCounts.getOrDefault(stopId, 0);
+    }
+    
+    private boolean isKnown(Target target) {
+        return target.route() ? busRouteService.isKnownRoute(target.id()) : busStopService.isKnownStop(target.id());
+    }
+    
+    // 같은 구독ID로 다시 구독하면 기존 구독을 대신하므로 상한에 세지 않음
+    private boolean isFull(Map<String, Target> subscriptions, String subscriptionId) {
+        return !subscriptions.containsKey(subscriptionId)
+            && subscriptions.size() >= webSocketProperties.getMaxSubscriptionsPerSession();
+    }
+    
+    private void reject(String reason, Target target, String sessionId) {
+        meterRegistry.counter("bus.ws.subscriptions.rejected", "reason", reason).increment();
+        logger.debug("Rejected subscription to {} {} (session {}, {})",
+            target.route() ? "route" : "stop", target.id(), sessionId, reason);
+    }
+    
+    private void release(Target target) {
+        // 0이 되면 키를 지워 활성 목록에서 빠지도록 함
+        Integer remaining = counts(target).computeIfPresent(target.id(), (id, count) -> count > 1 ? count - 1 : null);
+        if (remaining == null && !isWarm(target)) {
+            // 마지막 구독자가 떠나면 이 노드는 더 수집하지 않으므로 임대를 바로 반납
+            pollingLeases.release(target.route() ? SeoulBusApiService.LOCATIONS : SeoulBusApiService.ARRIVALS, target.id());
+        }
+    }
+    
+    private boolean isWarm(Target target) {
+        return target.route()
+            ? pollingProperties.getWarmRoutes().contains(target.id())
+            : pollingProperties.getWarmStops().contains(target.id());
+    }
+    
+    private Map<String, Integer> counts(Target target) {
+        return target.route() ? routeCounts : stopCounts;
+    }
+    
+    private static Target toTarget(String destination) {
+        if (destination == null) {
+            return null;
+        }
+        if (destination.startsWith(LOCATION_PREFIX)) {
+            String routeId = destination.substring(LOCATION_PREFIX.length());
+            return isPlainId(routeId) ? new Target(true, routeId) : null;
+        }
+        if (destination.startsWith(ARRIVAL_PREFIX)) {
+            String stopId = destination.substring(ARRIVAL_PREFIX.length());
+            return isPlainId(stopId) ? new Target(false, stopId) : null;
+        }
+        return null;
+    }
+    
+    private static boolean isPlainId(String id) {
+        return !id.isEmpty() && id.indexOf('/') < 0;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,213 @@
+package com.bustrackr.service;
+
+import com.bustrackr.config.IngestProperties;
+import com.bustrackr.domain.BusLocation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 버스 위치 이력 궤적 압축 (opening window 방식의 온라인 Douglas-Peucker)
+ * 버스마다 마지막으로 저장한 점(anchor)과 그 뒤 저장을 미룬 점들(window)을 들고 있다가,
+ * 새 점이 오면 anchor와 새 점을 잇는 직선을 시각 기준으로 보간해 window의 모든 점이 허용 오차 안에 드는지 본다.
+ * 벗어나는 점이 있으면 window의 마지막 점을 저장하고 새 anchor로 삼는다.
+ * 오차는 시각 동기 거리(같은 시각의 보간 위치와의 거리)라서 정차 구간도 양 끝 점이 남는다.
+ * 지문 저장소와 마찬가지로 계산(plan)과 반영(commit)을 나눠 커밋된 수집분만 상태에 반영한다.
+ */
+@Component
+public class TrajectoryCompressor {
+    
+    @Autowired
+    private IngestProperties ingestProperties;
+    
+    private final Map<String, Map<String, Track>> routes = new ConcurrentHashMap<>();
+    
+    public TrajectoryCompressor() {
+    }
+    
+    TrajectoryCompressor(IngestProperties ingestProperties) {
+        this.ingestProperties = ingestProperties;
+    }
+    
+    record Track(BusLocation anchor, List<BusLocation> window) {
+        
+        LocalDateTime lastTime() {
+            return window.isEmpty() ? anchor.getLastUpdated() : window.get(window.size() - 1).getLastUpdated();
+        }
+        
+        Track append(BusLocation point) {
+            List<BusLocation> next = new ArrayList<>(window.size() + 1);
+            next.addAll(window);
+            next.add(point);
+            return new Track(anchor, List.copyOf(next));
+        }
+    }
+    
+    /**
+     * 한 번의 수집에 대한 압축 결과 (kept는 이력 테이블에 저장할 새 엔티티)
+     */
+    public record Plan(String routeId, Map<String, Track> tracks, List<BusLocation> kept) {}
+    
+    public boolean isEnabled() {
+        return ingestProperties.getCompression().isEnabled();
+    }
+    
+    /**
+     * 구간 시작 직전 저장점을 찾을 범위 (저장 간격은 최대 max-gap-seconds + 수집 주기)
+     */
+    public Duration getAnchorLookback() {
+        return Duration.ofSeconds(ingestProperties.getCompression().getMaxGapSeconds() * 2);
+    }
+    
+    /**
+     * 노선의 이번 수집분을 압축 (상태는 commit 전까지 바뀌지 않음)
+     */
+    public Plan plan(String routeId, List<BusLocation> busLocations) {
+        IngestProperties.Compression settings = ingestProperties.getCompression();
+        Map<String, Track> previous = routes.getOrDefault(routeId, Map.of());
+        Map<String, Track> next = new HashMap<>();
+        List<BusLocation> kept = new ArrayList<>();
+        
+        for (BusLocation point : busLocations) {
+            String busId = point.getBusId();
+            Track track = next.containsKey(busId) ? next.get(busId) : previous.get(busId);
+            if (track == null) {
+                kept.add(copy(point));
+                next.put(busId, new Track(point, List.of()));
+            } else if (!point.getLastUpdated().isAfter(track.lastTime())) {
+                // 같은 시각이거나 역순으로 들어온 점은 무시
+                next.put(busId, track);
+            } else if (fits(track, point, settings)) {
+                next.put(busId, track.append(point));
+            } else if (track.window().isEmpty()) {
+                kept.add(copy(point));
+                next.put(busId, new Track(point, List.of()));
+            } else {
+                BusLocation last = track.window().get(track.window().size() - 1);
+                kept.add(copy(last));
+                next.put(busId, new Track(last, List.of(point)));
+            }
+        }
+        
+        // 이번 응답에서 빠진 버스는 저장을 미룬 마지막 점을 남기고 추적 종료
+        previous.forEach((busId, track) -> {
+            if (!next.containsKey(busId) && !track.window().isEmpty()) {
+                kept.add(copy(track.window().get(track.window().size() - 1)));
+            }
+        });
+        return new Plan(routeId, next, kept);
+    }
+    
+    /**
+     * 커밋된 압축 결과를 상태에 반영
+     */
+    public void commit(Plan plan) {
+        routes.put(plan.routeId(), Map.copyOf(plan.tracks()));
+    }
+    
+    /**
+     * 압축된 이력으로 구간 궤적 복원
+     * 구간 시작 직전의 저장점(anchors)이 있으면 since 시점 위치를 보간해 앞에 붙이고,
+     * 아직 저장되지 않은 최신 위치(latest)가 마지막 저장점보다 새로우면 뒤에 붙인다. 결과는 버스별 시각 순.
+     */
+    public List<BusLocation> reconstruct(LocalDateTime since, List<BusLocation> anchors,
+                                         List<BusLocation> history, List<BusLocation> latest) {
+        Map<String, List<BusLocation>> byBus = new LinkedHashMap<>();
+        for (BusLocation point : history) {
+            byBus.computeIfAbsent(point.getBusId(), id -> new ArrayList<>()).add(point);
+        }
+        Map<String, BusLocation> anchorByBus = new HashMap<>();
+        for (BusLocation anchor : anchors) {
+            anchorByBus.put(anchor.getBusId(), anchor);
+        }
+        Map<String, BusLocation> latestByBus = new HashMap<>();
+        for (BusLocation current : latest) {
+            if (current.getLastUpdated().isAfter(since)) {
+                latestByBus.put(current.getBusId(), current);
+            }
+        }
+        
+        Set<String> buses = new LinkedHashSet<>(byBus.keySet());
+        buses.addAll(latestByBus.keySet());
+        
+        List<BusLocation> result = new ArrayList<>();
+        for (String busId : buses) {
+            List<BusLocation> points = byBus.getOrDefault(busId, new ArrayList<>());
+            points.sort(Comparator.comparing(BusLocation::getLastUpdated));
+            
+            BusLocation tail = latestByBus.get(busId);
+            if (tail != null && !points.isEmpty()
+                    && !tail.getLastUpdated().isAfter(points.get(points.size() - 1).getLastUpdated())) {
+                tail = null;
+            }
+            
+            BusLocation first = !points.isEmpty() ? points.get(0) : tail;
+            BusLocation anchor = anchorByBus.get(busId);
+            if (anchor != null && first != null) {
+                result.add(interpolate(anchor, first, since));
+            }
+            result.addAll(points);
+            if (tail != null) {
+                result.add(tail);
+            }
+        }
+        return result;
+    }
+    
+    private static boolean fits(Track track, BusLocation point, IngestProperties.Compression settings) {
+        if (track.window().size() >= settings.getMaxWindow()) {
+            return false;
+        }
+        if (Duration.between(track.anchor().getLastUpdated(), point.getLastUpdated()).toSeconds()
+                > settings.getMaxGapSeconds()) {
+            return false;
+        }
+        for (BusLocation skipped : track.window()) {
+            BusLocation expected = interpolate(track.anchor(), point, skipped.getLastUpdated());
+            if (distanceMeters(expected, skipped) > settings.getToleranceMeters()) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * 두 점 사이를 시각 비율로 선형 보간한 위치 (속성은 앞 점을 따름)
+     */
+    static BusLocation interpolate(BusLocation from, BusLocation to, LocalDateTime time) {
+        long total = Duration.between(from.getLastUpdated(), to.getLastUpdated()).toMillis();
+        double ratio = total <= 0 ? 1
+            : Math.max(0, Math.min(1, Duration.between(from.getLastUpdated(), time).toMillis() / (double) total));
+        BusLocation point = copy(from);
+        point.setLatitude(from.getLatitude() + (to.getLatitude() - from.getLatitude()) * ratio);
+        point.setLongitude(from.getLongitude() + (to.getLongitude() - from.getLongitude()) * ratio);
+        point.setLastUpdated(time);
+        return point;
+    }
+    
+    private static double distanceMeters(BusLocation a, BusLocation b) {
+        return BusStopSpatialIndex.haversineKm(a.getLatitude(), a.getLongitude(), b.getLatitude(), b.getLongitude()) * 1000;
+    }
+    
+    // 저장 대상은 새 엔티티로 복사 (상태에 남는 객체가 영속화되지 않도록)
+    private static BusLocation copy(BusLocation source) {
+        BusLocation copy = new BusLocation(source.getBusId(), source.getRouteId(), source.getLatitude(), source.getLongitude());
+        copy.setSpeed(source.getSpeed());
+        copy.setCongestion(source.getCongestion());
+        copy.setNextStopId(source.getNextStopId());
+        copy.setEstimatedArrival(source.getEstimatedArrival());
+        copy.setLastUpdated(source.getLastUpdated());
+        return copy;
+    }
+}
\ No newline at end of file
@@ -1,33 +1,40 @@
 package com.bustrackr.service;
 
-import com.bustrackr.dto.BusArrivalResponse;
-import com.bustrackr.dto.BusLocationResponse;
+import com.bustrackr.dto.SerializedPayload;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-
 @Service
 public class WebSocketNotificationService {
     
     private static final Logger logger = LoggerFactory.getLogger(WebSocketNotificationService.class);
     
     @Autowired
-    private SimpMessagingTemplate messagingTemplate;
+    private BroadcastRelay broadcastRelay;
+    
+    @Autowired
+    private SerializedPayloadCache serializedPayloadCache;
     
     /**
-     * 특정 노선의 버스 위치 업데이트를 클라이언트에 브로드캐스트
+     * 특정 노선의 위치 변경분(delta)을 클라이언트에 브로드캐스트
+     * 메모리 저장소가 마지막 교체 때 만든 변경분만 보내고, 바뀐 버스가 없으면 보내지 않음
+     * 저장소를 교체한 직후에만 호출 (교체하지 않고 부르면 이미 보낸 변경분을 다시 보냄)
+     * 직렬화는 캐시에서 노선 상태당 한 번만 수행
      */
-    public void broadcastBusLocations(String routeId, List<BusLocationResponse> locations) {
+    public void broadcastBusLocations(String routeId) {
         try {
+            SerializedPayload delta = serializedPayloadCache.getRouteDelta(routeId);
+            if (delta == null) {
+                return;
+            }
+    
             String destination = "/topic/bus-locations/" + routeId;
-            messagingTemplate.convertAndSend(destination, locations);
+            broadcastRelay.send(destination, delta);
             
-            logger.debug("Broadcasted {} bus locations for route {} to {}", 
-                locations.size(), routeId, destination);
+            logger.debug("Broadcasted delta #{} for route {} ({} bytes) to {}",
+                delta.version(), routeId, delta.json().length, destination);
             
         } catch (Exception e) {
             logger.error("Error broadcasting bus locations for route: " + routeId, e);
@@ -37,13 +44,13 @@ public class WebSocketNotificationService {
     /**
      * 특정 정류장의 버스 도착 정보를 클라이언트에 브로드캐스트
      */
-    public void broadcastBusArrivals(String stopId, List<BusArrivalResponse> arrivals) {
+    public void broadcastBusArrivals(String stopId, SerializedPayload arrivals) {
         try {
             String destination = "/topic/bus-arrivals/" + stopId;
-            messagingTemplate.convertAndSend(destination, arrivals);
+            broadcastRelay.send(destination, arrivals);
             
-            logger.debug("Broadcasted {} bus arrivals for stop {} to {}", 
-                arrivals.size(), stopId, destination);
+            logger.debug("Broadcasted bus arrivals for stop {} ({} bytes) to {}",
+                stopId, arrivals.json().length, destination);
             
         } catch (Exception e) {
             logger.error("Error broadcasting bus arrivals for stop: " + stopId, e);
@@ -55,7 +62,7 @@ public class WebSocketNotificationService {
      */
     public void broadcastNotification(String message) {
         try {
-            messagingTemplate.convertAndSend("/topic/notifications", message);
+            broadcastRelay.send("/topic/notifications", message);
             logger.debug("Broadcasted notification: {}", message);
             
         } catch (Exception e) {
@@ -68,7 +75,7 @@ public class WebSocketNotificationService {
      */
     public void broadcastSystemStatus(Object status) {
         try {
-            messagingTemplate.convertAndSend("/topic/system-status", status);
+            broadcastRelay.send("/topic/system-status", status);
             logger.debug("Broadcasted system status");
             
         } catch (Exception e) {
@@ -0,0 +1,14 @@
+package com.bustrackr.service.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * 노드 간 메시지 전달 (Redis pub/sub 또는 프로세스 내 대체 구현)
+ * 발행한 노드 자신도 구독자로 메시지를 받는다.
+ */
+public interface ClusterEventBus {
+    
+    void publish(String channel, String message);
+    
+    void subscribe(String channel, Consumer<String> listener);
+}
\ No newline at end of file
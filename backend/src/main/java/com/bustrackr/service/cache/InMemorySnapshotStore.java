@@ -0,0 +1,73 @@
+package com.bustrackr.service.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * 프로세스 내 스냅샷 저장소 (bus.cache.store=memory, 기본값)
+ * Redis 없이 단일 노드로 실행하거나 테스트할 때 같은 만료 규칙으로 동작한다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "bus.cache", name = "store", havingValue = "memory", matchIfMissing = true)
+public class InMemorySnapshotStore implements SnapshotStore {
+    
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final LongSupplier clock;
+    
+    private record Entry(byte[] value, long expiresAt) {}
+    
+    public InMemorySnapshotStore() {
+        this(System::currentTimeMillis);
+    }
+    
+    InMemorySnapshotStore(LongSupplier clock) {
+        this.clock = clock;
+    }
+    
+    @Override
+    public byte[] get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() <= clock.getAsLong()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value();
+    }
+    
+    @Override
+    public void put(String key, byte[] value, Duration ttl) {
+        entries.put(key, new Entry(value, clock.getAsLong() + ttl.toMillis()));
+    }
+    
+    @Override
+    public void delete(String key) {
+        entries.remove(key);
+    }
+    
+    @Override
+    public boolean tryLease(String key, String owner, Duration ttl) {
+        byte[] value = owner.getBytes(StandardCharsets.UTF_8);
+        long now = clock.getAsLong();
+        Entry lease = entries.compute(key, (k, existing) ->
+            existing == null || existing.expiresAt() <= now || Arrays.equals(existing.value(), value)
+                ? new Entry(value, now + ttl.toMillis())
+                : existing);
+        return lease.value() == value;
+    }
+    
+    @Override
+    public void releaseLease(String key, String owner) {
+        byte[] value = owner.getBytes(StandardCharsets.UTF_8);
+        entries.computeIfPresent(key, (k, existing) -> Arrays.equals(existing.value(), value) ? null : existing);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.bustrackr.service.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 프로세스 내 메시지 전달 (bus.cache.store=memory, 단일 노드/테스트용)
+ * 발행한 스레드에서 구독자를 바로 호출한다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "bus.cache", name = "store", havingValue = "memory", matchIfMissing = true)
+public class LocalClusterEventBus implements ClusterEventBus {
+    
+    private final Map<String, List<Consumer<String>>> listeners = new ConcurrentHashMap<>();
+    
+    @Override
+    public void publish(String channel, String message) {
+        for (Consumer<String> listener : listeners.getOrDefault(channel, List.of())) {
+            listener.accept(message);
+        }
+    }
+    
+    @Override
+    public void subscribe(String channel, Consumer<String> listener) {
+        listeners.computeIfAbsent(channel, key -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+}
\ No newline at end of file
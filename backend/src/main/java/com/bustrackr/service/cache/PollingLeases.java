@@ -0,0 +1,145 @@
+package com.bustrackr.service.cache;
+
+import com.bustrackr.config.CacheProperties;
+import com.bustrackr.config.ClusterProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * 노선/정류장 수집 임대 (클러스터에서 키마다 한 노드만 외부 API를 호출하도록)
+ * 구독자가 있는 노드들이 슬롯 차례마다 임대를 잡거나 연장하고, 잡은 노드만 수집해 결과를 중계로 모든 노드에 보낸다.
+ * 임대는 수집 주기의 두 배 동안 유지되므로 수집 노드가 죽으면 늦어도 두 주기 뒤 다른 노드가 넘겨받는다.
+ * 수집 노드의 마지막 구독자가 떠나면 임대를 바로 반납해, 구독자가 남은 다른 노드가 다음 슬롯에 넘겨받는다.
+ * 임대는 공유 저장소에 있어야 노드끼리 보이므로 클러스터에서는 bus.cache.store=redis가 필요하다.
+ * 단일 노드(bus.cluster.relay=none)에서는 저장소를 거치지 않고 모든 키를 허용한다.
+ */
+@Component
+public class PollingLeases {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PollingLeases.class);
+    private static final int LEASE_PERIODS = 2;
+    
+    @Autowired
+    private ClusterProperties clusterProperties;
+    
+    @Autowired
+    private CacheProperties cacheProperties;
+    
+    @Autowired
+    private SnapshotStore snapshotStore;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private LongSupplier clock = System::currentTimeMillis;
+    private String nodeId;
+    
+    // 작업:키 -> 이 노드가 가진 임대의 만료 시각
+    private final Map<String, Long> held = new ConcurrentHashMap<>();
+    
+    public PollingLeases() {}
+    
+    PollingLeases(ClusterProperties clusterProperties, CacheProperties cacheProperties,
+                  SnapshotStore snapshotStore, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.clusterProperties = clusterProperties;
+        this.cacheProperties = cacheProperties;
+        this.snapshotStore = snapshotStore;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        init();
+    }
+    
+    @PostConstruct
+    void init() {
+        String configured = clusterProperties.getNodeId();
+        nodeId = configured != null && !configured.isBlank() ? configured : UUID.randomUUID().toString();
+        // 프로세스 내 저장소로는 다른 노드의 임대가 보이지 않아 모든 노드가 모든 키를 수집하게 됨
+        if (clusterProperties.isClustered() && cacheProperties.getStore() != CacheProperties.Store.REDIS) {
+            throw new IllegalStateException("bus.cluster.relay=" + clusterProperties.getRelay().name().toLowerCase()
+                + " requires bus.cache.store=redis so that polling leases are shared between nodes");
+        }
+        if (clusterProperties.isClustered()) {
+            logger.info("Polling leases enabled for node {} (relay {})", nodeId, clusterProperties.getRelay());
+        }
+    }
+    
+    /**
+     * 이번 슬롯의 키 중 이 노드가 임대를 잡은 키 (다른 노드가 가진 키는 빠짐)
+     * 저장소 오류로 임대를 확인하지 못한 키는 수집이 멈추지 않도록 이 노드가 수집한다.
+     */
+    public List<String> claim(String job, List<String> keys, Duration interval) {
+        if (!clusterProperties.isClustered()) {
+            return keys;
+        }
+        
+        Duration ttl = interval.multipliedBy(LEASE_PERIODS);
+        List<String> owned = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            String result;
+            try {
+                result = snapshotStore.tryLease(leaseKey(job, key), nodeId, ttl) ? "acquired" : "held-elsewhere";
+            } catch (RuntimeException e) {
+                logger.debug("Lease check failed for {} {}: {}", job, key, e.getMessage());
+                result = "error";
+            }
+            
+            if (result.equals("held-elsewhere")) {
+                held.remove(job + ":" + key);
+            } else {
+                held.put(job + ":" + key, clock.getAsLong() + ttl.toMillis());
+                owned.add(key);
+            }
+            meterRegistry.counter("bus.polling.lease.claims", "job", job, "result", result).increment();
+        }
+        return owned;
+    }
+    
+    /**
+     * 이 노드가 더 이상 수집하지 않을 키의 임대 반납 (다른 노드가 만료를 기다리지 않고 넘겨받도록)
+     * 저장소에서는 아직 이 노드가 주인일 때만 지우므로, 이미 넘어간 임대를 지우지 않는다.
+     */
+    public void release(String job, String key) {
+        if (!clusterProperties.isClustered() || held.remove(job + ":" + key) == null) {
+            return;
+        }
+        
+        try {
+            snapshotStore.releaseLease(leaseKey(job, key), nodeId);
+            meterRegistry.counter("bus.polling.lease.releases", "job", job).increment();
+        } catch (RuntimeException e) {
+            // 반납하지 못하면 임대는 만료 시각에 풀림
+            logger.debug("Lease release failed for {} {}: {}", job, key, e.getMessage());
+        }
+    }
+    
+    /**
+     * 이 노드가 키를 수집 중인지 (임대가 아직 유효한지, 단일 노드면 항상 true)
+     */
+    public boolean holds(String job, String key) {
+        if (!clusterProperties.isClustered()) {
+            return true;
+        }
+        Long expiresAt = held.get(job + ":" + key);
+        return expiresAt != null && expiresAt > clock.getAsLong();
+    }
+    
+    public String getNodeId() {
+        return nodeId;
+    }
+    
+    private String leaseKey(String job, String key) {
+        return cacheProperties.getKeyPrefix() + ":lease:" + job + ":" + key;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.bustrackr.service.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Redis pub/sub 메시지 전달 (bus.cache.store=redis)
+ * 구독 중 연결이 끊긴 사이의 메시지는 잃어버리므로, 받는 쪽 캐시는 TTL을 함께 둔다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "bus.cache", name = "store", havingValue = "redis")
+public class RedisClusterEventBus implements ClusterEventBus {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RedisClusterEventBus.class);
+    
+    @Autowired
+    private RedisConnectionFactory redisConnectionFactory;
+    
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+    
+    private RedisMessageListenerContainer container;
+    
+    @PostConstruct
+    void start() {
+        container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.afterPropertiesSet();
+        container.start();
+    }
+    
+    @PreDestroy
+    void stop() throws Exception {
+        container.destroy();
+    }
+    
+    @Override
+    public void publish(String channel, String message) {
+        try {
+            stringRedisTemplate.convertAndSend(channel, message);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to publish cluster event on {}: {}", channel, e.getMessage());
+        }
+    }
+    
+    @Override
+    public void subscribe(String channel, Consumer<String> listener) {
+        container.addMessageListener(
+            (message, pattern) -> listener.accept(new String(message.getBody(), StandardCharsets.UTF_8)),
+            new ChannelTopic(channel));
+    }
+}
\ No newline at end of file
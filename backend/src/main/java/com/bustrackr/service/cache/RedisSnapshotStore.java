@@ -0,0 +1,73 @@
+package com.bustrackr.service.cache;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Redis 스냅샷 저장소 (bus.cache.store=redis)
+ * 값은 이미 직렬화된 바이트이므로 변환 없이 SET/GET 한다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "bus.cache", name = "store", havingValue = "redis")
+public class RedisSnapshotStore implements SnapshotStore {
+    
+    // GET으로 비교한 뒤 DEL 하는 사이에 임대가 다른 노드로 넘어가지 않도록 스크립트 하나로 실행
+    private static final RedisScript<Long> RELEASE_LEASE = RedisScript.of(
+        "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end", Long.class);
+    
+    @Autowired
+    private RedisConnectionFactory redisConnectionFactory;
+    
+    private RedisTemplate<String, byte[]> redisTemplate;
+    
+    @PostConstruct
+    void init() {
+        redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(redisConnectionFactory);
+        redisTemplate.setKeySerializer(RedisSerializer.string());
+        redisTemplate.setValueSerializer(RedisSerializer.byteArray());
+        redisTemplate.afterPropertiesSet();
+    }
+    
+    @Override
+    public byte[] get(String key) {
+        return redisTemplate.opsForValue().get(key);
+    }
+    
+    @Override
+    public void put(String key, byte[] value, Duration ttl) {
+        redisTemplate.opsForValue().set(key, value, ttl);
+    }
+    
+    @Override
+    public void delete(String key) {
+        redisTemplate.delete(key);
+    }
+    
+    @Override
+    public boolean tryLease(String key, String owner, Duration ttl) {
+        byte[] value = owner.getBytes(StandardCharsets.UTF_8);
+        if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key, value, ttl))) {
+            return true;
+        }
+        // 자기 임대만 연장 (GET과 PEXPIRE 사이에 만료되면 다음 시도에서 SET NX로 다시 잡음)
+        return Arrays.equals(redisTemplate.opsForValue().get(key), value)
+            && Boolean.TRUE.equals(redisTemplate.expire(key, ttl));
+    }
+    
+    @Override
+    public void releaseLease(String key, String owner) {
+        redisTemplate.execute(RELEASE_LEASE, List.of(key), owner.getBytes(StandardCharsets.UTF_8));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,133 @@
+package com.bustrackr.service.cache;
+
+import com.bustrackr.config.CacheProperties;
+import com.bustrackr.dto.SerializedPayload;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * 노드 간 공유 스냅샷 캐시 (정류장 도착정보, 노선 위치 목록과 스냅샷 프레임)
+ * 해당 노선/정류장을 수집하는 노드가 동기화 후 직렬화 결과를 쓰고, 수집하지 않는 노드는 DB 대신 여기서 읽는다.
+ * 값은 버전(8바이트) + JSON 바이트이며 TTL은 수집 주기와 같아 수집이 멈추면 저절로 사라진다.
+ * 저장소 오류는 조회 실패로 취급해 호출 측이 DB로 넘어가게 한다.
+ */
+@Component
+public class SharedSnapshotCache {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SharedSnapshotCache.class);
+    private static final String METRIC_PREFIX = "bus.cache.shared";
+    
+    static final String LOCATIONS = "locations";
+    static final String SNAPSHOTS = "snapshots";
+    static final String ARRIVALS = "arrivals";
+    
+    @Autowired
+    private SnapshotStore snapshotStore;
+    
+    @Autowired
+    private CacheProperties cacheProperties;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    public SharedSnapshotCache() {}
+    
+    SharedSnapshotCache(SnapshotStore snapshotStore, CacheProperties cacheProperties, MeterRegistry meterRegistry) {
+        this.snapshotStore = snapshotStore;
+        this.cacheProperties = cacheProperties;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    public SerializedPayload getRouteLocations(String routeId) {
+        return get(LOCATIONS, routeId);
+    }
+    
+    public void putRouteLocations(String routeId, SerializedPayload payload) {
+        put(LOCATIONS, routeId, payload, Duration.ofMillis(cacheProperties.getLocationTtl()));
+    }
+    
+    /**
+     * 노선 스냅샷 프레임 (다른 노드에 연결된 클라이언트가 수집 노드의 delta 시퀀스에 맞춰 재동기화하도록)
+     */
+    public SerializedPayload getRouteSnapshot(String routeId) {
+        return get(SNAPSHOTS, routeId);
+    }
+    
+    public void putRouteSnapshot(String routeId, SerializedPayload payload) {
+        put(SNAPSHOTS, routeId, payload, Duration.ofMillis(cacheProperties.getLocationTtl()));
+    }
+    
+    public SerializedPayload getStopArrivals(String stopId) {
+        return get(ARRIVALS, stopId);
+    }
+    
+    public void putStopArrivals(String stopId, SerializedPayload payload) {
+        put(ARRIVALS, stopId, payload, Duration.ofMillis(cacheProperties.getArrivalTtl()));
+    }
+    
+    private SerializedPayload get(String cache, String id) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            byte[] value = snapshotStore.get(key(cache, id));
+            record(cache, value != null ? "hit" : "miss");
+            return value != null ? decode(value) : null;
+        } catch (RuntimeException e) {
+            record(cache, "error");
+            logger.debug("Shared snapshot read failed for {} {}: {}", cache, id, e.getMessage());
+            return null;
+        } finally {
+            sample.stop(timer(cache, "get"));
+        }
+    }
+    
+    private void put(String cache, String id, SerializedPayload payload, Duration ttl) {
+        if (payload == null) {
+            return;
+        }
+        
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            snapshotStore.put(key(cache, id), encode(payload), ttl);
+        } catch (RuntimeException e) {
+            record(cache, "error");
+            logger.debug("Shared snapshot write failed for {} {}: {}", cache, id, e.getMessage());
+        } finally {
+            sample.stop(timer(cache, "put"));
+        }
+    }
+    
+    private String key(String cache, String id) {
+        return cacheProperties.getKeyPrefix() + ":" + cache + ":" + id;
+    }
+    
+    private void record(String cache, String result) {
+        meterRegistry.counter(METRIC_PREFIX + ".requests", "cache", cache, "result", result).increment();
+    }
+    
+    private Timer timer(String cache, String operation) {
+        return Timer.builder(METRIC_PREFIX + ".latency")
+            .tag("cache", cache)
+            .tag("operation", operation)
+            .register(meterRegistry);
+    }
+    
+    private static byte[] encode(SerializedPayload payload) {
+        return ByteBuffer.allocate(Long.BYTES + payload.json().length)
+            .putLong(payload.version())
+            .put(payload.json())
+            .array();
+    }
+    
+    private static SerializedPayload decode(byte[] value) {
+        long version = ByteBuffer.wrap(value).getLong();
+        return new SerializedPayload(version, Arrays.copyOfRange(value, Long.BYTES, value.length));
+    }
+}
\ No newline at end of file
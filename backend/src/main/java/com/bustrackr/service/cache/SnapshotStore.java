@@ -0,0 +1,31 @@
+package com.bustrackr.service.cache;
+
+import java.time.Duration;
+
+/**
+ * 노드 간에 공유하는 스냅샷 바이트 저장소 (Redis 또는 프로세스 내 대체 구현)
+ */
+public interface SnapshotStore {
+    
+    /**
+     * 키의 값 (없거나 만료됐으면 null)
+     */
+    byte[] get(String key);
+    
+    /**
+     * 값을 덮어쓰고 ttl 뒤에 만료
+     */
+    void put(String key, byte[] value, Duration ttl);
+    
+    void delete(String key);
+    
+    /**
+     * 키가 비어 있으면 owner로 잡고, 이미 owner가 가진 임대면 ttl을 연장 (다른 owner가 가졌으면 false)
+     */
+    boolean tryLease(String key, String owner, Duration ttl);
+    
+    /**
+     * owner가 가진 임대일 때만 삭제 (이미 만료돼 다른 owner가 잡은 임대는 건드리지 않음)
+     */
+    void releaseLease(String key, String owner);
+}
\ No newline at end of file
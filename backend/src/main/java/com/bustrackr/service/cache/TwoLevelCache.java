@@ -0,0 +1,123 @@
+package com.bustrackr.service.cache;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * 2단계 캐시 (L1: 프로세스 내 Caffeine, L2: 노드 간 공유 SnapshotStore)
+ * 조회는 L1 -> L2 -> loader(DB) 순으로 내려가고, 같은 키를 동시에 조회하면 loader는 한 번만 실행된다.
+ * L1은 크기 상한을 넘으면 W-TinyLFU로 자주 쓰이는 키를 남긴다.
+ * 값이 바뀌면 evict로 L2를 지우고, 각 노드의 L1은 무효화 메시지를 받아 evictLocal로 지운다.
+ */
+public class TwoLevelCache<V> {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TwoLevelCache.class);
+    
+    private final String name;
+    private final Cache<String, V> local;
+    private final SnapshotStore sharedStore;
+    private final String sharedPrefix;
+    private final Duration sharedTtl;
+    private final ObjectMapper objectMapper;
+    private final JavaType type;
+    private final MeterRegistry meterRegistry;
+    
+    public TwoLevelCache(String name, long maximumSize, Duration localTtl,
+                         SnapshotStore sharedStore, String sharedPrefix, Duration sharedTtl,
+                         ObjectMapper objectMapper, JavaType type, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.local = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(localTtl)
+            .recordStats()
+            .build();
+        this.sharedStore = sharedStore;
+        this.sharedPrefix = sharedPrefix + ":" + name + ":";
+        this.sharedTtl = sharedTtl;
+        this.objectMapper = objectMapper;
+        this.type = type;
+        this.meterRegistry = meterRegistry;
+        
+        CaffeineCacheMetrics.monitor(meterRegistry, local, name);
+    }
+    
+    /**
+     * 키의 값 (loader가 null을 돌려주면 캐시하지 않음)
+     * 반환값은 여러 호출자가 공유하므로 수정하면 안 된다.
+     */
+    public V get(String key, Supplier<V> loader) {
+        return local.get(key, k -> loadShared(k, loader));
+    }
+    
+    /**
+     * L1과 L2에서 모두 제거 (값을 바꾼 노드가 호출)
+     */
+    public void evict(String key) {
+        local.invalidate(key);
+        try {
+            sharedStore.delete(sharedPrefix + key);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to evict shared {} entry {}: {}", name, key, e.getMessage());
+        }
+    }
+    
+    /**
+     * 이 노드의 L1에서만 제거 (무효화 메시지를 받은 노드가 호출)
+     */
+    public void evictLocal(String key) {
+        local.invalidate(key);
+    }
+    
+    public long localSize() {
+        return local.estimatedSize();
+    }
+    
+    private V loadShared(String key, Supplier<V> loader) {
+        V shared = readShared(key);
+        if (shared != null) {
+            return shared;
+        }
+        
+        V loaded = loader.get();
+        if (loaded != null) {
+            writeShared(key, loaded);
+        }
+        return loaded;
+    }
+    
+    // 공유 저장소 오류나 형식 변경으로 읽지 못하면 DB에서 다시 읽음
+    private V readShared(String key) {
+        try {
+            byte[] value = sharedStore.get(sharedPrefix + key);
+            record(value != null ? "hit" : "miss");
+            return value != null ? objectMapper.readValue(value, type) : null;
+        } catch (IOException | RuntimeException e) {
+            record("error");
+            logger.debug("Shared {} read failed for {}: {}", name, key, e.getMessage());
+            return null;
+        }
+    }
+    
+    private void writeShared(String key, V value) {
+        try {
+            sharedStore.put(sharedPrefix + key, objectMapper.writeValueAsBytes(value), sharedTtl);
+        } catch (IOException | RuntimeException e) {
+            record("error");
+            logger.debug("Shared {} write failed for {}: {}", name, key, e.getMessage());
+        }
+    }
+    
+    private void record(String result) {
+        meterRegistry.counter("bus.cache.static.shared", "cache", name, "result", result).increment();
+    }
+}
\ No newline at end of file
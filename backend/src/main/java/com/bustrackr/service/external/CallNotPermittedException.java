@@ -0,0 +1,11 @@
+package com.bustrackr.service.external;
+
+/**
+ * 서킷 브레이커가 열려 있어 외부 API 호출을 보내지 않았음을 알리는 예외
+ */
+public class CallNotPermittedException extends RuntimeException {
+    
+    public CallNotPermittedException(String endpoint) {
+        super("Circuit breaker is open for Seoul Bus API endpoint: " + endpoint);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,173 @@
+package com.bustrackr.service.external;
+
+import com.bustrackr.config.BusApiProperties;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 외부 API 엔드포인트 하나에 대한 서킷 브레이커
+ * 최근 N건의 실제 호출 결과(실패 여부, 지연)를 링 버퍼로 유지하다가 실패율이나 느린 호출 비율이 임계치를 넘으면 열린다.
+ * 열린 뒤 일정 시간이 지나면 half-open으로 바뀌어 소수의 시험 호출만 통과시키고, 모두 성공하면 다시 닫힌다.
+ */
+public class EndpointCircuitBreaker {
+    
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+    
+    /**
+     * 현재 상태와 슬라이딩 윈도우 통계 (비율은 0~100)
+     */
+    public record Snapshot(State state, int calls, double failureRate, double slowCallRate) {}
+    
+    private final String name;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier clock;
+    
+    private final boolean[] failed;
+    private final boolean[] slow;
+    private int position;
+    private int calls;
+    private int failures;
+    private int slowCalls;
+    
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+    
+    public EndpointCircuitBreaker(String name, BusApiProperties.CircuitBreaker settings) {
+        this(name, settings, System::nanoTime);
+    }
+    
+    EndpointCircuitBreaker(String name, BusApiProperties.CircuitBreaker settings, LongSupplier clock) {
+        this.name = name;
+        this.minimumCalls = Math.max(1, Math.min(settings.getMinimumCalls(), settings.getWindowSize()));
+        this.failureRateThreshold = settings.getFailureRateThreshold();
+        this.slowCallRateThreshold = settings.getSlowCallRateThreshold();
+        this.slowCallNanos = settings.getSlowCallThreshold() * 1_000_000L;
+        this.openNanos = settings.getOpenDuration() * 1_000_000L;
+        this.halfOpenCalls = Math.max(1, settings.getHalfOpenCalls());
+        this.clock = clock;
+        this.failed = new boolean[settings.getWindowSize()];
+        this.slow = new boolean[settings.getWindowSize()];
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    /**
+     * 호출 허가 요청 (열려 있으면 false, half-open이면 남은 시험 호출 수만큼만 true)
+     * true를 받은 호출은 반드시 onSuccess/onError/release 중 하나로 결과를 알려야 한다.
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (clock.getAsLong() - openedAt < openNanos) {
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits == 0) {
+                return false;
+            }
+            halfOpenPermits--;
+        }
+        return true;
+    }
+    
+    /**
+     * 지금 호출하면 허가될 상태인지 (상태는 바꾸지 않음)
+     */
+    public synchronized boolean isCallPermitted() {
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> clock.getAsLong() - openedAt >= openNanos;
+            case HALF_OPEN -> halfOpenPermits > 0;
+        };
+    }
+    
+    public synchronized void onSuccess(long durationNanos) {
+        record(false, durationNanos >= slowCallNanos);
+    }
+    
+    public synchronized void onError(long durationNanos) {
+        record(true, durationNanos >= slowCallNanos);
+    }
+    
+    /**
+     * 결과 없이 끝난 호출(구독 취소)의 허가 반납
+     */
+    public synchronized void release() {
+        if (state == State.HALF_OPEN && halfOpenPermits + halfOpenSuccesses < halfOpenCalls) {
+            halfOpenPermits++;
+        }
+    }
+    
+    public synchronized State getState() {
+        return state;
+    }
+    
+    public synchronized Snapshot snapshot() {
+        return new Snapshot(state, calls, rate(failures), rate(slowCalls));
+    }
+    
+    private void record(boolean isFailure, boolean isSlow) {
+        switch (state) {
+            case OPEN -> {
+                // 열리기 전에 나간 호출의 늦은 결과는 무시
+            }
+            case HALF_OPEN -> {
+                if (isFailure || isSlow) {
+                    transitionTo(State.OPEN);
+                } else if (++halfOpenSuccesses >= halfOpenCalls) {
+                    transitionTo(State.CLOSED);
+                }
+            }
+            case CLOSED -> {
+                if (calls == failed.length) {
+                    failures -= failed[position] ? 1 : 0;
+                    slowCalls -= slow[position] ? 1 : 0;
+                } else {
+                    calls++;
+                }
+                failed[position] = isFailure;
+                slow[position] = isSlow;
+                failures += isFailure ? 1 : 0;
+                slowCalls += isSlow ? 1 : 0;
+                position = (position + 1) % failed.length;
+                
+                if (calls >= minimumCalls
+                        && (rate(failures) >= failureRateThreshold || rate(slowCalls) >= slowCallRateThreshold)) {
+                    transitionTo(State.OPEN);
+                }
+            }
+        }
+    }
+    
+    private void transitionTo(State next) {
+        state = next;
+        switch (next) {
+            case OPEN -> openedAt = clock.getAsLong();
+            case HALF_OPEN -> {
+                halfOpenPermits = halfOpenCalls;
+                halfOpenSuccesses = 0;
+            }
+            case CLOSED -> {
+                // 닫힐 때는 이전 장애 구간의 통계를 버리고 새로 집계
+                position = 0;
+                calls = 0;
+                failures = 0;
+                slowCalls = 0;
+            }
+        }
+    }
+    
+    private double rate(int count) {
+        return calls == 0 ? 0 : count * 100.0 / calls;
+    }
+}
\ No newline at end of file
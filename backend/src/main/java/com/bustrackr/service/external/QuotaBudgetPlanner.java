@@ -0,0 +1,193 @@
+package com.bustrackr.service.external;
+
+import com.bustrackr.config.BusApiProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 서울시 버스 API 일일 호출 한도 예산 관리
+ * 남은 한도를 자정(KST)까지 남은 시간과 작업별 우선순위로 나눠, 각 작업이 기본 주기로 돌 수 없으면 주기를 늘린다.
+ * 필요량이 몫보다 적은 작업은 필요한 만큼만 가져가고 남는 몫은 다른 작업에 다시 나눈다.
+ * 사용량은 이 프로세스가 보낸 호출만 센다 (재시작 전 사용분은 quota-reserve로 흡수).
+ */
+@Component
+public class QuotaBudgetPlanner {
+    
+    private static final Logger logger = LoggerFactory.getLogger(QuotaBudgetPlanner.class);
+    private static final ZoneId QUOTA_ZONE = ZoneId.of("Asia/Seoul");
+    
+    @Autowired
+    private BusApiProperties busApiProperties;
+    
+    private final Clock clock;
+    private final Map<String, Job> jobs = new HashMap<>();
+    private LocalDate quotaDay;
+    private long usedToday;
+    
+    private static final class Job {
+        private int callsPerRun;
+        private Duration baseInterval;
+        private Duration plannedInterval;
+        private Instant lastRun;
+    }
+    
+    public QuotaBudgetPlanner() {
+        this.clock = Clock.system(QUOTA_ZONE);
+    }
+    
+    QuotaBudgetPlanner(BusApiProperties busApiProperties, Clock clock) {
+        this.busApiProperties = busApiProperties;
+        this.clock = clock;
+    }
+    
+    /**
+     * 실제로 보낸 호출 한 건 기록
+     */
+    public synchronized void recordCall() {
+        rollOver();
+        usedToday++;
+    }
+    
+    public synchronized long getUsedToday() {
+        rollOver();
+        return usedToday;
+    }
+    
+    /**
+     * 예비분을 뺀 오늘 남은 호출 수
+     */
+    public synchronized long getRemainingBudget() {
+        rollOver();
+        BusApiProperties.RateLimit settings = busApiProperties.getRateLimit();
+        long usable = settings.getDailyQuota() * (100 - settings.getQuotaReserve()) / 100;
+        return Math.max(0, usable - usedToday);
+    }
+    
+    /**
+     * 작업 실행 여부 결정 (예산으로 계산한 주기가 지났으면 실행 시각을 기록하고 true)
+     * 스케줄러는 기본 주기로 깨우고, 주기가 늘어난 동안은 이 메서드가 false를 돌려 틱을 건너뛴다.
+     */
+    public synchronized boolean tryStartRun(String jobName, int callsPerRun, Duration baseInterval) {
+        rollOver();
+        Job job = jobs.computeIfAbsent(jobName, name -> new Job());
+        job.callsPerRun = callsPerRun;
+        job.baseInterval = baseInterval;
+        
+        Duration interval = plannedInterval(jobName);
+        if (!interval.equals(job.plannedInterval)) {
+            if (interval.compareTo(baseInterval) > 0) {
+                logger.info("Quota budget tight ({} calls left), stretching {} interval to {}s",
+                    getRemainingBudget(), jobName, interval.toSeconds());
+            }
+            job.plannedInterval = interval;
+        }
+        
+        Instant now = clock.instant();
+        // 스케줄 틱이 조금 일찍 도는 경우를 위해 기본 주기의 10%는 허용
+        if (job.lastRun != null
+                && Duration.between(job.lastRun, now).plus(baseInterval.dividedBy(10)).compareTo(interval) < 0) {
+            return false;
+        }
+        job.lastRun = now;
+        return true;
+    }
+    
+    /**
+     * 남은 예산으로 작업을 돌릴 수 있는 최소 주기 (여유가 있으면 기본 주기)
+     */
+    public synchronized Duration plannedInterval(String jobName) {
+        rollOver();
+        Job target = jobs.get(jobName);
+        if (target == null || target.callsPerRun <= 0) {
+            return target != null ? target.baseInterval : Duration.ZERO;
+        }
+        
+        long secondsLeft = Math.max(1, Duration.between(clock.instant(), nextReset()).toSeconds());
+        long budget = getRemainingBudget();
+        if (budget <= 0) {
+            // 한도를 다 쓰면 자정 초기화까지 대기
+            return Duration.ofSeconds(secondsLeft);
+        }
+        
+        double allocated = allocate(secondsLeft, budget).getOrDefault(jobName, 0.0);
+        double need = demand(target, secondsLeft);
+        if (allocated >= need) {
+            return target.baseInterval;
+        }
+        long seconds = allocated <= 0
+            ? secondsLeft
+            : (long) Math.ceil(target.callsPerRun * (double) secondsLeft / allocated);
+        return Duration.ofSeconds(Math.min(secondsLeft, Math.max(seconds, target.baseInterval.toSeconds())));
+    }
+    
+    // 우선순위 가중치로 예산을 나누되, 필요량이 몫보다 적은 작업의 남는 몫은 나머지에 다시 분배 (water-filling)
+    private Map<String, Double> allocate(long secondsLeft, long budget) {
+        Map<String, Double> allocation = new HashMap<>();
+        Map<String, Double> pending = new HashMap<>();
+        jobs.forEach((name, job) -> {
+            if (job.callsPerRun > 0) {
+                pending.put(name, demand(job, secondsLeft));
+            }
+        });
+        
+        double remaining = budget;
+        while (!pending.isEmpty()) {
+            double pool = remaining;
+            double totalWeight = 0;
+            for (String name : pending.keySet()) {
+                totalWeight += weight(name);
+            }
+            
+            boolean satisfied = false;
+            for (Map.Entry<String, Double> entry : Map.copyOf(pending).entrySet()) {
+                double share = pool * weight(entry.getKey()) / totalWeight;
+                if (entry.getValue() <= share) {
+                    allocation.put(entry.getKey(), entry.getValue());
+                    pending.remove(entry.getKey());
+                    remaining -= entry.getValue();
+                    satisfied = true;
+                }
+            }
+            if (!satisfied) {
+                for (String name : pending.keySet()) {
+                    allocation.put(name, remaining * weight(name) / totalWeight);
+                }
+                break;
+            }
+        }
+        return allocation;
+    }
+    
+    // 기본 주기로 자정까지 돌 때 필요한 호출 수
+    private static double demand(Job job, long secondsLeft) {
+        return job.callsPerRun * (double) secondsLeft / Math.max(1, job.baseInterval.toSeconds());
+    }
+    
+    private double weight(String jobName) {
+        return Math.max(1, busApiProperties.getRateLimit().getPriorities().getOrDefault(jobName, 1));
+    }
+    
+    private Instant nextReset() {
+        return ZonedDateTime.now(clock.withZone(QUOTA_ZONE)).toLocalDate().plusDays(1)
+            .atStartOfDay(QUOTA_ZONE).toInstant();
+    }
+    
+    private void rollOver() {
+        LocalDate today = LocalDate.now(clock.withZone(QUOTA_ZONE));
+        if (!today.equals(quotaDay)) {
+            quotaDay = today;
+            usedToday = 0;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.bustrackr.service.external;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 서울시 버스 API 상태 (/actuator/health의 seoulApi 항목)
+ * 별도 호출 없이 엔드포인트별 서킷 브레이커 상태만 보여준다. 하나라도 열려 있으면 DEGRADED.
+ */
+@Component("seoulApi")
+public class SeoulApiHealthIndicator implements HealthIndicator {
+    
+    static final Status DEGRADED = new Status("DEGRADED");
+    
+    @Autowired
+    private SeoulBusApiService seoulBusApiService;
+    
+    @Override
+    public Health health() {
+        Map<String, EndpointCircuitBreaker.Snapshot> breakers = seoulBusApiService.getCircuitBreakerSnapshots();
+        boolean open = breakers.values().stream()
+            .anyMatch(snapshot -> snapshot.state() == EndpointCircuitBreaker.State.OPEN);
+        return Health.status(open ? DEGRADED : Status.UP)
+            .withDetails(breakers)
+            .build();
+    }
+}
\ No newline at end of file
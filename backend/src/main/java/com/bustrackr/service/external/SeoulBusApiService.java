@@ -1,162 +1,205 @@
 package com.bustrackr.service.external;
 
 import com.bustrackr.config.BusApiProperties;
-import com.bustrackr.dto.external.*;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.bustrackr.dto.external.SeoulBusPosition;
+import com.bustrackr.dto.external.SeoulStation;
+import com.bustrackr.dto.external.SeoulStationArrival;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 
 import java.time.Duration;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Service
 public class SeoulBusApiService {
     
     private static final Logger logger = LoggerFactory.getLogger(SeoulBusApiService.class);
     
+    public static final String STATIONS = "stations";
+    public static final String LOCATIONS = "locations";
+    public static final String ARRIVALS = "arrivals";
+    
     @Autowired
     private BusApiProperties busApiProperties;
     
+    @Autowired
+    private UpstreamRateLimiter upstreamRateLimiter;
+    
+    @Autowired
+    private QuotaBudgetPlanner quotaBudgetPlanner;
+    
     private final WebClient webClient;
-    private final ObjectMapper objectMapper;
+    private final SeoulBusResponseDecoder decoder;
+    private final Map<String, EndpointCircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+    private final SingleFlight singleFlight = new SingleFlight();
     
     public SeoulBusApiService() {
-        this.webClient = WebClient.builder()
-            .codecs(configurer -> configurer
-                .defaultCodecs()
-                .maxInMemorySize(16 * 1024 * 1024))
-            .build();
-        this.objectMapper = new ObjectMapper();
+        // 응답을 메모리에 모으지 않고 DataBuffer 단위로 스트리밍 파싱하므로 maxInMemorySize 설정 불필요
+        this.webClient = WebClient.builder().build();
+        this.decoder = new SeoulBusResponseDecoder();
     }
     
     /**
-     * 정류소명으로 정류소 검색
+     * 정류소명으로 정류소 검색 (논블로킹)
      */
-    public List<SeoulBusStationInfo> getStationsByName(String stationName) {
-        try {
-            String url = String.format("%s/stationinfo/getStationByName?serviceKey=%s&stSrch=%s&resultType=json",
-                busApiProperties.getBaseUrl(),
-                busApiProperties.getServiceKey(),
-                stationName);
-            
-            logger.debug("Calling Seoul Bus API: {}", url);
-            
-            String response = webClient.get()
-                .uri(url)
-                .retrieve()
-                .bodyToMono(String.class)
-                .timeout(Duration.ofMillis(busApiProperties.getTimeout()))
-                .block();
-            
-            SeoulBusApiResponse<SeoulBusStationInfo> apiResponse = objectMapper.readValue(
-                response, 
-                new TypeReference<SeoulBusApiResponse<SeoulBusStationInfo>>() {}
-            );
-            
-            if (apiResponse.getMsgBody() != null && apiResponse.getMsgBody().getItemList() != null) {
-                return apiResponse.getMsgBody().getItemList();
-            }
-            
-        } catch (WebClientResponseException e) {
-            logger.error("API call failed with status: {}, body: {}", e.getStatusCode(), e.getResponseBodyAsString());
-        } catch (Exception e) {
-            logger.error("Error calling Seoul Bus API", e);
-        }
+    public Flux<SeoulStation> fetchStationsByName(String stationName) {
+        String url = String.format("%s/stationinfo/getStationByName?serviceKey=%s&stSrch=%s&resultType=json",
+            busApiProperties.getBaseUrl(),
+            busApiProperties.getServiceKey(),
+            stationName);
+        
+        logger.debug("Calling Seoul Bus API: {}", url);
         
-        return Collections.emptyList();
+        return shared(STATIONS, stationName, () -> fetchItems(url, SeoulStation::from, STATIONS));
     }
     
     /**
-     * 노선ID로 실시간 버스 위치 조회
+     * 노선ID로 실시간 버스 위치 조회 (논블로킹)
      */
-    public List<SeoulBusLocationInfo> getBusLocationsByRoute(String routeId) {
-        try {
-            String url = String.format("%s/buspos/getBusPosByRouteSt?serviceKey=%s&busRouteId=%s&resultType=json",
-                busApiProperties.getBaseUrl(),
-                busApiProperties.getServiceKey(),
-                routeId);
-            
-            logger.debug("Calling Seoul Bus API for locations: {}", url);
-            
-            String response = webClient.get()
-                .uri(url)
-                .retrieve()
-                .bodyToMono(String.class)
-                .timeout(Duration.ofMillis(busApiProperties.getTimeout()))
-                .block();
-            
-            SeoulBusApiResponse<SeoulBusLocationInfo> apiResponse = objectMapper.readValue(
-                response, 
-                new TypeReference<SeoulBusApiResponse<SeoulBusLocationInfo>>() {}
-            );
-            
-            if (apiResponse.getMsgBody() != null && apiResponse.getMsgBody().getItemList() != null) {
-                return apiResponse.getMsgBody().getItemList();
-            }
-            
-        } catch (WebClientResponseException e) {
-            logger.error("API call failed with status: {}, body: {}", e.getStatusCode(), e.getResponseBodyAsString());
-        } catch (Exception e) {
-            logger.error("Error calling Seoul Bus API for locations", e);
-        }
+    public Flux<SeoulBusPosition> fetchBusLocationsByRoute(String routeId) {
+        String url = String.format("%s/buspos/getBusPosByRouteSt?serviceKey=%s&busRouteId=%s&resultType=json",
+            busApiProperties.getBaseUrl(),
+            busApiProperties.getServiceKey(),
+            routeId);
+        
+        logger.debug("Calling Seoul Bus API for locations: {}", url);
         
-        return Collections.emptyList();
+        return shared(LOCATIONS, routeId, () -> fetchItems(url, SeoulBusPosition::from, LOCATIONS));
     }
     
     /**
-     * 정류소ID로 버스 도착정보 조회
+     * 정류소ID로 버스 도착정보 조회 (논블로킹)
      */
-    public List<SeoulBusArrivalInfo> getArrivalsByStation(String stationId) {
-        try {
-            String url = String.format("%s/stationinfo/getStationByUid?serviceKey=%s&arsId=%s&resultType=json",
-                busApiProperties.getBaseUrl(),
-                busApiProperties.getServiceKey(),
-                stationId);
-            
-            logger.debug("Calling Seoul Bus API for arrivals: {}", url);
-            
-            String response = webClient.get()
-                .uri(url)
-                .retrieve()
-                .bodyToMono(String.class)
-                .timeout(Duration.ofMillis(busApiProperties.getTimeout()))
-                .block();
-            
-            SeoulBusApiResponse<SeoulBusArrivalInfo> apiResponse = objectMapper.readValue(
-                response, 
-                new TypeReference<SeoulBusApiResponse<SeoulBusArrivalInfo>>() {}
-            );
-            
-            if (apiResponse.getMsgBody() != null && apiResponse.getMsgBody().getItemList() != null) {
-                return apiResponse.getMsgBody().getItemList();
-            }
-            
-        } catch (WebClientResponseException e) {
-            logger.error("API call failed with status: {}, body: {}", e.getStatusCode(), e.getResponseBodyAsString());
-        } catch (Exception e) {
-            logger.error("Error calling Seoul Bus API for arrivals", e);
-        }
+    public Flux<SeoulStationArrival> fetchArrivalsByStation(String stationId) {
+        String url = String.format("%s/stationinfo/getStationByUid?serviceKey=%s&arsId=%s&resultType=json",
+            busApiProperties.getBaseUrl(),
+            busApiProperties.getServiceKey(),
+            stationId);
         
-        return Collections.emptyList();
+        logger.debug("Calling Seoul Bus API for arrivals: {}", url);
+        
+        return shared(ARRIVALS, stationId, () -> fetchItems(url, SeoulStationArrival::from, ARRIVALS));
     }
     
     /**
-     * API 연결 상태 확인
+     * 정류소명으로 정류소 검색
+     */
+    public List<SeoulStation> getStationsByName(String stationName) {
+        return fetchStationsByName(stationName).collectList().block();
+    }
+    
+    /**
+     * 노선ID로 실시간 버스 위치 조회
+     */
+    public List<SeoulBusPosition> getBusLocationsByRoute(String routeId) {
+        return fetchBusLocationsByRoute(routeId).collectList().block();
+    }
+    
+    /**
+     * 정류소ID로 버스 도착정보 조회
+     */
+    public List<SeoulStationArrival> getArrivalsByStation(String stationId) {
+        return fetchArrivalsByStation(stationId).collectList().block();
+    }
+    
+    /**
+     * API 연결 상태 확인 (열린 서킷 브레이커가 없으면 정상, 별도 호출 없음)
      */
     public boolean isApiHealthy() {
-        try {
-            // 간단한 API 호출로 연결 상태 확인
-            getStationsByName("test");
-            return true;
-        } catch (Exception e) {
-            logger.warn("Seoul Bus API health check failed", e);
-            return false;
+        return circuitBreakers.values().stream()
+            .noneMatch(breaker -> breaker.getState() == EndpointCircuitBreaker.State.OPEN);
+    }
+    
+    /**
+     * 엔드포인트 호출 가능 여부 (서킷 브레이커가 열려 있으면 false)
+     */
+    public boolean isAvailable(String endpoint) {
+        return circuitBreaker(endpoint).isCallPermitted();
+    }
+    
+    /**
+     * 엔드포인트별 서킷 브레이커 상태
+     */
+    public Map<String, EndpointCircuitBreaker.Snapshot> getCircuitBreakerSnapshots() {
+        Map<String, EndpointCircuitBreaker.Snapshot> snapshots = new LinkedHashMap<>();
+        for (String endpoint : List.of(STATIONS, LOCATIONS, ARRIVALS)) {
+            snapshots.put(endpoint, circuitBreaker(endpoint).snapshot());
         }
+        return snapshots;
+    }
+    
+    /**
+     * 같은 엔드포인트/파라미터의 동시 호출을 하나로 합치고 결과를 coalesce-window 동안 재사용
+     * 결과 목록은 여러 호출자가 공유하므로 읽기 전용으로 만든다. 실패한 호출은 재사용하지 않는다.
+     */
+    private <T> Flux<T> shared(String endpoint, String parameter, Supplier<Flux<T>> call) {
+        return singleFlight.<List<T>>execute(endpoint + ":" + parameter,
+                Duration.ofMillis(busApiProperties.getCoalesceWindow()),
+                () -> call.get().collectList().map(Collections::unmodifiableList))
+            .flatMapIterable(items -> items);
+    }
+    
+    /**
+     * 공통 호출 로직: 응답 본문을 스트리밍 파싱해 itemList 항목을 방출하고, 실패하면 오류를 그대로 전달
+     * (빈 목록으로 바꾸면 실패가 정상 응답으로 재사용되고 호출자가 기존 데이터를 지울 수 있음)
+     * 호출 결과(실패 여부, 소요 시간)는 엔드포인트별 서킷 브레이커에 기록하고,
+     * 브레이커가 열려 있으면 요청을 보내지 않고 CallNotPermittedException으로 바로 끝낸다.
+     * 요청은 공용 토큰 버킷에서 토큰을 받은 뒤에 나가고, 보낸 건수는 일일 예산에 기록한다.
+     */
+    private <T> Flux<T> fetchItems(String url, Function<Map<String, String>, T> mapper, String endpoint) {
+        EndpointCircuitBreaker breaker = circuitBreaker(endpoint);
+        return Flux.defer(() -> {
+            // 열린 브레이커 뒤에서 토큰을 기다리지 않도록 먼저 확인
+            if (!breaker.isCallPermitted()) {
+                return Flux.error(new CallNotPermittedException(endpoint));
+            }
+            return upstreamRateLimiter.acquire().thenMany(Flux.defer(() -> {
+                if (!breaker.tryAcquirePermission()) {
+                    return Flux.error(new CallNotPermittedException(endpoint));
+                }
+                quotaBudgetPlanner.recordCall();
+                return call(url, mapper, breaker);
+            }));
+        });
+    }
+    
+    private <T> Flux<T> call(String url, Function<Map<String, String>, T> mapper, EndpointCircuitBreaker breaker) {
+        long startedAt = System.nanoTime();
+        return webClient.get()
+            .uri(url)
+            .retrieve()
+            .bodyToFlux(DataBuffer.class)
+            .transform(body -> decoder.decode(body, mapper))
+            .timeout(Duration.ofMillis(busApiProperties.getTimeout()))
+            .doOnComplete(() -> {
+                breaker.onSuccess(System.nanoTime() - startedAt);
+                upstreamRateLimiter.onSuccess();
+            })
+            .doOnError(e -> {
+                breaker.onError(System.nanoTime() - startedAt);
+                if (e instanceof WebClientResponseException.TooManyRequests) {
+                    upstreamRateLimiter.onThrottled();
+                }
+            })
+            .doOnCancel(breaker::release)
+            .doOnError(WebClientResponseException.class, e ->
+                logger.error("API call failed with status: {}, body: {}", e.getStatusCode(), e.getResponseBodyAsString()));
+    }
+    
+    private EndpointCircuitBreaker circuitBreaker(String endpoint) {
+        return circuitBreakers.computeIfAbsent(endpoint,
+            name -> new EndpointCircuitBreaker(name, busApiProperties.getCircuitBreaker()));
     }
 }
\ No newline at end of file
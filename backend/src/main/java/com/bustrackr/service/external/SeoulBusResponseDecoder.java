@@ -0,0 +1,156 @@
+package com.bustrackr.service.external;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 서울시 버스 API 응답을 DataBuffer 스트림에서 토큰 단위로 읽어 msgBody.itemList 항목만 레코드로 변환
+ * 응답 전체를 문자열이나 트리로 만들지 않고, 항목 하나 분량의 필드만 잠시 보관한다.
+ */
+class SeoulBusResponseDecoder {
+    
+    private final JsonFactory jsonFactory = new JsonFactory();
+    
+    <T> Flux<T> decode(Flux<DataBuffer> body, Function<Map<String, String>, T> mapper) {
+        return Flux.defer(() -> {
+            ItemListParser<T> parser = new ItemListParser<>(jsonFactory, mapper);
+            return body.concatMapIterable(parser::feed)
+                .concatWith(Flux.defer(() -> Flux.fromIterable(parser.finish())))
+                .doFinally(signal -> parser.close());
+        });
+    }
+    
+    /**
+     * 논블로킹 파서 상태 (구독 하나당 하나)
+     */
+    private static final class ItemListParser<T> {
+        
+        private final JsonParser parser;
+        private final ByteArrayFeeder feeder;
+        private final Function<Map<String, String>, T> mapper;
+        private final Map<String, String> fields = new HashMap<>();
+        
+        private String fieldName;
+        private int depth;
+        private int listDepth = -1;
+        private int itemDepth = -1;
+        private boolean inItem;
+        
+        ItemListParser(JsonFactory jsonFactory, Function<Map<String, String>, T> mapper) {
+            try {
+                this.parser = jsonFactory.createNonBlockingByteArrayParser();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+            this.mapper = mapper;
+        }
+        
+        List<T> feed(DataBuffer buffer) {
+            try {
+                byte[] bytes = new byte[buffer.readableByteCount()];
+                buffer.read(bytes);
+                feeder.feedInput(bytes, 0, bytes.length);
+                return drain();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                DataBufferUtils.release(buffer);
+            }
+        }
+        
+        List<T> finish() {
+            try {
+                feeder.endOfInput();
+                return drain();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        
+        void close() {
+            try {
+                parser.close();
+            } catch (IOException ignored) {
+                // 이미 끝난 스트림이므로 무시
+            }
+        }
+        
+        private List<T> drain() throws IOException {
+            List<T> items = Collections.emptyList();
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                switch (token) {
+                    case FIELD_NAME -> fieldName = parser.currentName();
+                    case START_OBJECT, START_ARRAY -> enter(token);
+                    case END_OBJECT, END_ARRAY -> {
+                        T item = exit();
+                        if (item != null) {
+                            if (items.isEmpty()) {
+                                items = new ArrayList<>();
+                            }
+                            items.add(item);
+                        }
+                    }
+                    default -> {
+                        if (inItem && depth == itemDepth) {
+                            fields.put(fieldName, token == JsonToken.VALUE_NULL ? null : parser.getValueAsString());
+                        }
+                    }
+                }
+            }
+            return items;
+        }
+        
+        private void enter(JsonToken token) {
+            depth++;
+            if (listDepth < 0 && isItemList(parser.getParsingContext())) {
+                // itemList가 배열이면 원소 객체가, 단일 객체로 내려오면 자기 자신이 항목
+                listDepth = depth;
+                itemDepth = token == JsonToken.START_ARRAY ? depth + 1 : depth;
+            }
+            if (token == JsonToken.START_OBJECT && depth == itemDepth) {
+                inItem = true;
+                fields.clear();
+            }
+        }
+        
+        private T exit() {
+            T item = null;
+            if (inItem && depth == itemDepth) {
+                inItem = false;
+                item = mapper.apply(fields);
+            }
+            if (depth == listDepth) {
+                listDepth = -1;
+                itemDepth = -1;
+            }
+            depth--;
+            return item;
+        }
+        
+        // 현재 컨테이너가 msgBody.itemList 인지 확인
+        private static boolean isItemList(JsonStreamContext context) {
+            JsonStreamContext msgBody = context.getParent();
+            return msgBody != null && msgBody.inObject()
+                && "itemList".equals(msgBody.getCurrentName())
+                && msgBody.getParent() != null
+                && "msgBody".equals(msgBody.getParent().getCurrentName());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.bustrackr.service.external;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키로 동시에 들어온 외부 호출을 하나로 합치는 single-flight 캐시
+ * 키마다 cache()로 감싼 Mono 하나를 두어, 진행 중인 호출에는 모든 구독자가 붙고
+ * 결과는 freshness 동안 재사용한다. 기간이 지나거나 오류로 끝나면 키를 지워 다음 구독자가 새 호출을 시작한다.
+ */
+final class SingleFlight {
+    
+    private final Map<String, Mono<?>> calls = new ConcurrentHashMap<>();
+    
+    @SuppressWarnings("unchecked")
+    <T> Mono<T> execute(String key, Duration freshness, Supplier<Mono<T>> call) {
+        // 구독할 때마다 키를 다시 찾아, 지워진 호출 대신 새 호출에 붙도록 함
+        return Mono.defer(() -> (Mono<T>) calls.computeIfAbsent(key, k -> start(k, freshness, call)));
+    }
+    
+    int size() {
+        return calls.size();
+    }
+    
+    private <T> Mono<T> start(String key, Duration freshness, Supplier<Mono<T>> call) {
+        AtomicReference<Mono<T>> flight = new AtomicReference<>();
+        Mono<T> cached = call.get()
+            .doOnSuccess(value -> {
+                if (value != null && !freshness.isZero()) {
+                    Schedulers.parallel().schedule(() -> calls.remove(key, flight.get()),
+                        freshness.toNanos(), TimeUnit.NANOSECONDS);
+                } else {
+                    calls.remove(key, flight.get());
+                }
+            })
+            .doOnError(e -> calls.remove(key, flight.get()))
+            .doOnCancel(() -> calls.remove(key, flight.get()))
+            .cache();
+        flight.set(cached);
+        return cached;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,110 @@
+package com.bustrackr.service.external;
+
+import com.bustrackr.config.BusApiProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * 서울시 버스 API 초당 호출 제한용 토큰 버킷 (모든 엔드포인트가 공유)
+ * 토큰이 없으면 스레드를 막지 않고 다음 토큰이 생길 시각까지 Mono.delay로 기다린다.
+ * 429 응답을 받으면 충전 속도를 절반으로 줄이고, 성공할 때마다 설정값까지 조금씩 되돌린다(AIMD).
+ */
+@Component
+public class UpstreamRateLimiter {
+    
+    private static final Logger logger = LoggerFactory.getLogger(UpstreamRateLimiter.class);
+    private static final double MIN_PERMITS_PER_SECOND = 0.5;
+    private static final double RECOVERY_STEP = 0.05;
+    
+    @Autowired
+    private BusApiProperties busApiProperties;
+    
+    private final LongSupplier clock;
+    
+    private double rate = -1;
+    private double tokens;
+    private long refilledAt;
+    
+    public UpstreamRateLimiter() {
+        this.clock = System::nanoTime;
+    }
+    
+    UpstreamRateLimiter(BusApiProperties busApiProperties, LongSupplier clock) {
+        this.busApiProperties = busApiProperties;
+        this.clock = clock;
+    }
+    
+    /**
+     * 토큰 하나를 예약하고, 토큰이 생길 때까지 기다린 뒤 완료되는 Mono
+     * 기다리는 도중 취소되면(작업 타임아웃 등) 호출하지 않으므로 예약한 토큰을 돌려준다.
+     */
+    public Mono<Void> acquire() {
+        return Mono.defer(() -> {
+            long waitNanos = reserve();
+            return waitNanos <= 0 ? Mono.empty() : Mono.delay(Duration.ofNanos(waitNanos)).then().doOnCancel(this::refund);
+        });
+    }
+    
+    /**
+     * 토큰 하나 예약 (토큰이 모자라면 잔고를 음수로 두고 기다려야 할 시간을 반환)
+     */
+    synchronized long reserve() {
+        refill();
+        tokens -= 1;
+        return tokens >= 0 ? 0 : (long) (-tokens / rate * 1_000_000_000L);
+    }
+    
+    /**
+     * 쓰지 않은 예약 토큰 반환
+     */
+    synchronized void refund() {
+        refill();
+        tokens = Math.min(busApiProperties.getRateLimit().getBurst(), tokens + 1);
+    }
+    
+    /**
+     * 상류에서 호출 제한(429)을 받았을 때 충전 속도 절반으로 감소
+     */
+    public synchronized void onThrottled() {
+        refill();
+        double reduced = Math.max(MIN_PERMITS_PER_SECOND, rate / 2);
+        if (reduced < rate) {
+            logger.warn("Seoul Bus API throttled, reducing rate limit from {} to {} calls/s", rate, reduced);
+        }
+        rate = reduced;
+        tokens = Math.min(tokens, 0);
+    }
+    
+    /**
+     * 정상 응답마다 설정된 속도까지 조금씩 회복
+     */
+    public synchronized void onSuccess() {
+        refill();
+        double max = busApiProperties.getRateLimit().getPermitsPerSecond();
+        rate = Math.min(max, rate + max * RECOVERY_STEP);
+    }
+    
+    public synchronized double getCurrentRate() {
+        refill();
+        return rate;
+    }
+    
+    private void refill() {
+        BusApiProperties.RateLimit settings = busApiProperties.getRateLimit();
+        long now = clock.getAsLong();
+        if (rate < 0) {
+            rate = settings.getPermitsPerSecond();
+            tokens = settings.getBurst();
+            refilledAt = now;
+            return;
+        }
+        tokens = Math.min(settings.getBurst(), tokens + (now - refilledAt) / 1e9 * rate);
+        refilledAt = now;
+    }
+}
\ No newline at end of file
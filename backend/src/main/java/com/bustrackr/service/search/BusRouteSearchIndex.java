@@ -0,0 +1,28 @@
+package com.bustrackr.service.search;
+
+import com.bustrackr.domain.BusRoute;
+import com.bustrackr.dto.BusRouteResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 노선명/노선 ID 검색 색인
+ */
+@Component
+public class BusRouteSearchIndex extends NgramSearchIndex<BusRouteResponse> {
+    
+    public void rebuild(List<BusRoute> busRoutes) {
+        replaceAll(busRoutes.stream().map(BusRouteSearchIndex::toEntry).collect(Collectors.toList()));
+    }
+    
+    public void upsert(BusRoute busRoute) {
+        put(toEntry(busRoute));
+    }
+    
+    private static Entry<BusRouteResponse> toEntry(BusRoute busRoute) {
+        return new Entry<>(busRoute.getRouteId(), new BusRouteResponse(busRoute),
+            busRoute.getRouteName(), busRoute.getRouteId());
+    }
+}
\ No newline at end of file
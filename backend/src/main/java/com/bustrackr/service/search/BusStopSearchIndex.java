@@ -0,0 +1,28 @@
+package com.bustrackr.service.search;
+
+import com.bustrackr.domain.BusStop;
+import com.bustrackr.dto.BusStopSearchResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 정류장명/정류장 ID 검색 색인
+ */
+@Component
+public class BusStopSearchIndex extends NgramSearchIndex<BusStopSearchResponse> {
+    
+    public void rebuild(List<BusStop> busStops) {
+        replaceAll(busStops.stream().map(BusStopSearchIndex::toEntry).collect(Collectors.toList()));
+    }
+    
+    public void upsert(BusStop busStop) {
+        put(toEntry(busStop));
+    }
+    
+    private static Entry<BusStopSearchResponse> toEntry(BusStop busStop) {
+        return new Entry<>(busStop.getStopId(), new BusStopSearchResponse(busStop),
+            busStop.getStopName(), busStop.getStopId());
+    }
+}
\ No newline at end of file
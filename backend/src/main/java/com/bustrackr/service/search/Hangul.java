@@ -0,0 +1,45 @@
+package com.bustrackr.service.search;
+
+/**
+ * 한글 초성 처리
+ */
+final class Hangul {
+    
+    private static final String CHOSEONG = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+    private static final char SYLLABLE_FIRST = '가';
+    private static final char SYLLABLE_LAST = '힣';
+    private static final int SYLLABLES_PER_CHOSEONG = 21 * 28;
+    
+    private Hangul() {}
+    
+    /**
+     * 완성형 음절은 초성으로 바꾸고 나머지 문자는 그대로 둠 ("강남역" -> "ㄱㄴㅇ")
+     */
+    static String choseong(String text) {
+        StringBuilder builder = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= SYLLABLE_FIRST && c <= SYLLABLE_LAST) {
+                builder.append(CHOSEONG.charAt((c - SYLLABLE_FIRST) / SYLLABLES_PER_CHOSEONG));
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+    
+    /**
+     * 초성 자모로만 이루어진 검색어인지 ("ㄱㄴ")
+     */
+    static boolean isChoseongOnly(String text) {
+        if (text.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (CHOSEONG.indexOf(text.charAt(i)) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
\ No newline at end of file
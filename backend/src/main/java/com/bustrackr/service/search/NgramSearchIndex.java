@@ -0,0 +1,258 @@
+package com.bustrackr.service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 이름/코드 부분 문자열 검색용 n-gram 역색인
+ * 한 글자(unigram)와 두 글자(bigram) 단위로 포스팅 리스트를 만들어 두고, 검색어의 n-gram 교집합으로 후보를 좁힌 뒤
+ * 실제 포함 여부를 확인해 점수 상위 K개만 돌려준다. 이름의 초성 문자열도 따로 색인해 "ㄱㄴ" 같은 초성 검색을 지원한다.
+ * 쓰기는 인스턴스 단위로 직렬화하고, 포스팅 리스트는 불변 객체를 교체하므로 검색은 잠금 없이 동작한다.
+ */
+public class NgramSearchIndex<T> {
+    
+    private static final int EXACT = 3;
+    private static final int PREFIX = 2;
+    private static final int CONTAINS = 1;
+    
+    private final Map<String, Document<T>> documentsByKey = new ConcurrentHashMap<>();
+    private final Map<Integer, Document<T>> documentsById = new ConcurrentHashMap<>();
+    private final Map<String, PostingList> postings = new ConcurrentHashMap<>();
+    private final Map<String, PostingList> choseongPostings = new ConcurrentHashMap<>();
+    private int nextId;
+    private volatile boolean loaded;
+    
+    /**
+     * 색인할 항목 (name은 초성 색인 대상, code는 ID 같은 보조 검색 필드)
+     */
+    public record Entry<T>(String key, T value, String name, String code) {}
+    
+    private record Document<T>(int id, String key, T value, String name, String code, String choseong) {}
+    
+    private record Scored<T>(Document<T> document, int score) {}
+    
+    public boolean isLoaded() {
+        return loaded;
+    }
+    
+    /**
+     * 전체 항목으로 색인 재구성 (포스팅 리스트를 한 번에 만들어 압축)
+     */
+    public synchronized void replaceAll(Collection<Entry<T>> entries) {
+        documentsByKey.clear();
+        documentsById.clear();
+        postings.clear();
+        choseongPostings.clear();
+        nextId = 0;
+        
+        Map<String, IntList> building = new HashMap<>();
+        Map<String, IntList> choseongBuilding = new HashMap<>();
+        for (Entry<T> entry : entries) {
+            Document<T> document = toDocument(nextId++, entry);
+            documentsByKey.put(document.key(), document);
+            documentsById.put(document.id(), document);
+            for (String gram : grams(document)) {
+                building.computeIfAbsent(gram, g -> new IntList()).add(document.id());
+            }
+            for (String gram : ngrams(document.choseong())) {
+                choseongBuilding.computeIfAbsent(gram, g -> new IntList()).add(document.id());
+            }
+        }
+        building.forEach((gram, ids) -> postings.put(gram, PostingList.of(ids.values, ids.size)));
+        choseongBuilding.forEach((gram, ids) -> choseongPostings.put(gram, PostingList.of(ids.values, ids.size)));
+        loaded = true;
+    }
+    
+    /**
+     * 항목 하나 추가/갱신 (기존 문서 ID를 재사용해 바뀐 n-gram만 포스팅을 교체)
+     */
+    public synchronized void put(Entry<T> entry) {
+        Document<T> previous = documentsByKey.get(entry.key());
+        Document<T> document = toDocument(previous != null ? previous.id() : nextId++, entry);
+        
+        Set<String> oldGrams = previous != null ? grams(previous) : Set.of();
+        Set<String> newGrams = grams(document);
+        Set<String> oldChoseong = previous != null ? ngrams(previous.choseong()) : Set.of();
+        Set<String> newChoseong = ngrams(document.choseong());
+        
+        documentsByKey.put(document.key(), document);
+        documentsById.put(document.id(), document);
+        updatePostings(postings, document.id(), oldGrams, newGrams);
+        updatePostings(choseongPostings, document.id(), oldChoseong, newChoseong);
+    }
+    
+    public synchronized void remove(String key) {
+        Document<T> previous = documentsByKey.remove(key);
+        if (previous == null) {
+            return;
+        }
+        documentsById.remove(previous.id());
+        updatePostings(postings, previous.id(), grams(previous), Set.of());
+        updatePostings(choseongPostings, previous.id(), ngrams(previous.choseong()), Set.of());
+    }
+    
+    public boolean contains(String key) {
+        return documentsByKey.containsKey(key);
+    }
+    
+    public int size() {
+        return documentsByKey.size();
+    }
+    
+    /**
+     * 검색어를 포함하는 항목 상위 limit개 (완전 일치 > 접두 일치 > 부분 일치, 앞쪽 일치와 짧은 이름 우선)
+     */
+    public List<T> search(String query, int limit) {
+        String normalized = query == null ? "" : normalize(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        
+        boolean choseongQuery = Hangul.isChoseongOnly(normalized);
+        int[] candidates = candidates(choseongQuery ? choseongPostings : postings, normalized);
+        
+        Comparator<Scored<T>> order = Comparator.<Scored<T>>comparingInt(Scored::score)
+            .thenComparing(scored -> scored.document().key(), Comparator.reverseOrder());
+        PriorityQueue<Scored<T>> top = new PriorityQueue<>(order);
+        for (int id : candidates) {
+            Document<T> document = documentsById.get(id);
+            if (document == null) {
+                continue;
+            }
+            int score = choseongQuery
+                ? score(document.choseong(), normalized)
+                : Math.max(score(document.name(), normalized), score(document.code(), normalized));
+            if (score <= 0) {
+                continue;
+            }
+            top.offer(new Scored<>(document, score));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        
+        List<Scored<T>> ranked = new ArrayList<>(top);
+        ranked.sort(order.reversed());
+        List<T> results = new ArrayList<>(ranked.size());
+        for (Scored<T> scored : ranked) {
+            results.add(scored.document().value());
+        }
+        return results;
+    }
+    
+    // 검색어의 모든 n-gram 포스팅 교집합 (짧은 리스트부터)
+    private static int[] candidates(Map<String, PostingList> index, String normalized) {
+        List<PostingList> lists = new ArrayList<>();
+        for (String gram : queryGrams(normalized)) {
+            PostingList list = index.get(gram);
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(PostingList::size));
+        
+        int[] result = lists.get(0).toArray();
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = PostingList.intersect(result, lists.get(i).toArray());
+        }
+        return result;
+    }
+    
+    private static int score(String field, String query) {
+        int index = field.indexOf(query);
+        if (index < 0) {
+            return 0;
+        }
+        int tier = field.length() == query.length() ? EXACT : index == 0 ? PREFIX : CONTAINS;
+        return tier * 1_000_000 - Math.min(index, 999) * 1_000 - Math.min(field.length(), 999);
+    }
+    
+    private static void updatePostings(Map<String, PostingList> index, int id, Set<String> oldGrams, Set<String> newGrams) {
+        for (String gram : oldGrams) {
+            if (!newGrams.contains(gram)) {
+                PostingList updated = index.getOrDefault(gram, PostingList.EMPTY).without(id);
+                if (updated.size() == 0) {
+                    index.remove(gram);
+                } else {
+                    index.put(gram, updated);
+                }
+            }
+        }
+        for (String gram : newGrams) {
+            if (!oldGrams.contains(gram)) {
+                index.put(gram, index.getOrDefault(gram, PostingList.EMPTY).with(id));
+            }
+        }
+    }
+    
+    private Document<T> toDocument(int id, Entry<T> entry) {
+        String name = entry.name() == null ? "" : normalize(entry.name());
+        String code = entry.code() == null ? "" : normalize(entry.code());
+        return new Document<>(id, entry.key(), entry.value(), name, code, Hangul.choseong(name));
+    }
+    
+    private static Set<String> grams(Document<?> document) {
+        Set<String> grams = ngrams(document.name());
+        grams.addAll(ngrams(document.code()));
+        return grams;
+    }
+    
+    // 색인 대상 문자열의 모든 unigram, bigram
+    private static Set<String> ngrams(String text) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i < text.length(); i++) {
+            grams.add(text.substring(i, i + 1));
+            if (i + 2 <= text.length()) {
+                grams.add(text.substring(i, i + 2));
+            }
+        }
+        return grams;
+    }
+    
+    // 검색어는 한 글자면 unigram, 그 이상이면 bigram만 사용
+    private static Set<String> queryGrams(String query) {
+        if (query.length() == 1) {
+            return Set.of(query);
+        }
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 2 <= query.length(); i++) {
+            grams.add(query.substring(i, i + 2));
+        }
+        return grams;
+    }
+    
+    // 대소문자와 공백 차이는 무시
+    static String normalize(String text) {
+        StringBuilder builder = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                builder.append(c);
+            }
+        }
+        return builder.toString().toLowerCase(Locale.ROOT);
+    }
+    
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+        
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
\ No newline at end of file
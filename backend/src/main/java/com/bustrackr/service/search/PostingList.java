@@ -0,0 +1,116 @@
+package com.bustrackr.service.search;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+/**
+ * 오름차순 문서 ID 목록을 차분(delta) + varint로 압축해 보관하는 불변 포스팅 리스트
+ * 갱신은 새 인스턴스를 만들어 교체하므로 읽는 쪽은 잠금 없이 사용할 수 있다.
+ */
+final class PostingList {
+    
+    static final PostingList EMPTY = new PostingList(new byte[0], 0);
+    
+    private final byte[] data;
+    private final int size;
+    
+    private PostingList(byte[] data, int size) {
+        this.data = data;
+        this.size = size;
+    }
+    
+    /**
+     * 정렬된 ID 배열의 앞 length개로 생성
+     */
+    static PostingList of(int[] sortedIds, int length) {
+        if (length == 0) {
+            return EMPTY;
+        }
+        
+        ByteArrayOutputStream out = new ByteArrayOutputStream(length * 2);
+        int previous = 0;
+        for (int i = 0; i < length; i++) {
+            int delta = sortedIds[i] - previous;
+            previous = sortedIds[i];
+            while ((delta & ~0x7F) != 0) {
+                out.write((delta & 0x7F) | 0x80);
+                delta >>>= 7;
+            }
+            out.write(delta);
+        }
+        return new PostingList(out.toByteArray(), length);
+    }
+    
+    int size() {
+        return size;
+    }
+    
+    int[] toArray() {
+        int[] ids = new int[size];
+        int position = 0;
+        int previous = 0;
+        for (int i = 0; i < size; i++) {
+            int delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                delta |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            previous += delta;
+            ids[i] = previous;
+        }
+        return ids;
+    }
+    
+    PostingList with(int id) {
+        int[] ids = toArray();
+        int index = Arrays.binarySearch(ids, id);
+        if (index >= 0) {
+            return this;
+        }
+        
+        int insertAt = -index - 1;
+        int[] updated = new int[ids.length + 1];
+        System.arraycopy(ids, 0, updated, 0, insertAt);
+        updated[insertAt] = id;
+        System.arraycopy(ids, insertAt, updated, insertAt + 1, ids.length - insertAt);
+        return of(updated, updated.length);
+    }
+    
+    PostingList without(int id) {
+        int[] ids = toArray();
+        int index = Arrays.binarySearch(ids, id);
+        if (index < 0) {
+            return this;
+        }
+        
+        int[] updated = new int[ids.length - 1];
+        System.arraycopy(ids, 0, updated, 0, index);
+        System.arraycopy(ids, index + 1, updated, index, ids.length - index - 1);
+        return of(updated, updated.length);
+    }
+    
+    /**
+     * 정렬된 두 ID 배열의 교집합
+     */
+    static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int count = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[count++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+}
\ No newline at end of file
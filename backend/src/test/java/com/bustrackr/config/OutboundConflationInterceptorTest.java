@@ -0,0 +1,231 @@
+package com.bustrackr.config;
+
+import com.bustrackr.dto.SerializedPayload;
+import com.bustrackr.service.SerializedPayloadCache;
+import com.bustrackr.service.SubscriptionRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboundConflationInterceptorTest {
+
+    private static final byte[] SNAPSHOT = "{\"type\":\"snapshot\",\"sequence\":3}".getBytes(StandardCharsets.UTF_8);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SerializedPayloadCache serializedPayloadCache = mock(SerializedPayloadCache.class);
+    private final SubscriptionRegistry subscriptionRegistry = mock(SubscriptionRegistry.class);
+    private final OutboundConflationInterceptor interceptor =
+        new OutboundConflationInterceptor(serializedPayloadCache, subscriptionRegistry, registry);
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @BeforeEach
+    void setUp() {
+        when(subscriptionRegistry.isRoutePolled("472")).thenReturn(true);
+        when(serializedPayloadCache.getRouteSnapshot("472")).thenReturn(new SerializedPayload(3, SNAPSHOT));
+        connect("session-1");
+        connect("session-2");
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void beforeHandle_shouldSendRouteSnapshot_whenLocationDeltasWereSkipped() {
+        // Given: 느린 세션 앞에 같은 노선 delta 세 개가 쌓임
+        Message<?> first = frame("session-1", "/topic/bus-locations/472");
+        Message<?> second = frame("session-1", "/topic/bus-locations/472");
+        Message<?> latest = frame("session-1", "/topic/bus-locations/472");
+        interceptor.preSend(first, null);
+        interceptor.preSend(second, null);
+        interceptor.preSend(latest, null);
+
+        // When
+        Message<?> firstToSend = interceptor.beforeHandle(first, null, null);
+        Message<?> secondToSend = interceptor.beforeHandle(second, null, null);
+        Message<?> latestToSend = interceptor.beforeHandle(latest, null, null);
+
+        // Then: 건너뛴 delta 대신 같은 헤더의 스냅샷 프레임 하나를 보냄
+        assertThat(firstToSend).isNull();
+        assertThat(secondToSend).isNull();
+        assertThat(latestToSend.getPayload()).isEqualTo(SNAPSHOT);
+        assertThat(latestToSend.getHeaders()).isEqualTo(latest.getHeaders());
+        assertThat(registry.get("bus.ws.outbound.conflated").tag("type", "locations").counter().count()).isEqualTo(2);
+        assertThat(registry.get("bus.ws.outbound.resynced").tag("type", "locations").counter().count()).isEqualTo(1);
+        assertThat(interceptor.getPendingCount()).isZero();
+    }
+
+    @Test
+    void beforeHandle_shouldSendLatestDelta_whenRouteIsNotPolledLocally() {
+        // Given: 다른 노드가 수집하는 노선이라 이 노드 메모리 상태로는 시퀀스를 이어 줄 수 없음
+        when(subscriptionRegistry.isRoutePolled("472")).thenReturn(false);
+        Message<?> first = frame("session-1", "/topic/bus-locations/472");
+        Message<?> latest = frame("session-1", "/topic/bus-locations/472");
+        interceptor.preSend(first, null);
+        interceptor.preSend(latest, null);
+
+        // When
+        interceptor.beforeHandle(first, null, null);
+        Message<?> latestToSend = interceptor.beforeHandle(latest, null, null);
+
+        // Then
+        assertThat(latestToSend).isSameAs(latest);
+        verify(serializedPayloadCache, never()).getRouteSnapshot(anyString());
+        assertThat(registry.get("bus.ws.outbound.unresynced").tag("type", "locations").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void beforeHandle_shouldSendLatestArrivalsAsIs_whenEarlierFramesWereSkipped() {
+        // Given: 도착정보는 프레임마다 전체 상태
+        Message<?> first = frame("session-1", "/topic/bus-arrivals/23001");
+        Message<?> latest = frame("session-1", "/topic/bus-arrivals/23001");
+        interceptor.preSend(first, null);
+        interceptor.preSend(latest, null);
+
+        // When
+        Message<?> firstToSend = interceptor.beforeHandle(first, null, null);
+        Message<?> latestToSend = interceptor.beforeHandle(latest, null, null);
+
+        // Then
+        assertThat(firstToSend).isNull();
+        assertThat(latestToSend).isSameAs(latest);
+        verify(serializedPayloadCache, never()).getRouteSnapshot(anyString());
+    }
+
+    @Test
+    void beforeHandle_shouldSendDeltaAsIs_whenPreviousFrameWasAlreadySending() {
+        // Given: 앞선 delta가 이미 보내지는 중에 다음 delta가 들어옴
+        Message<?> sending = frame("session-1", "/topic/bus-locations/472");
+        interceptor.preSend(sending, null);
+        interceptor.beforeHandle(sending, null, null);
+        Message<?> next = frame("session-1", "/topic/bus-locations/472");
+        interceptor.preSend(next, null);
+
+        // When
+        Message<?> nextToSend = interceptor.beforeHandle(next, null, null);
+
+        // Then
+        assertThat(nextToSend).isSameAs(next);
+        verify(serializedPayloadCache, never()).getRouteSnapshot(anyString());
+    }
+
+    @Test
+    void beforeHandle_shouldKeepFramesOfOtherSessionsAndDestinations() {
+        // Given
+        Message<?> route = frame("session-1", "/topic/bus-locations/472");
+        Message<?> stop = frame("session-1", "/topic/bus-arrivals/23001");
+        Message<?> otherSession = frame("session-2", "/topic/bus-locations/472");
+        interceptor.preSend(route, null);
+        interceptor.preSend(stop, null);
+        interceptor.preSend(otherSession, null);
+
+        // When & Then
+        assertThat(interceptor.beforeHandle(route, null, null)).isSameAs(route);
+        assertThat(interceptor.beforeHandle(stop, null, null)).isSameAs(stop);
+        assertThat(interceptor.beforeHandle(otherSession, null, null)).isSameAs(otherSession);
+    }
+
+    @Test
+    void beforeHandle_shouldPassThroughOtherTopics() {
+        // Given
+        Message<?> first = frame("session-1", "/topic/notifications");
+        Message<?> second = frame("session-1", "/topic/notifications");
+        interceptor.preSend(first, null);
+        interceptor.preSend(second, null);
+
+        // When & Then
+        assertThat(interceptor.beforeHandle(first, null, null)).isSameAs(first);
+        assertThat(interceptor.getPendingCount()).isZero();
+    }
+
+    @Test
+    void beforeHandle_shouldCountFramesOfClosedSessionSeparately() {
+        // Given
+        Message<?> queued = frame("session-1", "/topic/bus-arrivals/23001");
+        interceptor.preSend(queued, null);
+
+        // When
+        interceptor.onDisconnect(new SessionDisconnectEvent(this, frame("session-1", null), "session-1", CloseStatus.SESSION_NOT_RELIABLE));
+        interceptor.preSend(frame("session-1", "/topic/bus-arrivals/23001"), null);
+        interceptor.beforeHandle(queued, null, null);
+
+        // Then: 합치기로 버린 프레임과 따로 집계하고, 끊긴 세션 항목은 되살리지 않음
+        assertThat(registry.get("bus.ws.outbound.closed").tag("type", "arrivals").counter().count()).isEqualTo(1);
+        assertThat(registry.find("bus.ws.outbound.conflated").counter()).isNull();
+        assertThat(interceptor.getPendingCount()).isZero();
+    }
+
+    @Test
+    void channel_shouldConflateFramesWaitingForBusyOutboundThread() throws Exception {
+        // Given: 송신 스레드 하나가 다른 세션 프레임을 보내느라 묶여 있음
+        CountDownLatch busy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Message<?>> delivered = new CopyOnWriteArrayList<>();
+        ExecutorSubscribableChannel channel = new ExecutorSubscribableChannel(executor);
+        channel.addInterceptor(interceptor);
+        channel.subscribe(message -> {
+            delivered.add(message);
+            if ("session-2".equals(SimpMessageHeaderAccessor.getSessionId(message.getHeaders()))) {
+                busy.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        channel.send(frame("session-2", "/topic/notifications"));
+        assertThat(busy.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When: 그 사이 session-1의 delta 세 개가 송신 채널 대기열에 쌓임
+        channel.send(frame("session-1", "/topic/bus-locations/472"));
+        channel.send(frame("session-1", "/topic/bus-locations/472"));
+        channel.send(frame("session-1", "/topic/bus-locations/472"));
+        release.countDown();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (delivered.size() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        // Then: 세션 핸들러에는 스냅샷 프레임 하나만 넘어감
+        assertThat(delivered).hasSize(2);
+        assertThat(delivered.get(1).getPayload()).isEqualTo(SNAPSHOT);
+        assertThat(registry.get("bus.ws.outbound.conflated").tag("type", "locations").counter().count()).isEqualTo(2);
+    }
+
+    private void connect(String sessionId) {
+        interceptor.onConnected(new SessionConnectedEvent(this, frame(sessionId, null)));
+    }
+
+    private static Message<byte[]> frame(String sessionId, String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
\ No newline at end of file
@@ -147,6 +147,51 @@ class BusStopControllerTest {
             .andExpect(status().isOk());
     }
 
+    @Test
+    void getNearestBusStops_shouldReturnOk() throws Exception {
+        // Given
+        BusStopSearchResponse response = new BusStopSearchResponse();
+        response.setStopId("STOP001");
+        response.setStopName("강남역");
+
+        when(busStopService.getNearestBusStops(
+            eq(37.5000), eq(127.0300), eq(3), eq(2.0)))
+            .thenReturn(Arrays.asList(response));
+
+        // When & Then
+        mockMvc.perform(get("/bus-stops/nearest")
+                .param("latitude", "37.5000")
+                .param("longitude", "127.0300")
+                .param("limit", "3"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].stopName").value("강남역"));
+    }
+
+    @Test
+    void getNearestBusStops_withInvalidLimit_shouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/bus-stops/nearest")
+                .param("latitude", "37.5000")
+                .param("longitude", "127.0300")
+                .param("limit", "0"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getNearestBusStops_withNonFiniteRadius_shouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/bus-stops/nearest")
+                .param("latitude", "37.5000")
+                .param("longitude", "127.0300")
+                .param("maxRadiusKm", "NaN"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/bus-stops/nearby")
+                .param("latitude", "37.5000")
+                .param("longitude", "127.0300")
+                .param("radiusKm", "Infinity"))
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getBusStopsByDistrict_shouldReturnOk() throws Exception {
         // Given
@@ -79,29 +79,6 @@ class BusLocationRepositoryTest {
         assertThat(found.get(0).getBusId()).isEqualTo("BUS002");
     }
 
-    @Test
-    void findLatestLocationsByRoute_shouldReturnLatestForEachBus() {
-        // 같은 버스의 이전 위치 추가
-        BusLocation oldLocation = new BusLocation("BUS001", "ROUTE001", 37.4900, 127.0200);
-        oldLocation.setLastUpdated(LocalDateTime.now().minusHours(1));
-        entityManager.persistAndFlush(oldLocation);
-
-        // When
-        List<BusLocation> found = busLocationRepository.findLatestLocationsByRoute("ROUTE001");
-
-        // Then
-        assertThat(found).hasSize(2);
-        
-        // BUS001의 최신 위치가 반환되어야 함
-        BusLocation bus001Location = found.stream()
-            .filter(loc -> "BUS001".equals(loc.getBusId()))
-            .findFirst()
-            .orElse(null);
-        
-        assertThat(bus001Location).isNotNull();
-        assertThat(bus001Location.getLatitude()).isEqualTo(37.4981);
-    }
-
     @Test
     void save_shouldPersistBusLocation() {
         // Given
@@ -118,4 +95,24 @@ class BusLocationRepositoryTest {
         assertThat(saved.getRouteId()).isEqualTo("ROUTE002");
         assertThat(saved.getCongestion()).isEqualTo(BusLocation.CongestionLevel.HIGH);
     }
+
+    @Test
+    void findLastByRouteIdBetween_shouldReturnLastLocationPerBusWithinRange() {
+        // Given
+        BusLocation earlier = new BusLocation("BUS001", "ROUTE001", 37.4950, 127.0250);
+        earlier.setLastUpdated(LocalDateTime.now().minusMinutes(5));
+        BusLocation outOfRange = new BusLocation("BUS003", "ROUTE001", 37.5100, 127.0400);
+        outOfRange.setLastUpdated(LocalDateTime.now().minusHours(2));
+        entityManager.persistAndFlush(earlier);
+        entityManager.persistAndFlush(outOfRange);
+
+        // When
+        List<BusLocation> found = busLocationRepository.findLastByRouteIdBetween("ROUTE001",
+            LocalDateTime.now().minusMinutes(10), LocalDateTime.now().plusMinutes(1));
+
+        // Then
+        assertThat(found)
+            .extracting(BusLocation::getId)
+            .containsExactlyInAnyOrder(location1.getId(), location2.getId());
+    }
 }
\ No newline at end of file
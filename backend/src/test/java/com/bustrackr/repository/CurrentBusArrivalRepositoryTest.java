@@ -0,0 +1,85 @@
+package com.bustrackr.repository;
+
+import com.bustrackr.domain.BusArrival;
+import com.bustrackr.domain.BusStop;
+import com.bustrackr.domain.CurrentBusArrival;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class CurrentBusArrivalRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CurrentBusArrivalRepository currentBusArrivalRepository;
+
+    private BusStop stop;
+
+    @BeforeEach
+    void setUp() {
+        stop = entityManager.persist(new BusStop("STOP001", "강남역", 37.4981, 127.0276));
+        entityManager.persist(current("472", 1, 3));
+        entityManager.persist(current("472", 2, 12));
+        entityManager.persist(current("143", 1, 8));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findByStopIdOrderByEstimatedTimeAsc_shouldReturnCurrentSnapshotOnly() {
+        // When
+        List<CurrentBusArrival> found = currentBusArrivalRepository.findByStopIdOrderByEstimatedTimeAsc("STOP001");
+
+        // Then
+        assertThat(found)
+            .extracting(CurrentBusArrival::getEstimatedTime)
+            .containsExactly(3, 8, 12);
+        assertThat(found.get(0).getStopName()).isEqualTo("강남역");
+    }
+
+    @Test
+    void findByStopIdAndRouteIdOrderByOrdinalAsc_shouldReturnFirstAndSecondBus() {
+        // When
+        List<CurrentBusArrival> found = currentBusArrivalRepository.findByStopIdAndRouteIdOrderByOrdinalAsc("STOP001", "472");
+
+        // Then
+        assertThat(found)
+            .extracting(CurrentBusArrival::getOrdinal)
+            .containsExactly(1, 2);
+    }
+
+    @Test
+    void updateFrom_shouldReplaceRowInPlace() {
+        // Given
+        BusArrival arrival = new BusArrival("472", stop, 1, 0);
+
+        // When
+        CurrentBusArrival current = currentBusArrivalRepository
+            .findById(new CurrentBusArrival.Key("STOP001", "472", 1)).orElseThrow();
+        current.updateFrom(arrival, "강남역", 2L);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        CurrentBusArrival found = currentBusArrivalRepository
+            .findById(new CurrentBusArrival.Key("STOP001", "472", 1)).orElseThrow();
+        assertThat(found.getEstimatedTime()).isEqualTo(1);
+        assertThat(found.getSnapshotVersion()).isEqualTo(2L);
+        assertThat(currentBusArrivalRepository.count()).isEqualTo(3);
+    }
+
+    private CurrentBusArrival current(String routeId, int ordinal, int estimatedTime) {
+        CurrentBusArrival current = new CurrentBusArrival("STOP001", routeId, ordinal);
+        current.updateFrom(new BusArrival(routeId, stop, estimatedTime, ordinal * 2), stop.getStopName(), 1L);
+        return current;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,100 @@
+package com.bustrackr.repository;
+
+import com.bustrackr.domain.BusLocation;
+import com.bustrackr.domain.CurrentBusPosition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class CurrentBusPositionRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CurrentBusPositionRepository currentBusPositionRepository;
+
+    @BeforeEach
+    void setUp() {
+        entityManager.persist(position("BUS001", "ROUTE001", 37.4981, 127.0276));
+        entityManager.persist(position("BUS002", "ROUTE001", 37.5006, 127.0366));
+        entityManager.persist(position("BUS003", "ROUTE002", 37.5500, 127.0800));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findByRouteId_shouldReturnOneRowPerBus() {
+        // When
+        List<CurrentBusPosition> found = currentBusPositionRepository.findByRouteId("ROUTE001");
+
+        // Then
+        assertThat(found)
+            .extracting(CurrentBusPosition::getBusId)
+            .containsExactlyInAnyOrder("BUS001", "BUS002");
+    }
+
+    @Test
+    void updateFrom_shouldOverwriteExistingRow() {
+        // Given
+        BusLocation moved = new BusLocation("BUS001", "ROUTE001", 37.4990, 127.0290);
+        moved.setCongestion(BusLocation.CongestionLevel.HIGH);
+        moved.setLastUpdated(LocalDateTime.now());
+
+        // When
+        CurrentBusPosition position = currentBusPositionRepository.findById("BUS001").orElseThrow();
+        position.updateFrom(moved);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        CurrentBusPosition found = currentBusPositionRepository.findById("BUS001").orElseThrow();
+        assertThat(found.getLatitude()).isEqualTo(37.4990);
+        assertThat(found.getCongestion()).isEqualTo(BusLocation.CongestionLevel.HIGH);
+        assertThat(currentBusPositionRepository.findByRouteId("ROUTE001")).hasSize(2);
+    }
+
+    @Test
+    void deleteByRouteIdAndBusIdNotIn_shouldRemoveOnlyMissingBusesOfRoute() {
+        // When
+        int deleted = currentBusPositionRepository.deleteByRouteIdAndBusIdNotIn("ROUTE001", List.of("BUS001"));
+
+        // Then
+        assertThat(deleted).isEqualTo(1);
+        assertThat(currentBusPositionRepository.findById("BUS002")).isEmpty();
+        assertThat(currentBusPositionRepository.findById("BUS003")).isPresent();
+    }
+
+    @Test
+    void touchAll_shouldOnlyBumpLastUpdated() {
+        // Given
+        LocalDateTime refreshed = LocalDateTime.now().plusMinutes(1).withNano(0);
+
+        // When
+        int touched = currentBusPositionRepository.touchAll(List.of("BUS001", "BUS003"), refreshed);
+        entityManager.clear();
+
+        // Then
+        CurrentBusPosition found = currentBusPositionRepository.findById("BUS001").orElseThrow();
+        assertThat(touched).isEqualTo(2);
+        assertThat(found.getLastUpdated()).isEqualTo(refreshed);
+        assertThat(found.getLatitude()).isEqualTo(37.4981);
+        assertThat(currentBusPositionRepository.findById("BUS002").orElseThrow().getLastUpdated()).isBefore(refreshed);
+    }
+
+    private CurrentBusPosition position(String busId, String routeId, double latitude, double longitude) {
+        BusLocation location = new BusLocation(busId, routeId, latitude, longitude);
+        location.setLastUpdated(LocalDateTime.now());
+        CurrentBusPosition position = new CurrentBusPosition(busId);
+        position.updateFrom(location);
+        return position;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.bustrackr.repository;
+
+import com.bustrackr.domain.BusLocation;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(HistoryPartitionManager.class)
+class HistoryPartitionManagerTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BusLocationRepository busLocationRepository;
+
+    @Autowired
+    private HistoryPartitionManager historyPartitionManager;
+
+    @Test
+    void dropBefore_shouldDeleteExpiredRows_whenPartitioningUnsupported() {
+        // Given
+        LocalDate today = LocalDate.of(2026, 10, 18);
+        entityManager.persist(location("BUS001", today.minusDays(10).atTime(8, 0)));
+        entityManager.persist(location("BUS002", today.minusDays(7).atTime(23, 59)));
+        entityManager.persist(location("BUS003", today.minusDays(6).atTime(0, 0)));
+        entityManager.flush();
+
+        // When
+        historyPartitionManager.prepare("bus_locations", today, 3, false);
+        int deleted = historyPartitionManager.dropBefore("bus_locations", today.minusDays(6));
+        entityManager.clear();
+
+        // Then
+        assertThat(historyPartitionManager.supportsPartitioning()).isFalse();
+        assertThat(deleted).isEqualTo(2);
+        assertThat(busLocationRepository.findAll())
+            .extracting(BusLocation::getBusId)
+            .containsExactly("BUS003");
+    }
+
+    @Test
+    void partitionClauses_shouldDefineOnePartitionPerDayPlusMaxValue() {
+        // When
+        String clauses = HistoryPartitionManager.partitionClauses(LocalDate.of(2026, 10, 17), LocalDate.of(2026, 10, 18));
+
+        // Then
+        assertThat(clauses).isEqualTo(
+            "PARTITION p20261017 VALUES LESS THAN ('2026-10-18 00:00:00'), "
+                + "PARTITION p20261018 VALUES LESS THAN ('2026-10-19 00:00:00'), "
+                + "PARTITION pmax VALUES LESS THAN (MAXVALUE)");
+    }
+
+    @Test
+    void partitionDay_shouldIgnoreNonDailyPartitions() {
+        // Then
+        assertThat(HistoryPartitionManager.partitionDay("p20261018")).isEqualTo(LocalDate.of(2026, 10, 18));
+        assertThat(HistoryPartitionManager.partitionDay("pmax")).isNull();
+    }
+
+    private BusLocation location(String busId, LocalDateTime lastUpdated) {
+        BusLocation location = new BusLocation(busId, "ROUTE001", 37.4981, 127.0276);
+        location.setLastUpdated(lastUpdated);
+        return location;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.bustrackr.scheduler;
+
+import com.bustrackr.config.RetentionProperties;
+import com.bustrackr.repository.HistoryPartitionManager;
+import com.bustrackr.service.cache.PollingLeases;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HistoryRetentionSchedulerTest {
+
+    private final HistoryPartitionManager historyPartitionManager = mock(HistoryPartitionManager.class);
+    private final PollingLeases pollingLeases = mock(PollingLeases.class);
+    private final RetentionProperties retentionProperties = new RetentionProperties();
+    private HistoryRetentionScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new HistoryRetentionScheduler(historyPartitionManager, retentionProperties, pollingLeases);
+    }
+
+    @Test
+    void applyRetention_shouldSkip_whenAnotherNodeHoldsLease() {
+        // Given
+        when(pollingLeases.claim(eq("retention"), anyList(), any())).thenReturn(List.of());
+
+        // When
+        scheduler.applyRetention();
+
+        // Then
+        verify(historyPartitionManager, never()).prepare(anyString(), any(), anyInt(), anyBoolean());
+        verify(historyPartitionManager, never()).dropBefore(anyString(), any());
+        verify(pollingLeases, never()).release("retention", "history");
+    }
+
+    @Test
+    void applyRetention_shouldNotConvertTablesUnlessEnabled_andReleaseLease() {
+        // Given
+        when(pollingLeases.claim(eq("retention"), anyList(), any())).thenReturn(List.of("history"));
+
+        // When
+        scheduler.applyRetention();
+
+        // Then
+        verify(historyPartitionManager).prepare(eq("bus_locations"), any(LocalDate.class), eq(3), eq(false));
+        verify(historyPartitionManager).prepare(eq("bus_arrivals"), any(LocalDate.class), eq(3), eq(false));
+        verify(pollingLeases).release("retention", "history");
+    }
+}
\ No newline at end of file
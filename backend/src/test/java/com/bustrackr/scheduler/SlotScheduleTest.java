@@ -0,0 +1,97 @@
+package com.bustrackr.scheduler;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlotScheduleTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicLong clock = new AtomicLong(1_000_000_000_000L);
+    private SlotSchedule schedule;
+
+    @BeforeEach
+    void setUp() {
+        schedule = new SlotSchedule("locations", Duration.ofSeconds(30), 30, registry, clock::get);
+    }
+
+    @Test
+    void due_shouldReturnEachSlotOncePerPeriod_evenWhenTicksAreLate() {
+        // Given
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            keys.add("1000000" + i);
+        }
+        List<String> selected = new ArrayList<>(schedule.select(keys, schedule.due(() -> true)));
+
+        // When: 한 주기 동안 1.7초 간격으로 불규칙하게 틱
+        for (int i = 0; i < 17; i++) {
+            clock.addAndGet(1700);
+            selected.addAll(schedule.select(keys, schedule.due(() -> true)));
+        }
+        clock.addAndGet(30_000 - 17 * 1700 - 1);
+        selected.addAll(schedule.select(keys, schedule.due(() -> true)));
+
+        // Then
+        assertThat(selected).hasSize(300).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void due_shouldCatchUpAtMostOnePeriod() {
+        // Given
+        schedule.due(() -> true);
+
+        // When
+        clock.addAndGet(Duration.ofMinutes(5).toMillis());
+        List<Integer> due = schedule.due(() -> true);
+
+        // Then
+        assertThat(due).hasSize(30).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void due_shouldSkipRestOfPeriod_whenAdmissionIsDenied() {
+        // Given: 주기 시작 시각으로 맞춤
+        clock.set(30_000L * 1000);
+        AtomicInteger admissions = new AtomicInteger();
+
+        // When
+        List<Integer> first = schedule.due(() -> admissions.incrementAndGet() > 1);
+        clock.addAndGet(1000);
+        List<Integer> second = schedule.due(() -> admissions.incrementAndGet() > 1);
+        clock.addAndGet(29_000);
+        List<Integer> nextPeriod = schedule.due(() -> admissions.incrementAndGet() > 1);
+
+        // Then
+        assertThat(first).isEmpty();
+        assertThat(second).isEmpty();
+        assertThat(nextPeriod).containsExactly(0);
+        assertThat(admissions.get()).isEqualTo(2);
+    }
+
+    @Test
+    void select_shouldSpreadKeysAcrossSlots() {
+        // Given
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            keys.add(String.valueOf(100100000 + i));
+        }
+
+        // When
+        schedule.select(keys, List.of());
+
+        // Then: 평균 100개, 해시가 고르면 가장 붐비는 슬롯도 평균의 1.5배 이내
+        assertThat(schedule.getKeyCount()).isEqualTo(3000);
+        assertThat(schedule.getMaxOccupancy()).isLessThan(150);
+        assertThat(registry.get("bus.polling.slot.max-occupancy").tag("schedule", "locations").gauge().value())
+            .isEqualTo(schedule.getMaxOccupancy());
+    }
+}
\ No newline at end of file
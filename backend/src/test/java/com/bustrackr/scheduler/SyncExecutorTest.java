@@ -0,0 +1,123 @@
+package com.bustrackr.scheduler;
+
+import com.bustrackr.config.SyncExecutorProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SyncExecutorTest {
+
+    private final SyncExecutorProperties properties = new SyncExecutorProperties();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private SyncExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        properties.setMaxConcurrency(1);
+        properties.setQueueCapacity(1);
+        executor = new SyncExecutor(properties, registry);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        executor.stop();
+    }
+
+    @Test
+    void execute_shouldQueueTasksBeyondConcurrencyLimit() throws InterruptedException {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            await(release);
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        CountDownLatch second = new CountDownLatch(1);
+        executor.execute(second::countDown);
+
+        // Then
+        assertThat(executor.getActiveCount()).isEqualTo(1);
+        assertThat(executor.getQueuedCount()).isEqualTo(1);
+        assertThat(registry.get("bus.sync.executor.queued").gauge().value()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(second.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void execute_shouldReject_whenQueueIsFull() throws InterruptedException {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            await(release);
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        executor.execute(() -> {});
+
+        // When & Then
+        assertThatThrownBy(() -> executor.execute(() -> {}))
+            .isInstanceOf(RejectedExecutionException.class);
+        assertThat(registry.get("bus.sync.executor.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void timeout_shouldSkipQueuedWork_butLetRunningWorkFinish() throws InterruptedException {
+        // Given: 동시 실행 자리를 차지한 작업
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean runningFinished = new AtomicBoolean();
+        executor.execute(() -> {
+            started.countDown();
+            await(release);
+            runningFinished.set(true);
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When: 자리를 기다리던 동기화가 마감 시간을 넘김
+        AtomicBoolean queuedRan = new AtomicBoolean();
+        Mono.just("472")
+            .publishOn(executor.scheduler())
+            .doOnNext(routeId -> queuedRan.set(true))
+            .timeout(Duration.ofMillis(50))
+            .onErrorResume(e -> Mono.empty())
+            .block();
+        release.countDown();
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while ((executor.getActiveCount() > 0 || executor.getQueuedCount() > 0) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        // Then: 실행 중이던 작업은 끝까지 실행되고, 대기 중이던 작업은 실행되지 않음
+        assertThat(runningFinished).isTrue();
+        assertThat(queuedRan).isFalse();
+    }
+
+    @Test
+    void mode_shouldFallBackToPlatformThreads_whenVirtualThreadsAreUnavailable() {
+        // Then
+        assertThat(executor.isVirtual()).isEqualTo(Runtime.version().feature() >= 21);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
\ No newline at end of file
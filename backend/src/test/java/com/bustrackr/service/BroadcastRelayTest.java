@@ -0,0 +1,95 @@
+package com.bustrackr.service;
+
+import com.bustrackr.config.CacheProperties;
+import com.bustrackr.config.ClusterProperties;
+import com.bustrackr.dto.SerializedPayload;
+import com.bustrackr.service.cache.LocalClusterEventBus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class BroadcastRelayTest {
+
+    @Mock
+    private SimpMessagingTemplate nodeATemplate;
+
+    @Mock
+    private SimpMessagingTemplate nodeBTemplate;
+
+    // 노드 간 Redis pub/sub 대신 프로세스 내 버스로 두 노드를 연결
+    private final LocalClusterEventBus clusterEventBus = new LocalClusterEventBus();
+    private ClusterProperties clusterProperties;
+
+    @BeforeEach
+    void setUp() {
+        clusterProperties = new ClusterProperties();
+        clusterProperties.setRelay(ClusterProperties.Relay.REDIS);
+    }
+
+    @Test
+    void send_shouldDeliverToSubscribersOnEveryNode() {
+        // Given
+        BroadcastRelay nodeA = relay(nodeATemplate);
+        relay(nodeBTemplate);
+        SerializedPayload delta = new SerializedPayload(7, "{\"type\":\"delta\"}".getBytes(StandardCharsets.UTF_8));
+
+        // When
+        nodeA.send("/topic/bus-locations/472", delta);
+
+        // Then
+        assertThat(delivered(nodeATemplate, "/topic/bus-locations/472")).isEqualTo("{\"type\":\"delta\"}");
+        assertThat(delivered(nodeBTemplate, "/topic/bus-locations/472")).isEqualTo("{\"type\":\"delta\"}");
+    }
+
+    @Test
+    void send_shouldSerializePlainObjectsOnce() {
+        // Given
+        BroadcastRelay nodeA = relay(nodeATemplate);
+        relay(nodeBTemplate);
+
+        // When
+        nodeA.send("/topic/system-status", Map.of("status", "UP"));
+
+        // Then
+        assertThat(delivered(nodeBTemplate, "/topic/system-status")).isEqualTo("{\"status\":\"UP\"}");
+    }
+
+    @Test
+    void send_shouldUseBrokerDirectly_whenNotRelayedThroughRedis() {
+        // Given
+        clusterProperties.setRelay(ClusterProperties.Relay.NONE);
+        BroadcastRelay nodeA = relay(nodeATemplate);
+        relay(nodeBTemplate);
+
+        // When
+        nodeA.send("/topic/notifications", "hello");
+
+        // Then
+        verify(nodeATemplate).convertAndSend("/topic/notifications", "hello");
+        verifyNoInteractions(nodeBTemplate);
+    }
+
+    private BroadcastRelay relay(SimpMessagingTemplate template) {
+        return new BroadcastRelay(template, clusterEventBus, clusterProperties, new CacheProperties(), new ObjectMapper());
+    }
+
+    private static String delivered(SimpMessagingTemplate template, String destination) {
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(template).convertAndSend(eq(destination), payload.capture());
+        return new String(((SerializedPayload) payload.getValue()).json(), StandardCharsets.UTF_8);
+    }
+}
\ No newline at end of file
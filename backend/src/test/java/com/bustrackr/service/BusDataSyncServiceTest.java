@@ -0,0 +1,119 @@
+package com.bustrackr.service;
+
+import com.bustrackr.config.IngestProperties;
+import com.bustrackr.domain.BusArrival;
+import com.bustrackr.domain.BusStop;
+import com.bustrackr.domain.CurrentBusArrival;
+import com.bustrackr.dto.BusStopSearchResponse;
+import com.bustrackr.dto.external.SeoulStationArrival;
+import com.bustrackr.repository.BatchPersister;
+import com.bustrackr.repository.BusArrivalRepository;
+import com.bustrackr.repository.BusStopRepository;
+import com.bustrackr.repository.CurrentBusArrivalRepository;
+import com.bustrackr.service.search.BusStopSearchIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 서비스가 직접 트랜잭션을 열고 커밋/롤백하도록 테스트 트랜잭션은 쓰지 않음
+@DataJpaTest
+@Import({BusDataSyncService.class, BatchPersister.class, IngestProperties.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BusDataSyncServiceTest {
+
+    @Autowired
+    private BusDataSyncService busDataSyncService;
+
+    @Autowired
+    private BusStopRepository busStopRepository;
+
+    @Autowired
+    private BusArrivalRepository busArrivalRepository;
+
+    @Autowired
+    private CurrentBusArrivalRepository currentBusArrivalRepository;
+
+    @SpyBean
+    private BatchPersister batchPersister;
+
+    @MockBean
+    private StaticDataCache staticDataCache;
+
+    @MockBean
+    private SerializedPayloadCache serializedPayloadCache;
+
+    @MockBean
+    private LiveBusStateStore liveBusStateStore;
+
+    @MockBean
+    private BusStopSpatialIndex busStopSpatialIndex;
+
+    @MockBean
+    private BusStopSearchIndex busStopSearchIndex;
+
+    @MockBean
+    private IngestFingerprints ingestFingerprints;
+
+    @MockBean
+    private TrajectoryCompressor trajectoryCompressor;
+
+    @BeforeEach
+    void setUp() {
+        BusStop stop = busStopRepository.save(new BusStop("STOP001", "강남역", 37.4981, 127.0276));
+        CurrentBusArrival current = new CurrentBusArrival("STOP001", "472", 1);
+        current.updateFrom(new BusArrival("472", stop, 3, 2), stop.getStopName(), 1L);
+        currentBusArrivalRepository.save(current);
+        when(staticDataCache.getStop(eq("STOP001"), any())).thenReturn(new BusStopSearchResponse(stop));
+    }
+
+    @AfterEach
+    void tearDown() {
+        currentBusArrivalRepository.deleteAll();
+        busArrivalRepository.deleteAll();
+        busStopRepository.deleteAll();
+    }
+
+    @Test
+    void syncBusArrivals_shouldKeepPreviousSnapshot_whenReplacementFailsAfterFlush() {
+        // Given: 기존 행 갱신과 새 행 insert가 flush된 뒤 실패
+        doAnswer(invocation -> {
+            invocation.callRealMethod();
+            throw new IllegalStateException("insert failed");
+        }).when(batchPersister).persistAll(argThat(entities ->
+            !entities.isEmpty() && entities.get(0) instanceof CurrentBusArrival));
+        List<SeoulStationArrival> arrivals = List.of(
+            new SeoulStationArrival("STOP001", "472", "472", "서울74사1234", 600, 5, "서울74사5678", 1200, 9),
+            new SeoulStationArrival("STOP001", "143", "143", "서울74사1111", 300, 2, null, SeoulStationArrival.NONE, 0));
+
+        // When
+        assertThatThrownBy(() -> busDataSyncService.syncBusArrivals("STOP001", arrivals))
+            .isInstanceOf(IllegalStateException.class);
+
+        // Then: 이력 행도, 현재 스냅샷 교체도, 버전 증가도 모두 롤백
+        List<CurrentBusArrival> current = currentBusArrivalRepository.findByStopIdOrderByEstimatedTimeAsc("STOP001");
+        assertThat(current).extracting(CurrentBusArrival::getRouteId).containsExactly("472");
+        assertThat(current.get(0).getEstimatedTime()).isEqualTo(3);
+        assertThat(current.get(0).getSnapshotVersion()).isEqualTo(1L);
+        assertThat(busArrivalRepository.count()).isZero();
+        verify(serializedPayloadCache, never()).invalidateStop("STOP001");
+    }
+}
\ No newline at end of file
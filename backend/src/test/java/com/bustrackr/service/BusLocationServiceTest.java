@@ -1,19 +1,24 @@
 package com.bustrackr.service;
 
+import com.bustrackr.config.IngestProperties;
 import com.bustrackr.domain.BusLocation;
+import com.bustrackr.domain.CurrentBusPosition;
 import com.bustrackr.dto.BusLocationResponse;
 import com.bustrackr.repository.BusLocationRepository;
+import com.bustrackr.repository.CurrentBusPositionRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -26,11 +31,22 @@ class BusLocationServiceTest {
     @Mock
     private BusLocationRepository busLocationRepository;
 
+    @Mock
+    private CurrentBusPositionRepository currentBusPositionRepository;
+
+    @Spy
+    private LiveBusStateStore liveBusStateStore = new LiveBusStateStore();
+
+    @Spy
+    private TrajectoryCompressor trajectoryCompressor = new TrajectoryCompressor(new IngestProperties());
+
     @InjectMocks
     private BusLocationService busLocationService;
 
     private BusLocation testLocation1;
     private BusLocation testLocation2;
+    private CurrentBusPosition currentPosition1;
+    private CurrentBusPosition currentPosition2;
 
     @BeforeEach
     void setUp() {
@@ -47,13 +63,19 @@ class BusLocationServiceTest {
         testLocation2.setNextStopId("STOP002");
         testLocation2.setEstimatedArrival(3);
         testLocation2.setLastUpdated(LocalDateTime.now());
+
+        currentPosition1 = new CurrentBusPosition("BUS001");
+        currentPosition1.updateFrom(testLocation1);
+
+        currentPosition2 = new CurrentBusPosition("BUS002");
+        currentPosition2.updateFrom(testLocation2);
     }
 
     @Test
     void getBusLocationsByRoute_shouldReturnLocations_whenRouteExists() {
         // Given
-        when(busLocationRepository.findLatestLocationsByRoute("ROUTE001"))
-            .thenReturn(Arrays.asList(testLocation1, testLocation2));
+        when(currentBusPositionRepository.findByRouteId("ROUTE001"))
+            .thenReturn(Arrays.asList(currentPosition1, currentPosition2));
 
         // When
         List<BusLocationResponse> result = busLocationService.getBusLocationsByRoute("ROUTE001");
@@ -74,13 +96,13 @@ class BusLocationServiceTest {
         assertThat(location1.getCongestion()).isEqualTo("medium");
         assertThat(location1.getSpeed()).isEqualTo(25.0);
         
-        verify(busLocationRepository).findLatestLocationsByRoute("ROUTE001");
+        verify(currentBusPositionRepository).findByRouteId("ROUTE001");
     }
 
     @Test
     void getBusLocationsByRoute_shouldReturnEmptyList_whenRouteNotExists() {
         // Given
-        when(busLocationRepository.findLatestLocationsByRoute("NONEXISTENT"))
+        when(currentBusPositionRepository.findByRouteId("NONEXISTENT"))
             .thenReturn(Collections.emptyList());
 
         // When
@@ -88,7 +110,36 @@ class BusLocationServiceTest {
 
         // Then
         assertThat(result).isEmpty();
-        verify(busLocationRepository).findLatestLocationsByRoute("NONEXISTENT");
+        assertThat(liveBusStateStore.getRouteState("NONEXISTENT")).isNull();
+        verify(currentBusPositionRepository).findByRouteId("NONEXISTENT");
+    }
+
+    @Test
+    void getBusLocationsByRoute_shouldServeFromLiveStore_afterFirstLoad() {
+        // Given
+        when(currentBusPositionRepository.findByRouteId("ROUTE001"))
+            .thenReturn(Arrays.asList(currentPosition1, currentPosition2));
+        busLocationService.getBusLocationsByRoute("ROUTE001");
+
+        // When
+        List<BusLocationResponse> result = busLocationService.getBusLocationsByRoute("ROUTE001");
+
+        // Then
+        assertThat(result).hasSize(2);
+        verify(currentBusPositionRepository, times(1)).findByRouteId("ROUTE001");
+    }
+
+    @Test
+    void getLatestBusLocation_shouldNotHitDatabase_whenBusInLiveStore() {
+        // Given
+        liveBusStateStore.replaceRoute("ROUTE001", List.of(new BusLocationResponse(currentPosition1)));
+
+        // When
+        BusLocationResponse result = busLocationService.getLatestBusLocation("BUS001");
+
+        // Then
+        assertThat(result.getBusId()).isEqualTo("BUS001");
+        verifyNoInteractions(currentBusPositionRepository);
     }
 
     @Test
@@ -110,8 +161,8 @@ class BusLocationServiceTest {
     @Test
     void getLatestBusLocation_shouldReturnLocation_whenBusExists() {
         // Given
-        when(busLocationRepository.findLatestLocationByBusId("BUS001"))
-            .thenReturn(testLocation1);
+        when(currentBusPositionRepository.findById("BUS001"))
+            .thenReturn(Optional.of(currentPosition1));
 
         // When
         BusLocationResponse result = busLocationService.getLatestBusLocation("BUS001");
@@ -122,21 +173,21 @@ class BusLocationServiceTest {
         assertThat(result.getRouteId()).isEqualTo("ROUTE001");
         assertThat(result.getCongestion()).isEqualTo("medium");
         
-        verify(busLocationRepository).findLatestLocationByBusId("BUS001");
+        verify(currentBusPositionRepository).findById("BUS001");
     }
 
     @Test
     void getLatestBusLocation_shouldReturnNull_whenBusNotExists() {
         // Given
-        when(busLocationRepository.findLatestLocationByBusId("NONEXISTENT"))
-            .thenReturn(null);
+        when(currentBusPositionRepository.findById("NONEXISTENT"))
+            .thenReturn(Optional.empty());
 
         // When
         BusLocationResponse result = busLocationService.getLatestBusLocation("NONEXISTENT");
 
         // Then
         assertThat(result).isNull();
-        verify(busLocationRepository).findLatestLocationByBusId("NONEXISTENT");
+        verify(currentBusPositionRepository).findById("NONEXISTENT");
     }
 
     @Test
@@ -150,5 +201,7 @@ class BusLocationServiceTest {
         // Then
         assertThat(newLocation.getLastUpdated()).isNotNull();
         verify(busLocationRepository).save(newLocation);
+        verify(currentBusPositionRepository).save(any(CurrentBusPosition.class));
+        assertThat(liveBusStateStore.getBus("BUS003")).isNotNull();
     }
 }
\ No newline at end of file
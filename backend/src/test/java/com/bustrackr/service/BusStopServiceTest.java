@@ -1,21 +1,28 @@
 package com.bustrackr.service;
 
+import com.bustrackr.config.CacheProperties;
 import com.bustrackr.domain.BusStop;
 import com.bustrackr.dto.BusStopSearchResponse;
 import com.bustrackr.repository.BusStopRepository;
+import com.bustrackr.service.cache.InMemorySnapshotStore;
+import com.bustrackr.service.cache.LocalClusterEventBus;
+import com.bustrackr.service.search.BusStopSearchIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -25,6 +32,16 @@ class BusStopServiceTest {
     @Mock
     private BusStopRepository busStopRepository;
 
+    @Spy
+    private BusStopSpatialIndex busStopSpatialIndex = new BusStopSpatialIndex();
+
+    @Spy
+    private BusStopSearchIndex busStopSearchIndex = new BusStopSearchIndex();
+
+    @Spy
+    private StaticDataCache staticDataCache = new StaticDataCache(new CacheProperties(), new InMemorySnapshotStore(),
+        new LocalClusterEventBus(), new ObjectMapper(), new SimpleMeterRegistry());
+
     @InjectMocks
     private BusStopService busStopService;
 
@@ -45,8 +62,8 @@ class BusStopServiceTest {
     @Test
     void searchBusStops_shouldReturnMatchingStops_whenKeywordExists() {
         // Given
-        when(busStopRepository.findByKeyword("강남"))
-            .thenReturn(Arrays.asList(testStop1));
+        when(busStopRepository.findAll())
+            .thenReturn(Arrays.asList(testStop1, testStop2));
 
         // When
         List<BusStopSearchResponse> result = busStopService.searchBusStops("강남");
@@ -57,21 +74,41 @@ class BusStopServiceTest {
         assertThat(result.get(0).getStopId()).isEqualTo("STOP001");
         assertThat(result.get(0).getDistrict()).isEqualTo("강남구");
         
-        verify(busStopRepository).findByKeyword("강남");
+        verify(busStopRepository).findAll();
     }
 
     @Test
     void searchBusStops_shouldReturnEmptyList_whenNoMatch() {
         // Given
-        when(busStopRepository.findByKeyword("없는역"))
-            .thenReturn(Collections.emptyList());
+        when(busStopRepository.findAll())
+            .thenReturn(Arrays.asList(testStop1, testStop2));
 
         // When
         List<BusStopSearchResponse> result = busStopService.searchBusStops("없는역");
 
         // Then
         assertThat(result).isEmpty();
-        verify(busStopRepository).findByKeyword("없는역");
+        verify(busStopRepository).findAll();
+    }
+
+    @Test
+    void searchBusStops_shouldMatchChoseongAndStopId() {
+        // Given
+        when(busStopRepository.findAll())
+            .thenReturn(Arrays.asList(testStop1, testStop2));
+
+        // When
+        List<BusStopSearchResponse> byChoseong = busStopService.searchBusStops("ㅇㅅ");
+        List<BusStopSearchResponse> byStopId = busStopService.searchBusStops("stop002");
+
+        // Then
+        assertThat(byChoseong)
+            .extracting(BusStopSearchResponse::getStopName)
+            .containsExactly("역삼역");
+        assertThat(byStopId)
+            .extracting(BusStopSearchResponse::getStopId)
+            .containsExactly("STOP002");
+        verify(busStopRepository, times(1)).findAll();
     }
 
     @Test
@@ -108,6 +145,23 @@ class BusStopServiceTest {
         verify(busStopRepository).findByDistrict("강남구");
     }
 
+    @Test
+    void getBusStopsByDistrict_shouldServeFromCache_untilDistrictIsInvalidated() {
+        // Given
+        when(busStopRepository.findByDistrict("강남구"))
+            .thenReturn(Arrays.asList(testStop1, testStop2));
+        busStopService.getBusStopsByDistrict("강남구");
+
+        // When
+        busStopService.getBusStopsByDistrict("강남구");
+        staticDataCache.invalidateStops(List.of("STOP001"), List.of("강남구"));
+        List<BusStopSearchResponse> result = busStopService.getBusStopsByDistrict("강남구");
+
+        // Then
+        assertThat(result).hasSize(2);
+        verify(busStopRepository, times(2)).findByDistrict("강남구");
+    }
+
     @Test
     void getBusStopsNearLocation_shouldReturnNearbyStops() {
         // Given
@@ -147,4 +201,39 @@ class BusStopServiceTest {
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getStopName()).isEqualTo("강남역");
     }
+
+    @Test
+    void getBusStopsNearLocation_shouldSortByDistance_andLoadIndexOnce() {
+        // Given
+        when(busStopRepository.findAll())
+            .thenReturn(Arrays.asList(testStop2, testStop1));
+
+        // When
+        busStopService.getBusStopsNearLocation(37.4981, 127.0276, 2.0);
+        List<BusStopSearchResponse> result = busStopService.getBusStopsNearLocation(
+            37.4981, 127.0276, 2.0);
+
+        // Then
+        assertThat(result)
+            .extracting(BusStopSearchResponse::getStopId)
+            .containsExactly("STOP001", "STOP002");
+        verify(busStopRepository, times(1)).findAll();
+    }
+
+    @Test
+    void getNearestBusStops_shouldReturnClosestStopsUpToLimit() {
+        // Given
+        BusStop farStop = new BusStop("STOP999", "원거리역", 35.0000, 125.0000);
+
+        when(busStopRepository.findAll())
+            .thenReturn(Arrays.asList(testStop1, testStop2, farStop));
+
+        // When
+        List<BusStopSearchResponse> result = busStopService.getNearestBusStops(
+            37.5010, 127.0370, 1, 5.0);
+
+        // Then
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getStopId()).isEqualTo("STOP002");
+    }
 }
\ No newline at end of file
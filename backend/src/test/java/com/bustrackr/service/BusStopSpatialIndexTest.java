@@ -0,0 +1,74 @@
+package com.bustrackr.service;
+
+import com.bustrackr.domain.BusStop;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BusStopSpatialIndexTest {
+
+    private final BusStopSpatialIndex index = new BusStopSpatialIndex();
+
+    @Test
+    void withinRadius_shouldIncludeStopsAcrossCellBoundaries() {
+        // Given - 0.01도 격자 경계 양쪽의 정류장
+        index.rebuild(List.of(
+            new BusStop("STOP001", "경계 남쪽", 37.4999, 127.0300),
+            new BusStop("STOP002", "경계 북쪽", 37.5001, 127.0300),
+            new BusStop("STOP003", "먼 정류장", 37.5200, 127.0300)));
+
+        // When
+        List<BusStopSpatialIndex.Hit> hits = index.withinRadius(37.5000, 127.0300, 0.1);
+
+        // Then
+        assertThat(hits)
+            .extracting(hit -> hit.stop().getStopId())
+            .containsExactlyInAnyOrder("STOP001", "STOP002");
+        assertThat(hits).allSatisfy(hit -> assertThat(hit.distanceKm()).isLessThanOrEqualTo(0.1));
+    }
+
+    @Test
+    void upsert_shouldMoveStopWhenCoordinatesChange() {
+        // Given
+        index.rebuild(List.of(new BusStop("STOP001", "강남역", 37.4981, 127.0276)));
+
+        // When
+        index.upsert(new BusStop("STOP001", "강남역", 37.5600, 126.9700));
+
+        // Then
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.withinRadius(37.4981, 127.0276, 1.0)).isEmpty();
+        assertThat(index.nearest(37.5600, 126.9700, 3, 1.0))
+            .extracting(hit -> hit.stop().getStopId())
+            .containsExactly("STOP001");
+    }
+
+    @Test
+    void withinRadius_shouldScanPopulatedCells_whenRadiusCoversMoreCellsThanIndexed() {
+        // Given
+        index.rebuild(List.of(
+            new BusStop("STOP001", "강남역", 37.4981, 127.0276),
+            new BusStop("STOP002", "부산역", 35.1151, 129.0422)));
+
+        // When
+        List<BusStopSpatialIndex.Hit> hits = index.withinRadius(37.4981, 127.0276, 5000);
+
+        // Then
+        assertThat(hits)
+            .extracting(hit -> hit.stop().getStopId())
+            .containsExactly("STOP001", "STOP002");
+    }
+
+    @Test
+    void nearest_shouldReturnEmpty_whenRadiusIsNotFinite() {
+        // Given
+        index.rebuild(List.of(new BusStop("STOP001", "강남역", 37.4981, 127.0276)));
+
+        // When & Then
+        assertThat(index.nearest(37.4981, 127.0276, 3, Double.NaN)).isEmpty();
+        assertThat(index.nearest(37.4981, 127.0276, 3, Double.POSITIVE_INFINITY)).isEmpty();
+        assertThat(index.withinRadius(37.4981, 127.0276, Double.NaN)).isEmpty();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,93 @@
+package com.bustrackr.service;
+
+import com.bustrackr.domain.BusLocation;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IngestFingerprintsTest {
+
+    private final IngestFingerprints fingerprints = new IngestFingerprints();
+
+    @Test
+    void diff_shouldTreatEverythingAsChanged_onFirstSync() {
+        // When
+        IngestFingerprints.Diff diff = fingerprints.diff("ROUTE001",
+            List.of(location("BUS001", 37.4981, "ST001"), location("BUS002", 37.5012, "ST002")));
+
+        // Then
+        assertThat(diff.changed()).hasSize(2);
+        assertThat(diff.unchanged()).isEmpty();
+        assertThat(diff.membershipChanged()).isTrue();
+    }
+
+    @Test
+    void diff_shouldDetectUnchangedRoute_ignoringTimestampsAndOrder() {
+        // Given
+        fingerprints.commit(fingerprints.diff("ROUTE001",
+            List.of(location("BUS001", 37.4981, "ST001"), location("BUS002", 37.5012, "ST002"))));
+
+        // When
+        IngestFingerprints.Diff diff = fingerprints.diff("ROUTE001",
+            List.of(location("BUS002", 37.5012, "ST002"), location("BUS001", 37.4981, "ST001")));
+
+        // Then
+        assertThat(diff.isRouteUnchanged()).isTrue();
+        assertThat(diff.unchanged()).containsExactlyInAnyOrder("BUS001", "BUS002");
+    }
+
+    @Test
+    void diff_shouldReturnOnlyChangedVehicles() {
+        // Given
+        fingerprints.commit(fingerprints.diff("ROUTE001",
+            List.of(location("BUS001", 37.4981, "ST001"), location("BUS002", 37.5012, "ST002"))));
+
+        // When
+        IngestFingerprints.Diff diff = fingerprints.diff("ROUTE001",
+            List.of(location("BUS001", 37.4981, "ST001"), location("BUS002", 37.5020, "ST003")));
+
+        // Then
+        assertThat(diff.isRouteUnchanged()).isFalse();
+        assertThat(diff.membershipChanged()).isFalse();
+        assertThat(diff.changed()).extracting(BusLocation::getBusId).containsExactly("BUS002");
+        assertThat(diff.unchanged()).containsExactly("BUS001");
+    }
+
+    @Test
+    void diff_shouldReportMembershipChange_whenBusLeavesRoute() {
+        // Given
+        fingerprints.commit(fingerprints.diff("ROUTE001",
+            List.of(location("BUS001", 37.4981, "ST001"), location("BUS002", 37.5012, "ST002"))));
+
+        // When
+        IngestFingerprints.Diff diff = fingerprints.diff("ROUTE001", List.of(location("BUS001", 37.4981, "ST001")));
+
+        // Then
+        assertThat(diff.changed()).isEmpty();
+        assertThat(diff.membershipChanged()).isTrue();
+        assertThat(diff.isRouteUnchanged()).isFalse();
+    }
+
+    @Test
+    void diff_shouldNotAdvance_untilCommitted() {
+        // Given
+        fingerprints.diff("ROUTE001", List.of(location("BUS001", 37.4981, "ST001")));
+
+        // When
+        IngestFingerprints.Diff diff = fingerprints.diff("ROUTE001", List.of(location("BUS001", 37.4981, "ST001")));
+
+        // Then
+        assertThat(diff.changed()).hasSize(1);
+    }
+
+    private BusLocation location(String busId, double latitude, String nextStopId) {
+        BusLocation location = new BusLocation(busId, "ROUTE001", latitude, 127.0276);
+        location.setNextStopId(nextStopId);
+        location.setCongestion(BusLocation.CongestionLevel.LOW);
+        location.setLastUpdated(LocalDateTime.now());
+        return location;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,110 @@
+package com.bustrackr.service;
+
+import com.bustrackr.domain.BusLocation;
+import com.bustrackr.dto.BusLocationDelta;
+import com.bustrackr.dto.BusLocationResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LiveBusStateStoreTest {
+
+    private final LiveBusStateStore store = new LiveBusStateStore();
+
+    @Test
+    void getRoute_shouldReturnNull_whenRouteNeverLoaded() {
+        assertThat(store.getRoute("ROUTE001")).isNull();
+        assertThat(store.getBus("BUS001")).isNull();
+    }
+
+    @Test
+    void replaceRoute_shouldSwapSnapshotAndDropMissingBuses() {
+        // Given
+        store.replaceRoute("ROUTE001", List.of(location("BUS001", 37.4981), location("BUS002", 37.5006)));
+
+        // When
+        store.replaceRoute("ROUTE001", List.of(location("BUS001", 37.4990)));
+
+        // Then
+        assertThat(store.getRoute("ROUTE001"))
+            .extracting(BusLocationResponse::getBusId)
+            .containsExactly("BUS001");
+        assertThat(store.getBus("BUS001").getLatitude()).isEqualTo(37.4990);
+        assertThat(store.getBus("BUS002")).isNull();
+    }
+
+    @Test
+    void replaceRoute_shouldNotAffectPreviouslyReadSnapshot() {
+        // Given
+        store.replaceRoute("ROUTE001", List.of(location("BUS001", 37.4981)));
+        List<BusLocationResponse> before = store.getRoute("ROUTE001");
+
+        // When
+        store.updateBus(location("BUS002", 37.5006));
+
+        // Then
+        assertThat(before).hasSize(1);
+        assertThat(store.getRoute("ROUTE001")).hasSize(2);
+        assertThatThrownBy(() -> before.add(location("BUS003", 37.5500)))
+            .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void replaceRoute_shouldBuildDeltaOfChangedAndRemovedBuses() {
+        // Given
+        store.replaceRoute("ROUTE001", List.of(location("BUS001", 37.4981), location("BUS002", 37.5006)));
+
+        // When
+        store.replaceRoute("ROUTE001", List.of(location("BUS001", 37.4981), location("BUS003", 37.5100)));
+
+        // Then
+        LiveBusStateStore.RouteState state = store.getRouteState("ROUTE001");
+        BusLocationDelta delta = state.lastDelta();
+        assertThat(state.sequence()).isEqualTo(2);
+        assertThat(delta.getType()).isEqualTo(BusLocationDelta.DELTA);
+        assertThat(delta.getSequence()).isEqualTo(2);
+        assertThat(delta.getUpserts())
+            .extracting(BusLocationResponse::getBusId)
+            .containsExactly("BUS003");
+        assertThat(delta.getRemoved()).containsExactly("BUS002");
+    }
+
+    @Test
+    void replaceRoute_shouldKeepSequence_whenNoBusMoved() {
+        // Given
+        store.replaceRoute("ROUTE001", List.of(location("BUS001", 37.4981)));
+
+        // When
+        store.replaceRoute("ROUTE001", List.of(location("BUS001", 37.4981)));
+
+        // Then
+        LiveBusStateStore.RouteState state = store.getRouteState("ROUTE001");
+        assertThat(state.sequence()).isEqualTo(1);
+        assertThat(state.lastDelta()).isNull();
+    }
+
+    @Test
+    void fillRouteIfAbsent_shouldNotOverwriteSyncedSnapshot() {
+        // Given
+        store.replaceRoute("ROUTE001", List.of(location("BUS001", 37.4990)));
+
+        // When: 동기화보다 늦게 끝난 DB 조회 결과
+        store.fillRouteIfAbsent("ROUTE001", List.of(location("BUS001", 37.4981)));
+
+        // Then
+        LiveBusStateStore.RouteState state = store.getRouteState("ROUTE001");
+        assertThat(state.sequence()).isEqualTo(1);
+        assertThat(state.locations().get(0).getLatitude()).isEqualTo(37.4990);
+        assertThat(store.getBus("BUS001").getLatitude()).isEqualTo(37.4990);
+    }
+
+    private BusLocationResponse location(String busId, double latitude) {
+        BusLocation location = new BusLocation(busId, "ROUTE001", latitude, 127.0276);
+        location.setLastUpdated(LocalDateTime.now());
+        return new BusLocationResponse(location);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,190 @@
+package com.bustrackr.service;
+
+import com.bustrackr.config.IngestProperties;
+import com.bustrackr.domain.BusLocation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+
+class LocationWriteBehindQueueTest {
+
+    private final IngestProperties properties = new IngestProperties();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicLong clock = new AtomicLong();
+    private final BusDataSyncService busDataSyncService = mock(BusDataSyncService.class);
+    private LocationWriteBehindQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        properties.getWriteBehind().setCapacity(3);
+        properties.getWriteBehind().setMaxSnapshotsPerRoute(2);
+        properties.getWriteBehind().setOfferTimeout(0);
+        queue = new LocationWriteBehindQueue(properties, busDataSyncService, registry, clock::get);
+    }
+
+    @Test
+    void submit_shouldAppendSnapshotsOfSameRouteAndKeepFirstEnqueueTime() {
+        // Given
+        queue.submit("ROUTE001", List.of(location("BUS001", 37.4981)));
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        // When
+        queue.submit("ROUTE001", List.of(location("BUS001", 37.4990), location("BUS002", 37.5006)));
+        List<LocationWriteBehindQueue.Pending> batch = queue.drain(10);
+
+        // Then
+        assertThat(batch).hasSize(1);
+        assertThat(batch.get(0).snapshots()).hasSize(2);
+        assertThat(batch.get(0).locationCount()).isEqualTo(3);
+        assertThat(batch.get(0).enqueuedAt()).isZero();
+        assertThat(registry.get("bus.ingest.write-behind.coalesced").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void submit_shouldReject_whenQueuedSnapshotsReachCapacity() {
+        // Given: 노선 두 개에 스냅샷 세 개 (capacity 3)
+        queue.submit("ROUTE001", List.of(location("BUS001", 37.4981)));
+        queue.submit("ROUTE002", List.of(location("BUS002", 37.5006)));
+        queue.submit("ROUTE002", List.of(location("BUS002", 37.5010)));
+
+        // When: 새 노선도, 이미 대기 중인 노선도 자리를 더 쓸 수 없음
+        boolean newRoute = queue.submit("ROUTE003", List.of(location("BUS003", 37.5500)));
+        boolean queuedRoute = queue.submit("ROUTE001", List.of(location("BUS001", 37.4990)));
+
+        // Then
+        assertThat(newRoute).isFalse();
+        assertThat(queuedRoute).isFalse();
+        assertThat(queue.getDepth()).isEqualTo(2);
+        assertThat(queue.getQueuedSnapshots()).isEqualTo(3);
+        assertThat(registry.get("bus.ingest.write-behind.rejected").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void submit_shouldKeepNewestSnapshots_whenRouteReachesItsLimit() {
+        // Given
+        List<BusLocation> oldest = List.of(location("BUS001", 37.4981));
+        List<BusLocation> middle = List.of(location("BUS001", 37.4990));
+        List<BusLocation> newest = List.of(location("BUS001", 37.5000));
+        queue.submit("ROUTE001", oldest);
+        queue.submit("ROUTE001", middle);
+
+        // When
+        boolean accepted = queue.submit("ROUTE001", newest);
+
+        // Then
+        assertThat(accepted).isTrue();
+        assertThat(queue.drain(10).get(0).snapshots()).containsExactly(middle, newest);
+        assertThat(registry.get("bus.ingest.write-behind.dropped").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void submit_shouldStayBounded_whileDatabaseIsStalled() throws Exception {
+        // Given: 저장 스레드가 첫 묶음에서 멈춤
+        CountDownLatch stalled = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            stalled.countDown();
+            resume.await();
+            return null;
+        }).when(busDataSyncService).persistBusLocations(anyMap());
+        properties.getWriteBehind().setLinger(0);
+        queue.start();
+        queue.submit("ROUTE001", List.of(location("BUS001", 37.4981)));
+        assertThat(stalled.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When: 같은 노선이 매 주기 계속 들어옴
+        for (int i = 0; i < 100; i++) {
+            assertThat(queue.submit("ROUTE001", List.of(location("BUS001", 37.4990 + i * 0.0001)))).isTrue();
+        }
+
+        // Then: 노선당 상한만큼만 남고 나머지는 버린 것으로 집계
+        assertThat(queue.getQueuedSnapshots()).isEqualTo(2);
+        assertThat(queue.getPendingLocations()).isEqualTo(2);
+        assertThat(registry.get("bus.ingest.write-behind.dropped").counter().count()).isEqualTo(98);
+        resume.countDown();
+        queue.stop();
+    }
+
+    @Test
+    void drain_shouldReturnRoutesInArrivalOrderUpToLimit() {
+        // Given
+        queue.submit("ROUTE001", List.of(location("BUS001", 37.4981)));
+        queue.submit("ROUTE002", List.of(location("BUS002", 37.5006), location("BUS003", 37.5010)));
+
+        // When
+        assertThat(queue.getPendingLocations()).isEqualTo(3);
+        List<LocationWriteBehindQueue.Pending> first = queue.drain(1);
+        List<LocationWriteBehindQueue.Pending> second = queue.drain(1);
+
+        // Then
+        assertThat(first).extracting(LocationWriteBehindQueue.Pending::routeId).containsExactly("ROUTE001");
+        assertThat(second).extracting(LocationWriteBehindQueue.Pending::routeId).containsExactly("ROUTE002");
+        assertThat(queue.getDepth()).isZero();
+        assertThat(registry.get("bus.ingest.write-behind.depth").gauge().value()).isZero();
+    }
+
+    @Test
+    void persist_shouldSaveAppendedSnapshotsInOrder() {
+        // Given
+        List<BusLocation> first = List.of(location("BUS001", 37.4981));
+        List<BusLocation> second = List.of(location("BUS001", 37.4990));
+        List<BusLocation> other = List.of(location("BUS002", 37.5006));
+        queue.submit("ROUTE001", first);
+        queue.submit("ROUTE002", other);
+        queue.submit("ROUTE001", second);
+
+        // When
+        queue.persist(queue.drain(10));
+
+        // Then: 노선마다 스냅샷 하나씩 묶어 들어온 순서대로 저장
+        var order = inOrder(busDataSyncService);
+        order.verify(busDataSyncService).persistBusLocations(Map.of("ROUTE001", first, "ROUTE002", other));
+        order.verify(busDataSyncService).persistBusLocations(Map.of("ROUTE001", second));
+        assertThat(registry.get("bus.ingest.write-behind.persisted").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void persist_shouldRetryEachRoute_whenBatchFails() {
+        // Given: ROUTE002가 들어간 트랜잭션만 실패
+        doAnswer(invocation -> {
+            Map<String, List<BusLocation>> routes = invocation.getArgument(0);
+            if (routes.containsKey("ROUTE002")) {
+                throw new IllegalStateException("constraint violation");
+            }
+            return null;
+        }).when(busDataSyncService).persistBusLocations(anyMap());
+        BusLocation saved = location("BUS001", 37.4981);
+        saved.setId(42L);
+        List<BusLocation> healthy = List.of(saved);
+        List<BusLocation> broken = List.of(location("BUS002", 37.5006));
+        queue.submit("ROUTE001", healthy);
+        queue.submit("ROUTE002", broken);
+
+        // When
+        queue.persist(queue.drain(10));
+
+        // Then: ROUTE001은 롤백으로 남은 ID를 지우고 따로 저장됨
+        var order = inOrder(busDataSyncService);
+        order.verify(busDataSyncService).persistBusLocations(Map.of("ROUTE001", healthy, "ROUTE002", broken));
+        order.verify(busDataSyncService).persistBusLocations(Map.of("ROUTE001", healthy));
+        assertThat(saved.getId()).isNull();
+        assertThat(registry.get("bus.ingest.write-behind.persisted").counter().count()).isEqualTo(1);
+        assertThat(registry.get("bus.ingest.write-behind.failed").counter().count()).isEqualTo(1);
+    }
+
+    private BusLocation location(String busId, double latitude) {
+        return new BusLocation(busId, "ROUTE001", latitude, 127.0276);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,110 @@
+package com.bustrackr.service;
+
+import com.bustrackr.domain.BusLocation;
+import com.bustrackr.dto.BusLocationResponse;
+import com.bustrackr.dto.SerializedPayload;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class SerializedPayloadCacheTest {
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper()
+        .findAndRegisterModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Spy
+    private LiveBusStateStore liveBusStateStore = new LiveBusStateStore();
+
+    @InjectMocks
+    private SerializedPayloadCache serializedPayloadCache;
+
+    @Test
+    void getRouteLocations_shouldSerializeOncePerRouteState() throws Exception {
+        // Given
+        liveBusStateStore.replaceRoute("ROUTE001", List.of(location("BUS001", 37.4981)));
+
+        // When
+        SerializedPayload first = serializedPayloadCache.getRouteLocations("ROUTE001");
+        SerializedPayload second = serializedPayloadCache.getRouteLocations("ROUTE001");
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(new String(first.json(), StandardCharsets.UTF_8)).contains("\"busId\":\"BUS001\"");
+        // 위치 목록, 스냅샷 프레임, delta 프레임 각각 한 번
+        verify(objectMapper, times(3)).writeValueAsBytes(any());
+    }
+
+    @Test
+    void getRouteDelta_shouldFollowLatestRouteState() {
+        // Given
+        liveBusStateStore.replaceRoute("ROUTE001", List.of(location("BUS001", 37.4981)));
+        SerializedPayload before = serializedPayloadCache.getRouteDelta("ROUTE001");
+
+        // When
+        liveBusStateStore.replaceRoute("ROUTE001", List.of(location("BUS001", 37.4990)));
+        SerializedPayload after = serializedPayloadCache.getRouteDelta("ROUTE001");
+
+        // Then
+        assertThat(before.version()).isEqualTo(1);
+        assertThat(after.version()).isEqualTo(2);
+        assertThat(new String(after.json(), StandardCharsets.UTF_8)).contains("37.499");
+    }
+
+    @Test
+    void getStopArrivals_shouldReloadOnlyAfterInvalidate() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        serializedPayloadCache.getStopArrivals("23001", () -> List.of(loads.incrementAndGet()));
+        serializedPayloadCache.getStopArrivals("23001", () -> List.of(loads.incrementAndGet()));
+        serializedPayloadCache.invalidateStop("23001");
+        SerializedPayload reloaded = serializedPayloadCache.getStopArrivals("23001", () -> List.of(loads.incrementAndGet()));
+
+        // Then
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(reloaded.version()).isEqualTo(1);
+        assertThat(new String(reloaded.json(), StandardCharsets.UTF_8)).isEqualTo("[2]");
+    }
+
+    @Test
+    void getStopArrivals_shouldNotCachePayloadInvalidatedWhileLoading() {
+        // Given: 읽는 도중 동기화가 도착정보를 바꿈
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        SerializedPayload stale = serializedPayloadCache.getStopArrivals("23001", () -> {
+            serializedPayloadCache.invalidateStop("23001");
+            return List.of(loads.incrementAndGet());
+        });
+        SerializedPayload reloaded = serializedPayloadCache.getStopArrivals("23001", () -> List.of(loads.incrementAndGet()));
+
+        // Then
+        assertThat(stale.version()).isZero();
+        assertThat(reloaded.version()).isEqualTo(1);
+        assertThat(new String(reloaded.json(), StandardCharsets.UTF_8)).isEqualTo("[2]");
+    }
+
+    private BusLocationResponse location(String busId, double latitude) {
+        BusLocation location = new BusLocation(busId, "ROUTE001", latitude, 127.0276);
+        location.setLastUpdated(LocalDateTime.now());
+        return new BusLocationResponse(location);
+    }
+}
\ No newline at end of file
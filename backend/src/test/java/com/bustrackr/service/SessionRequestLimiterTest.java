@@ -0,0 +1,69 @@
+package com.bustrackr.service;
+
+import com.bustrackr.config.WebSocketProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SessionRequestLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private SessionRequestLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        WebSocketProperties properties = new WebSocketProperties();
+        properties.setRequestsPerSecond(1);
+        properties.setRequestBurst(2);
+        limiter = new SessionRequestLimiter(properties, registry, now::get);
+    }
+
+    @Test
+    void tryAcquire_shouldRejectBeyondBurst_untilTokensRefill() {
+        // Given
+        limiter.tryAcquire("session-1");
+        limiter.tryAcquire("session-1");
+
+        // When
+        boolean overBurst = limiter.tryAcquire("session-1");
+        now.addAndGet(1_000_000_000L);
+        boolean afterRefill = limiter.tryAcquire("session-1");
+
+        // Then
+        assertThat(overBurst).isFalse();
+        assertThat(afterRefill).isTrue();
+        assertThat(registry.get("bus.ws.requests.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void tryAcquire_shouldLimitEachSessionSeparately() {
+        // Given
+        limiter.tryAcquire("session-1");
+        limiter.tryAcquire("session-1");
+
+        // When & Then
+        assertThat(limiter.tryAcquire("session-1")).isFalse();
+        assertThat(limiter.tryAcquire("session-2")).isTrue();
+    }
+
+    @Test
+    void onDisconnect_shouldForgetSessionBucket() {
+        // Given
+        limiter.tryAcquire("session-1");
+
+        // When
+        limiter.onDisconnect(new SessionDisconnectEvent(this,
+            MessageBuilder.withPayload(new byte[0]).build(), "session-1", CloseStatus.NORMAL));
+
+        // Then
+        assertThat(limiter.getSessionCount()).isZero();
+    }
+}
\ No newline at end of file
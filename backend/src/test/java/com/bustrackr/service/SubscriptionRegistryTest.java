@@ -0,0 +1,183 @@
+package com.bustrackr.service;
+
+import com.bustrackr.config.PollingProperties;
+import com.bustrackr.config.WebSocketProperties;
+import com.bustrackr.service.cache.PollingLeases;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SubscriptionRegistryTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final WebSocketProperties webSocketProperties = new WebSocketProperties();
+    private final PollingProperties pollingProperties = new PollingProperties();
+    private final PollingLeases pollingLeases = mock(PollingLeases.class);
+    private SubscriptionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        BusRouteService busRouteService = mock(BusRouteService.class);
+        BusStopService busStopService = mock(BusStopService.class);
+        when(busRouteService.isKnownRoute(anyString()))
+            .thenAnswer(invocation -> Set.of("472", "143", "740").contains(invocation.<String>getArgument(0)));
+        when(busStopService.isKnownStop(anyString()))
+            .thenAnswer(invocation -> Set.of("23001", "23002").contains(invocation.<String>getArgument(0)));
+        registry = new SubscriptionRegistry(pollingProperties, pollingLeases,
+            busRouteService, busStopService, webSocketProperties, meterRegistry);
+    }
+
+    @Test
+    void subscribe_shouldCountSubscribersPerRoute() {
+        // When
+        registry.onSubscribe(subscribe("session-1", "sub-0", "/topic/bus-locations/472"));
+        registry.onSubscribe(subscribe("session-2", "sub-0", "/topic/bus-locations/472"));
+        registry.onSubscribe(subscribe("session-2", "sub-1", "/topic/bus-arrivals/23001"));
+        registry.onSubscribe(subscribe("session-2", "sub-2", "/topic/notifications"));
+
+        // Then
+        assertThat(registry.getActiveRoutes()).containsExactly("472");
+        assertThat(registry.getRouteSubscriberCount("472")).isEqualTo(2);
+        assertThat(registry.getActiveStops()).containsExactly("23001");
+    }
+
+    @Test
+    void subscribe_shouldKeepRouteAndLease_whenSameSubscriptionIdResubscribes() {
+        // Given
+        registry.onSubscribe(subscribe("session-1", "sub-0", "/topic/bus-locations/472"));
+
+        // When: 같은 구독 ID로 같은 노선을 다시 구독
+        registry.onSubscribe(subscribe("session-1", "sub-0", "/topic/bus-locations/472"));
+
+        // Then: 구독자는 여전히 한 명이고 임대도 놓지 않음
+        assertThat(registry.getActiveRoutes()).containsExactly("472");
+        assertThat(registry.getRouteSubscriberCount("472")).isEqualTo(1);
+        verify(pollingLeases, never()).release("locations", "472");
+
+        // When: 같은 구독 ID로 다른 노선을 구독하면 이전 노선만 해제
+        registry.onSubscribe(subscribe("session-1", "sub-0", "/topic/bus-locations/143"));
+
+        // Then
+        assertThat(registry.getActiveRoutes()).containsExactly("143");
+        verify(pollingLeases).release("locations", "472");
+    }
+
+    @Test
+    void unsubscribe_shouldRemoveRouteWhenLastSubscriberLeaves() {
+        // Given
+        registry.onSubscribe(subscribe("session-1", "sub-0", "/topic/bus-locations/472"));
+        registry.onSubscribe(subscribe("session-2", "sub-0", "/topic/bus-locations/472"));
+
+        // When
+        registry.onUnsubscribe(new SessionUnsubscribeEvent(this, message(StompCommand.UNSUBSCRIBE, "session-1", "sub-0", null)));
+
+        // Then
+        assertThat(registry.getRouteSubscriberCount("472")).isEqualTo(1);
+
+        // When
+        registry.onUnsubscribe(new SessionUnsubscribeEvent(this, message(StompCommand.UNSUBSCRIBE, "session-2", "sub-0", null)));
+
+        // Then
+        assertThat(registry.getActiveRoutes()).isEmpty();
+        verify(pollingLeases).release("locations", "472");
+    }
+
+    @Test
+    void unsubscribe_shouldKeepLeaseOfWarmRoute() {
+        // Given
+        pollingProperties.setWarmRoutes(List.of("472"));
+        registry.onSubscribe(subscribe("session-1", "sub-0", "/topic/bus-locations/472"));
+
+        // When
+        registry.onUnsubscribe(new SessionUnsubscribeEvent(this, message(StompCommand.UNSUBSCRIBE, "session-1", "sub-0", null)));
+
+        // Then
+        verify(pollingLeases, never()).release("locations", "472");
+    }
+
+    @Test
+    void disconnect_shouldReleaseAllSubscriptionsOfSession() {
+        // Given
+        registry.onSubscribe(subscribe("session-1", "sub-0", "/topic/bus-locations/472"));
+        registry.onSubscribe(subscribe("session-1", "sub-1", "/topic/bus-arrivals/23001"));
+        registry.onSubscribe(subscribe("session-2", "sub-0", "/topic/bus-arrivals/23001"));
+
+        // When
+        registry.onDisconnect(new SessionDisconnectEvent(this,
+            message(StompCommand.DISCONNECT, "session-1", null, null), "session-1", CloseStatus.NORMAL));
+
+        // Then
+        assertThat(registry.getActiveRoutes()).isEmpty();
+        assertThat(registry.getStopSubscriberCount("23001")).isEqualTo(1);
+    }
+
+    @Test
+    void subscribe_shouldIgnoreUnknownRoutesAndStops() {
+        // When
+        registry.onSubscribe(subscribe("session-1", "sub-0", "/topic/bus-locations/no-such-route"));
+        registry.onSubscribe(subscribe("session-1", "sub-1", "/topic/bus-arrivals/99999"));
+
+        // Then
+        assertThat(registry.getActiveRoutes()).isEmpty();
+        assertThat(registry.getActiveStops()).isEmpty();
+        assertThat(registry.accepts("session-1", "sub-2", "/topic/bus-locations/no-such-route")).isFalse();
+        assertThat(registry.accepts("session-1", "sub-2", "/topic/notifications")).isTrue();
+        assertThat(meterRegistry.get("bus.ws.subscriptions.rejected").tag("reason", "unknown").counter().count())
+            .isEqualTo(3);
+    }
+
+    @Test
+    void subscribe_shouldCapSubscriptionsPerSession() {
+        // Given
+        webSocketProperties.setMaxSubscriptionsPerSession(2);
+        registry.onSubscribe(subscribe("session-1", "sub-0", "/topic/bus-locations/472"));
+        registry.onSubscribe(subscribe("session-1", "sub-1", "/topic/bus-locations/143"));
+
+        // When
+        registry.onSubscribe(subscribe("session-1", "sub-2", "/topic/bus-locations/740"));
+        registry.onSubscribe(subscribe("session-1", "sub-1", "/topic/bus-arrivals/23001"));
+        registry.onSubscribe(subscribe("session-2", "sub-0", "/topic/bus-locations/740"));
+
+        // Then: 상한은 세션마다 따로 세고, 같은 구독ID로 다시 구독하면 기존 구독을 대신함
+        assertThat(registry.getActiveRoutes()).containsExactlyInAnyOrder("472", "740");
+        assertThat(registry.getRouteSubscriberCount("740")).isEqualTo(1);
+        assertThat(registry.getActiveStops()).containsExactly("23001");
+        assertThat(registry.accepts("session-1", "sub-3", "/topic/bus-locations/740")).isFalse();
+        assertThat(meterRegistry.get("bus.ws.subscriptions.rejected").tag("reason", "limit").counter().count())
+            .isEqualTo(2);
+    }
+
+    private SessionSubscribeEvent subscribe(String sessionId, String subscriptionId, String destination) {
+        return new SessionSubscribeEvent(this, message(StompCommand.SUBSCRIBE, sessionId, subscriptionId, destination));
+    }
+
+    private Message<byte[]> message(StompCommand command, String sessionId, String subscriptionId, String destination) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setSessionId(sessionId);
+        if (subscriptionId != null) {
+            accessor.setSubscriptionId(subscriptionId);
+        }
+        if (destination != null) {
+            accessor.setDestination(destination);
+        }
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,157 @@
+package com.bustrackr.service;
+
+import com.bustrackr.config.IngestProperties;
+import com.bustrackr.domain.BusLocation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TrajectoryCompressorTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 10, 18, 9, 0);
+    private static final double STEP = 0.001; // 약 111m
+
+    private TrajectoryCompressor compressor;
+    private final List<BusLocation> persisted = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        IngestProperties properties = new IngestProperties();
+        properties.getCompression().setEnabled(true);
+        properties.getCompression().setToleranceMeters(20);
+        properties.getCompression().setMaxGapSeconds(300);
+        compressor = new TrajectoryCompressor(properties);
+    }
+
+    @Test
+    void plan_shouldDropPointsOnStraightConstantSpeedSegment() {
+        // When
+        for (int i = 0; i < 6; i++) {
+            feed(37.4981 + STEP * i, 127.0276, i * 30);
+        }
+
+        // Then
+        assertThat(persisted).hasSize(1);
+        assertThat(persisted.get(0).getLastUpdated()).isEqualTo(START);
+    }
+
+    @Test
+    void plan_shouldKeepCornerPoint() {
+        // When
+        feed(37.4981, 127.0276, 0);
+        feed(37.4981 + STEP, 127.0276, 30);
+        feed(37.4981 + STEP * 2, 127.0276, 60);
+        feed(37.4981 + STEP * 2, 127.0276 + STEP, 90);
+        feed(37.4981 + STEP * 2, 127.0276 + STEP * 2, 120);
+
+        // Then
+        assertThat(persisted).extracting(BusLocation::getLastUpdated)
+            .containsExactly(START, START.plusSeconds(60));
+    }
+
+    @Test
+    void plan_shouldKeepBothEndsOfStop() {
+        // When
+        feed(37.4981, 127.0276, 0);
+        feed(37.4981 + STEP, 127.0276, 30);
+        feed(37.4981 + STEP, 127.0276, 60);
+        feed(37.4981 + STEP, 127.0276, 90);
+        feed(37.4981 + STEP, 127.0276, 120);
+        feed(37.4981 + STEP * 2, 127.0276, 150);
+
+        // Then
+        assertThat(persisted).extracting(BusLocation::getLastUpdated)
+            .containsExactly(START, START.plusSeconds(30), START.plusSeconds(120));
+    }
+
+    @Test
+    void plan_shouldKeepPointAtLeastEveryMaxGap() {
+        // When
+        for (int i = 0; i <= 12; i++) {
+            feed(37.4981, 127.0276, i * 30);
+        }
+
+        // Then
+        assertThat(persisted).extracting(BusLocation::getLastUpdated)
+            .containsExactly(START, START.plusSeconds(300));
+    }
+
+    @Test
+    void plan_shouldFlushPendingPoint_whenBusLeavesRoute() {
+        // Given
+        feed(37.4981, 127.0276, 0);
+        feed(37.4981 + STEP, 127.0276, 30);
+
+        // When
+        TrajectoryCompressor.Plan plan = compressor.plan("ROUTE001", List.of());
+
+        // Then
+        assertThat(plan.kept()).extracting(BusLocation::getLastUpdated).containsExactly(START.plusSeconds(30));
+        assertThat(plan.tracks()).isEmpty();
+    }
+
+    @Test
+    void plan_shouldNotAdvanceState_untilCommitted() {
+        // Given
+        compressor.plan("ROUTE001", List.of(location(37.4981, 127.0276, 0)));
+
+        // When
+        TrajectoryCompressor.Plan plan = compressor.plan("ROUTE001", List.of(location(37.4981, 127.0276, 0)));
+
+        // Then
+        assertThat(plan.kept()).hasSize(1);
+    }
+
+    @Test
+    void reconstruct_shouldInterpolateWindowStartAndAppendLatestPosition() {
+        // Given
+        BusLocation anchor = location(37.4981, 127.0276, 0);
+        BusLocation kept = location(37.4981 + STEP * 4, 127.0276, 120);
+        BusLocation latest = location(37.4981 + STEP * 6, 127.0276, 180);
+
+        // When
+        List<BusLocation> result = compressor.reconstruct(START.plusSeconds(60),
+            List.of(anchor), List.of(kept), List.of(latest));
+
+        // Then
+        assertThat(result).hasSize(3);
+        assertThat(result.get(0).getLastUpdated()).isEqualTo(START.plusSeconds(60));
+        assertThat(result.get(0).getLatitude()).isCloseTo(37.4981 + STEP * 2, within(1e-9));
+        assertThat(result.get(1)).isSameAs(kept);
+        assertThat(result.get(2)).isSameAs(latest);
+    }
+
+    @Test
+    void reconstruct_shouldUseLatestPosition_whenNothingStoredInWindow() {
+        // Given
+        BusLocation anchor = location(37.4981, 127.0276, 0);
+        BusLocation latest = location(37.4981 + STEP * 4, 127.0276, 240);
+
+        // When
+        List<BusLocation> result = compressor.reconstruct(START.plusSeconds(120),
+            List.of(anchor), List.of(), List.of(latest));
+
+        // Then
+        assertThat(result).hasSize(2);
+        assertThat(result.get(0).getLatitude()).isCloseTo(37.4981 + STEP * 2, within(1e-9));
+        assertThat(result.get(1)).isSameAs(latest);
+    }
+
+    private void feed(double latitude, double longitude, int seconds) {
+        TrajectoryCompressor.Plan plan = compressor.plan("ROUTE001", List.of(location(latitude, longitude, seconds)));
+        compressor.commit(plan);
+        persisted.addAll(plan.kept());
+    }
+
+    private BusLocation location(double latitude, double longitude, int seconds) {
+        BusLocation location = new BusLocation("BUS001", "ROUTE001", latitude, longitude);
+        location.setLastUpdated(START.plusSeconds(seconds));
+        return location;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,154 @@
+package com.bustrackr.service.cache;
+
+import com.bustrackr.config.CacheProperties;
+import com.bustrackr.config.ClusterProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PollingLeasesTest {
+
+    private static final Duration INTERVAL = Duration.ofSeconds(30);
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final InMemorySnapshotStore sharedStore = new InMemorySnapshotStore(now::get);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private ClusterProperties clusterProperties;
+
+    @BeforeEach
+    void setUp() {
+        clusterProperties = new ClusterProperties();
+        clusterProperties.setRelay(ClusterProperties.Relay.REDIS);
+    }
+
+    @Test
+    void claim_shouldGiveEachKeyToOneNode() {
+        // Given
+        PollingLeases nodeA = node("node-a");
+        PollingLeases nodeB = node("node-b");
+        nodeA.claim("locations", List.of("472"), INTERVAL);
+
+        // When
+        List<String> ownedByB = nodeB.claim("locations", List.of("472", "143"), INTERVAL);
+
+        // Then
+        assertThat(ownedByB).containsExactly("143");
+        assertThat(nodeA.holds("locations", "472")).isTrue();
+        assertThat(nodeB.holds("locations", "472")).isFalse();
+        assertThat(registry.get("bus.polling.lease.claims").tag("result", "held-elsewhere").counter().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void claim_shouldRenewOwnLease() {
+        // Given
+        PollingLeases nodeA = node("node-a");
+        PollingLeases nodeB = node("node-b");
+        nodeA.claim("locations", List.of("472"), INTERVAL);
+
+        // When: 한 주기마다 연장하면 임대 기간(두 주기)이 지나도 넘어가지 않음
+        now.addAndGet(INTERVAL.toMillis());
+        nodeA.claim("locations", List.of("472"), INTERVAL);
+        now.addAndGet(INTERVAL.toMillis() + 1);
+
+        // Then
+        assertThat(nodeB.claim("locations", List.of("472"), INTERVAL)).isEmpty();
+        assertThat(nodeA.holds("locations", "472")).isTrue();
+    }
+
+    @Test
+    void claim_shouldHandOver_whenOwnerStopsRenewing() {
+        // Given
+        PollingLeases nodeA = node("node-a");
+        PollingLeases nodeB = node("node-b");
+        nodeA.claim("locations", List.of("472"), INTERVAL);
+
+        // When
+        now.addAndGet(INTERVAL.multipliedBy(2).toMillis());
+        List<String> ownedByB = nodeB.claim("locations", List.of("472"), INTERVAL);
+
+        // Then
+        assertThat(ownedByB).containsExactly("472");
+        assertThat(nodeA.holds("locations", "472")).isFalse();
+    }
+
+    @Test
+    void claim_shouldAllowEveryKey_whenNotClustered() {
+        // Given
+        clusterProperties.setRelay(ClusterProperties.Relay.NONE);
+        PollingLeases nodeA = node("node-a");
+        PollingLeases nodeB = node("node-b");
+        nodeA.claim("locations", List.of("472"), INTERVAL);
+
+        // When
+        List<String> ownedByB = nodeB.claim("locations", List.of("472"), INTERVAL);
+
+        // Then
+        assertThat(ownedByB).containsExactly("472");
+        assertThat(nodeB.holds("arrivals", "23001")).isTrue();
+    }
+
+    @Test
+    void release_shouldLetAnotherNodeTakeOverImmediately() {
+        // Given
+        PollingLeases nodeA = node("node-a");
+        PollingLeases nodeB = node("node-b");
+        nodeA.claim("locations", List.of("472"), INTERVAL);
+
+        // When: A의 마지막 구독자가 떠남
+        nodeA.release("locations", "472");
+        List<String> ownedByB = nodeB.claim("locations", List.of("472"), INTERVAL);
+
+        // Then
+        assertThat(ownedByB).containsExactly("472");
+        assertThat(nodeA.holds("locations", "472")).isFalse();
+        assertThat(registry.get("bus.polling.lease.releases").tag("job", "locations").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void release_shouldNotDeleteLeaseTakenOverByAnotherNode() {
+        // Given: A의 임대가 만료돼 B가 넘겨받음
+        PollingLeases nodeA = node("node-a");
+        PollingLeases nodeB = node("node-b");
+        PollingLeases nodeC = node("node-c");
+        nodeA.claim("locations", List.of("472"), INTERVAL);
+        now.addAndGet(INTERVAL.multipliedBy(2).toMillis());
+        nodeB.claim("locations", List.of("472"), INTERVAL);
+
+        // When
+        nodeA.release("locations", "472");
+
+        // Then
+        assertThat(nodeC.claim("locations", List.of("472"), INTERVAL)).isEmpty();
+        assertThat(nodeB.holds("locations", "472")).isTrue();
+    }
+
+    @Test
+    void init_shouldRequireSharedStore_whenClustered() {
+        // Given
+        ClusterProperties properties = new ClusterProperties();
+        properties.setRelay(ClusterProperties.Relay.STOMP);
+
+        // When & Then
+        assertThatThrownBy(() -> new PollingLeases(properties, new CacheProperties(), sharedStore, registry, now::get))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("bus.cache.store=redis");
+    }
+
+    private PollingLeases node(String nodeId) {
+        ClusterProperties properties = new ClusterProperties();
+        properties.setRelay(clusterProperties.getRelay());
+        properties.setNodeId(nodeId);
+        // 노드들이 같은 임대 저장소를 보도록 공유 저장소 하나를 넘김 (운영에서는 Redis)
+        CacheProperties cacheProperties = new CacheProperties();
+        cacheProperties.setStore(CacheProperties.Store.REDIS);
+        return new PollingLeases(properties, cacheProperties, sharedStore, registry, now::get);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,106 @@
+package com.bustrackr.service.cache;
+
+import com.bustrackr.config.CacheProperties;
+import com.bustrackr.dto.SerializedPayload;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SharedSnapshotCacheTest {
+
+    private final CacheProperties properties = new CacheProperties();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicLong clock = new AtomicLong();
+    private SharedSnapshotCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new SharedSnapshotCache(new InMemorySnapshotStore(clock::get), properties, registry);
+    }
+
+    @Test
+    void getStopArrivals_shouldReturnPayloadWrittenBySyncingNode() {
+        // Given
+        cache.putStopArrivals("23001", payload(7, "[{\"routeId\":\"472\"}]"));
+
+        // When
+        SerializedPayload found = cache.getStopArrivals("23001");
+
+        // Then
+        assertThat(found.version()).isEqualTo(7);
+        assertThat(new String(found.json(), StandardCharsets.UTF_8)).isEqualTo("[{\"routeId\":\"472\"}]");
+        assertThat(cache.getRouteLocations("23001")).isNull();
+        assertThat(count("arrivals", "hit")).isEqualTo(1);
+        assertThat(count("locations", "miss")).isEqualTo(1);
+    }
+
+    @Test
+    void getRouteLocations_shouldExpireAfterLocationPeriod() {
+        // Given
+        cache.putRouteLocations("472", payload(1, "[]"));
+
+        // When
+        clock.addAndGet(Duration.ofSeconds(29).toMillis());
+        SerializedPayload beforeExpiry = cache.getRouteLocations("472");
+        clock.addAndGet(Duration.ofSeconds(1).toMillis());
+        SerializedPayload afterExpiry = cache.getRouteLocations("472");
+
+        // Then
+        assertThat(beforeExpiry).isNotNull();
+        assertThat(afterExpiry).isNull();
+    }
+
+    @Test
+    void get_shouldTreatStoreFailureAsMiss() {
+        // Given
+        SnapshotStore failing = new SnapshotStore() {
+            @Override
+            public byte[] get(String key) {
+                throw new IllegalStateException("connection refused");
+            }
+
+            @Override
+            public void put(String key, byte[] value, Duration ttl) {
+                throw new IllegalStateException("connection refused");
+            }
+
+            @Override
+            public void delete(String key) {
+                throw new IllegalStateException("connection refused");
+            }
+
+            @Override
+            public boolean tryLease(String key, String owner, Duration ttl) {
+                throw new IllegalStateException("connection refused");
+            }
+
+            @Override
+            public void releaseLease(String key, String owner) {
+                throw new IllegalStateException("connection refused");
+            }
+        };
+        cache = new SharedSnapshotCache(failing, properties, registry);
+
+        // When
+        cache.putStopArrivals("23001", payload(1, "[]"));
+        SerializedPayload found = cache.getStopArrivals("23001");
+
+        // Then
+        assertThat(found).isNull();
+        assertThat(count("arrivals", "error")).isEqualTo(2);
+    }
+
+    private double count(String cacheName, String result) {
+        return registry.get("bus.cache.shared.requests").tag("cache", cacheName).tag("result", result).counter().count();
+    }
+
+    private static SerializedPayload payload(long version, String json) {
+        return new SerializedPayload(version, json.getBytes(StandardCharsets.UTF_8));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,94 @@
+package com.bustrackr.service.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TwoLevelCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final InMemorySnapshotStore sharedStore = new InMemorySnapshotStore();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void get_shouldLoadOnce_thenServeFromLocalCache() {
+        // Given
+        TwoLevelCache<String> cache = cache(new SimpleMeterRegistry());
+
+        // When
+        cache.get("STOP001", this::load);
+        String found = cache.get("STOP001", this::load);
+
+        // Then
+        assertThat(found).isEqualTo("강남역");
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void get_shouldReadSharedTier_whenAnotherNodeAlreadyLoaded() {
+        // Given
+        SimpleMeterRegistry nodeBRegistry = new SimpleMeterRegistry();
+        TwoLevelCache<String> nodeA = cache(new SimpleMeterRegistry());
+        TwoLevelCache<String> nodeB = cache(nodeBRegistry);
+        nodeA.get("STOP001", this::load);
+
+        // When
+        String found = nodeB.get("STOP001", this::load);
+
+        // Then
+        assertThat(found).isEqualTo("강남역");
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(nodeBRegistry.get("bus.cache.static.shared").tag("result", "hit").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void evict_shouldForceReload_onEveryNodeThatEvictsLocally() {
+        // Given
+        TwoLevelCache<String> nodeA = cache(new SimpleMeterRegistry());
+        TwoLevelCache<String> nodeB = cache(new SimpleMeterRegistry());
+        nodeA.get("STOP001", this::load);
+        nodeB.get("STOP001", this::load);
+
+        // When: A가 값을 바꾸고 무효화 메시지를 받은 B가 로컬에서 제거
+        nodeA.evict("STOP001");
+        nodeB.evictLocal("STOP001");
+        nodeB.get("STOP001", this::load);
+        nodeA.get("STOP001", this::load);
+
+        // Then
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void get_shouldNotCacheMissingValues() {
+        // Given
+        TwoLevelCache<String> cache = cache(new SimpleMeterRegistry());
+
+        // When
+        cache.get("UNKNOWN", () -> {
+            loads.incrementAndGet();
+            return null;
+        });
+        String found = cache.get("UNKNOWN", this::load);
+
+        // Then
+        assertThat(found).isEqualTo("강남역");
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    // 노드마다 L1은 따로, L2는 공유
+    private TwoLevelCache<String> cache(SimpleMeterRegistry registry) {
+        return new TwoLevelCache<>("stops", 100, Duration.ofMinutes(10), sharedStore, "test",
+            Duration.ofHours(1), objectMapper, objectMapper.constructType(String.class), registry);
+    }
+
+    private String load() {
+        loads.incrementAndGet();
+        return "강남역";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,142 @@
+package com.bustrackr.service.external;
+
+import com.bustrackr.config.BusApiProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EndpointCircuitBreakerTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    private final AtomicLong now = new AtomicLong();
+    private EndpointCircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        BusApiProperties.CircuitBreaker settings = new BusApiProperties.CircuitBreaker();
+        settings.setWindowSize(10);
+        settings.setMinimumCalls(4);
+        settings.setFailureRateThreshold(50);
+        settings.setSlowCallThreshold(1000);
+        settings.setSlowCallRateThreshold(100);
+        settings.setOpenDuration(30000);
+        settings.setHalfOpenCalls(2);
+        breaker = new EndpointCircuitBreaker("locations", settings, now::get);
+    }
+
+    @Test
+    void shouldStayClosed_untilMinimumCallsRecorded() {
+        // When
+        for (int i = 0; i < 3; i++) {
+            assertThat(breaker.tryAcquirePermission()).isTrue();
+            breaker.onError(10 * MILLIS);
+        }
+
+        // Then
+        assertThat(breaker.getState()).isEqualTo(EndpointCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void shouldOpen_whenFailureRateExceedsThreshold() {
+        // When
+        record(true, false, true, false);
+
+        // Then
+        assertThat(breaker.getState()).isEqualTo(EndpointCircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquirePermission()).isFalse();
+        assertThat(breaker.isCallPermitted()).isFalse();
+    }
+
+    @Test
+    void shouldOpen_whenAllCallsAreSlow() {
+        // When
+        for (int i = 0; i < 4; i++) {
+            breaker.tryAcquirePermission();
+            breaker.onSuccess(1500 * MILLIS);
+        }
+
+        // Then
+        assertThat(breaker.getState()).isEqualTo(EndpointCircuitBreaker.State.OPEN);
+        assertThat(breaker.snapshot().slowCallRate()).isEqualTo(100);
+    }
+
+    @Test
+    void shouldSlideWindow_soOldFailuresExpire() {
+        // Given
+        record(true, false, false, false, false, false, false, false, false, false);
+
+        // When
+        record(false, false);
+
+        // Then
+        assertThat(breaker.snapshot().calls()).isEqualTo(10);
+        assertThat(breaker.snapshot().failureRate()).isZero();
+    }
+
+    @Test
+    void halfOpen_shouldLimitProbesAndCloseAfterSuccesses() {
+        // Given
+        record(true, true, true, true);
+        now.addAndGet(30000 * MILLIS);
+
+        // When
+        boolean first = breaker.tryAcquirePermission();
+        boolean second = breaker.tryAcquirePermission();
+        boolean third = breaker.tryAcquirePermission();
+        breaker.onSuccess(10 * MILLIS);
+        breaker.onSuccess(10 * MILLIS);
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(third).isFalse();
+        assertThat(breaker.getState()).isEqualTo(EndpointCircuitBreaker.State.CLOSED);
+        assertThat(breaker.snapshot().calls()).isZero();
+    }
+
+    @Test
+    void halfOpen_shouldReopenOnFailedProbe() {
+        // Given
+        record(true, true, true, true);
+        now.addAndGet(30000 * MILLIS);
+
+        // When
+        breaker.tryAcquirePermission();
+        breaker.onError(10 * MILLIS);
+
+        // Then
+        assertThat(breaker.getState()).isEqualTo(EndpointCircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquirePermission()).isFalse();
+    }
+
+    @Test
+    void halfOpen_shouldReturnPermitOnRelease() {
+        // Given
+        record(true, true, true, true);
+        now.addAndGet(30000 * MILLIS);
+        breaker.tryAcquirePermission();
+        breaker.tryAcquirePermission();
+
+        // When
+        breaker.release();
+
+        // Then
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        assertThat(breaker.tryAcquirePermission()).isFalse();
+    }
+
+    private void record(boolean... failures) {
+        for (boolean failure : failures) {
+            breaker.tryAcquirePermission();
+            if (failure) {
+                breaker.onError(10 * MILLIS);
+            } else {
+                breaker.onSuccess(10 * MILLIS);
+            }
+        }
+    }
+}
\ No newline at end of file
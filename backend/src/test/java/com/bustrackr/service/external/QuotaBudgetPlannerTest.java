@@ -0,0 +1,135 @@
+package com.bustrackr.service.external;
+
+import com.bustrackr.config.BusApiProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QuotaBudgetPlannerTest {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private final BusApiProperties properties = new BusApiProperties();
+    private final MutableClock clock = new MutableClock(ZonedDateTime.of(2026, 10, 18, 12, 0, 0, 0, KST).toInstant());
+    private QuotaBudgetPlanner planner;
+
+    @BeforeEach
+    void setUp() {
+        properties.getRateLimit().setQuotaReserve(0);
+        planner = new QuotaBudgetPlanner(properties, clock);
+    }
+
+    @Test
+    void shouldKeepBaseInterval_whenBudgetIsAmple() {
+        // Given
+        properties.getRateLimit().setDailyQuota(1_000_000);
+
+        // When
+        planner.tryStartRun("locations", 10, Duration.ofSeconds(30));
+
+        // Then
+        assertThat(planner.plannedInterval("locations")).isEqualTo(Duration.ofSeconds(30));
+    }
+
+    @Test
+    void shouldStretchInterval_whenBudgetIsTight() {
+        // Given: 자정까지 43200초, 회당 100건, 30초 주기면 144000건 필요
+        properties.getRateLimit().setDailyQuota(10_000);
+
+        // When
+        boolean first = planner.tryStartRun("locations", 100, Duration.ofSeconds(30));
+        Duration interval = planner.plannedInterval("locations");
+        clock.advance(Duration.ofSeconds(30));
+        boolean second = planner.tryStartRun("locations", 100, Duration.ofSeconds(30));
+        clock.advance(Duration.ofSeconds(420));
+        boolean third = planner.tryStartRun("locations", 100, Duration.ofSeconds(30));
+
+        // Then
+        assertThat(interval).isEqualTo(Duration.ofSeconds(432));
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        assertThat(third).isTrue();
+    }
+
+    @Test
+    void shouldGiveSmallJobsTheirFullDemand_andSplitTheRestByPriority() {
+        // Given
+        properties.getRateLimit().setDailyQuota(10_000);
+
+        // When
+        planner.tryStartRun("stations", 4, Duration.ofHours(1));
+        planner.tryStartRun("locations", 100, Duration.ofSeconds(30));
+        planner.tryStartRun("arrivals", 100, Duration.ofSeconds(60));
+
+        // Then
+        assertThat(planner.plannedInterval("stations")).isEqualTo(Duration.ofHours(1));
+        assertThat(planner.plannedInterval("locations"))
+            .isLessThan(planner.plannedInterval("arrivals"))
+            .isGreaterThan(Duration.ofSeconds(30));
+    }
+
+    @Test
+    void shouldWaitUntilMidnight_whenBudgetIsExhausted() {
+        // Given
+        properties.getRateLimit().setDailyQuota(3);
+        planner.tryStartRun("locations", 1, Duration.ofSeconds(30));
+        for (int i = 0; i < 3; i++) {
+            planner.recordCall();
+        }
+
+        // When
+        Duration interval = planner.plannedInterval("locations");
+
+        // Then
+        assertThat(planner.getRemainingBudget()).isZero();
+        assertThat(interval).isEqualTo(Duration.ofHours(12));
+    }
+
+    @Test
+    void shouldResetUsage_atMidnightKst() {
+        // Given
+        planner.recordCall();
+        planner.recordCall();
+
+        // When
+        clock.advance(Duration.ofHours(12));
+
+        // Then
+        assertThat(planner.getUsedToday()).isZero();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return KST;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
\ No newline at end of file
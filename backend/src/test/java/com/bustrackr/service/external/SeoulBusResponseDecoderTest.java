@@ -0,0 +1,91 @@
+package com.bustrackr.service.external;
+
+import com.bustrackr.dto.external.SeoulBusPosition;
+import com.bustrackr.dto.external.SeoulStationArrival;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeoulBusResponseDecoderTest {
+
+    private final SeoulBusResponseDecoder decoder = new SeoulBusResponseDecoder();
+
+    private static final String POSITIONS = "{\"comMsgHeader\":{\"responseMsgID\":null}," +
+        "\"msgHeader\":{\"headerMsg\":\"정상\",\"headerCd\":\"0\",\"itemCount\":0}," +
+        "\"msgBody\":{\"itemList\":[" +
+        "{\"busRouteId\":\"100100118\",\"plateNo\":\"서울74사1234\",\"stationId\":\"101000001\"," +
+        "\"posX\":\"126.9780\",\"posY\":\"37.5665\",\"congetion\":\"3\",\"extra\":{\"posX\":\"0\"}}," +
+        "{\"busRouteId\":\"100100118\",\"plateNo\":\"서울74사5678\",\"posX\":\"\",\"posY\":null}" +
+        "]}}";
+
+    @Test
+    void decode_shouldEmitItemListEntries_whenBodyArrivesInSmallChunks() {
+        // When
+        List<SeoulBusPosition> positions = decoder
+            .decode(chunked(POSITIONS, 7), SeoulBusPosition::from)
+            .collectList()
+            .block();
+
+        // Then
+        assertThat(positions).hasSize(2);
+        assertThat(positions.get(0).plateNo()).isEqualTo("서울74사1234");
+        assertThat(positions.get(0).latitude()).isEqualTo(37.5665);
+        assertThat(positions.get(0).longitude()).isEqualTo(126.9780);
+        assertThat(positions.get(0).congestion()).isEqualTo(3);
+        assertThat(positions.get(1).hasCoordinates()).isFalse();
+        assertThat(positions.get(1).congestion()).isEqualTo(SeoulBusPosition.UNKNOWN);
+    }
+
+    @Test
+    void decode_shouldHandleSingleObjectItemList() {
+        // Given
+        String body = "{\"msgBody\":{\"itemList\":{\"stId\":\"23001\",\"busRouteId\":\"472\"," +
+            "\"arrmsgSec1\":\"180\",\"reride_Num1\":\"2\",\"arrmsgSec2\":\"\"}}}";
+
+        // When
+        List<SeoulStationArrival> arrivals = decoder
+            .decode(chunked(body, 16), SeoulStationArrival::from)
+            .collectList()
+            .block();
+
+        // Then
+        assertThat(arrivals).hasSize(1);
+        assertThat(arrivals.get(0).arrivalSec1()).isEqualTo(180);
+        assertThat(arrivals.get(0).remainingStops1()).isEqualTo(2);
+        assertThat(arrivals.get(0).hasSecondBus()).isFalse();
+    }
+
+    @Test
+    void decode_shouldReturnEmpty_whenItemListIsNull() {
+        // Given
+        String body = "{\"msgHeader\":{\"headerCd\":\"4\"},\"msgBody\":{\"itemList\":null}}";
+
+        // When
+        List<SeoulBusPosition> positions = decoder
+            .decode(chunked(body, 5), SeoulBusPosition::from)
+            .collectList()
+            .block();
+
+        // Then
+        assertThat(positions).isEmpty();
+    }
+
+    private Flux<DataBuffer> chunked(String json, int chunkSize) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        List<DataBuffer> buffers = new ArrayList<>();
+        for (int offset = 0; offset < bytes.length; offset += chunkSize) {
+            int length = Math.min(chunkSize, bytes.length - offset);
+            DataBuffer buffer = DefaultDataBufferFactory.sharedInstance.allocateBuffer(length);
+            buffer.write(bytes, offset, length);
+            buffers.add(buffer);
+        }
+        return Flux.fromIterable(buffers);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.bustrackr.service.external;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private final SingleFlight singleFlight = new SingleFlight();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void execute_shouldShareInFlightCallBetweenConcurrentSubscribers() {
+        // Given
+        Mono<Integer> first = singleFlight.execute("arrivals:23001", Duration.ofMinutes(1), this::slowCall);
+        Mono<Integer> second = singleFlight.execute("arrivals:23001", Duration.ofMinutes(1), this::slowCall);
+
+        // When
+        Tuple2<Integer, Integer> results = Mono.zip(first, second).block();
+
+        // Then
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(results.getT1()).isEqualTo(1);
+        assertThat(results.getT2()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_shouldReuseResultWithinFreshnessWindow() {
+        // When
+        singleFlight.execute("locations:472", Duration.ofMinutes(1), this::slowCall).block();
+        Integer reused = singleFlight.execute("locations:472", Duration.ofMinutes(1), this::slowCall).block();
+
+        // Then
+        assertThat(reused).isEqualTo(1);
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_shouldCallAgain_whenFreshnessExpired() {
+        // When
+        singleFlight.execute("locations:472", Duration.ZERO, this::slowCall).block();
+        Integer refreshed = singleFlight.execute("locations:472", Duration.ZERO, this::slowCall).block();
+
+        // Then
+        assertThat(refreshed).isEqualTo(2);
+        assertThat(singleFlight.size()).isZero();
+    }
+
+    @Test
+    void execute_shouldRemoveKey_whenFreshnessExpires() throws InterruptedException {
+        // Given
+        singleFlight.execute("locations:472", Duration.ofMillis(100), this::slowCall).block();
+        assertThat(singleFlight.size()).isEqualTo(1);
+
+        // When
+        long deadline = System.nanoTime() + Duration.ofSeconds(2).toNanos();
+        while (singleFlight.size() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        // Then
+        assertThat(singleFlight.size()).isZero();
+        assertThat(singleFlight.execute("locations:472", Duration.ofMillis(100), this::slowCall).block()).isEqualTo(2);
+    }
+
+    @Test
+    void execute_shouldNotCacheErrors() {
+        // Given
+        Mono<Integer> failing = singleFlight.execute("stations:강남", Duration.ofMinutes(1),
+            () -> Mono.fromCallable(() -> {
+                if (calls.incrementAndGet() == 1) {
+                    throw new IllegalStateException("upstream down");
+                }
+                return calls.get();
+            }));
+
+        // When & Then
+        assertThatThrownBy(failing::block).isInstanceOf(IllegalStateException.class);
+        assertThat(singleFlight.size()).isZero();
+        assertThat(failing.block()).isEqualTo(2);
+    }
+
+    private Mono<Integer> slowCall() {
+        return Mono.fromCallable(calls::incrementAndGet).delayElement(Duration.ofMillis(50));
+    }
+}
\ No newline at end of file
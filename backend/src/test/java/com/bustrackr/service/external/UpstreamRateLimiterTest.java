@@ -0,0 +1,89 @@
+package com.bustrackr.service.external;
+
+import com.bustrackr.config.BusApiProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import reactor.core.Disposable;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class UpstreamRateLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final AtomicLong now = new AtomicLong();
+    private UpstreamRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        BusApiProperties properties = new BusApiProperties();
+        properties.getRateLimit().setPermitsPerSecond(2);
+        properties.getRateLimit().setBurst(2);
+        limiter = new UpstreamRateLimiter(properties, now::get);
+    }
+
+    @Test
+    void reserve_shouldAllowBurstThenQueueCallers() {
+        // When
+        long first = limiter.reserve();
+        long second = limiter.reserve();
+        long third = limiter.reserve();
+        long fourth = limiter.reserve();
+
+        // Then
+        assertThat(first).isZero();
+        assertThat(second).isZero();
+        assertThat(third).isEqualTo(SECOND / 2);
+        assertThat(fourth).isEqualTo(SECOND);
+    }
+
+    @Test
+    void reserve_shouldRefillOverTime() {
+        // Given
+        limiter.reserve();
+        limiter.reserve();
+
+        // When
+        now.addAndGet(SECOND / 2);
+
+        // Then
+        assertThat(limiter.reserve()).isZero();
+        assertThat(limiter.reserve()).isEqualTo(SECOND / 2);
+    }
+
+    @Test
+    void acquire_shouldRefundToken_whenCancelledWhileWaiting() {
+        // Given
+        limiter.reserve();
+        limiter.reserve();
+
+        // When: 토큰을 기다리던 호출이 취소됨
+        Disposable waiting = limiter.acquire().subscribe();
+        waiting.dispose();
+
+        // Then: 취소된 예약은 다음 호출자의 대기 시간에 더해지지 않음
+        assertThat(limiter.reserve()).isEqualTo(SECOND / 2);
+    }
+
+    @Test
+    void onThrottled_shouldHalveRate_andRecoverGradually() {
+        // Given
+        limiter.reserve();
+        limiter.reserve();
+
+        // When
+        limiter.onThrottled();
+        long wait = limiter.reserve();
+        for (int i = 0; i < 5; i++) {
+            limiter.onSuccess();
+        }
+
+        // Then
+        assertThat(wait).isEqualTo(SECOND);
+        assertThat(limiter.getCurrentRate()).isCloseTo(1.5, within(1e-9));
+    }
+}
\ No newline at end of file
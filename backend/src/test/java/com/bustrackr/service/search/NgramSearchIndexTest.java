@@ -0,0 +1,80 @@
+package com.bustrackr.service.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NgramSearchIndexTest {
+
+    private NgramSearchIndex<String> index;
+
+    @BeforeEach
+    void setUp() {
+        index = new NgramSearchIndex<>();
+        index.replaceAll(List.of(
+            entry("23001", "강남역"),
+            entry("23002", "강남역 2번출구"),
+            entry("23003", "신강남"),
+            entry("23004", "역삼역")));
+    }
+
+    @Test
+    void search_shouldRankExactThenPrefixThenContains() {
+        // When
+        List<String> result = index.search("강남", 10);
+
+        // Then
+        assertThat(result).containsExactly("강남역", "강남역 2번출구", "신강남");
+    }
+
+    @Test
+    void search_shouldLimitToTopK() {
+        // When
+        List<String> result = index.search("역", 2);
+
+        // Then
+        assertThat(result).hasSize(2);
+        assertThat(result).containsExactly("역삼역", "강남역");
+    }
+
+    @Test
+    void search_shouldMatchChoseong() {
+        // When
+        List<String> result = index.search("ㄱㄴㅇ", 10);
+
+        // Then
+        assertThat(result).containsExactly("강남역", "강남역 2번출구");
+    }
+
+    @Test
+    void put_shouldReplacePostingsOfExistingEntry() {
+        // When
+        index.put(entry("23001", "선릉역"));
+        index.remove("23004");
+
+        // Then
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.search("강남", 10)).containsExactly("강남역 2번출구", "신강남");
+        assertThat(index.search("선릉", 10)).containsExactly("선릉역");
+        assertThat(index.search("역삼", 10)).isEmpty();
+    }
+
+    @Test
+    void postingList_shouldRoundTripCompressedIds() {
+        // Given
+        int[] ids = {0, 1, 127, 128, 16_384, 2_000_000_000};
+
+        // When
+        PostingList list = PostingList.of(ids, ids.length).with(300).without(1);
+
+        // Then
+        assertThat(list.toArray()).containsExactly(0, 127, 128, 300, 16_384, 2_000_000_000);
+    }
+
+    private NgramSearchIndex.Entry<String> entry(String id, String name) {
+        return new NgramSearchIndex.Entry<>(id, name, name, id);
+    }
+}
\ No newline at end of file